@@ -0,0 +1,91 @@
+/**
+ * Class for benchmarking parsing of /getCaterers replies
+ */
+
+package shield;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a /getCaterers reply listing a number of catering companies by splitting it on quotes,
+ * as the client used to, with Gson followed by splitting each record, and with CatererTable
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatererParsingBenchmark {
+
+  private static final Type STRING_LIST = new TypeToken<List<String>>() {}.getType();
+
+  /**
+   * How many catering companies the reply lists
+   */
+  @Param({"100", "10000", "100000"})
+  public int caterers;
+
+  private String reply;
+  private final Gson gson = new Gson();
+
+  @Setup
+  public void setup() {
+    StringBuilder companies = new StringBuilder("[");
+    for (int i = 0; i < caterers; i++) {
+      String postcode = "EH" + (i % 17 + 1) + "_" + (i % 9 + 1) + (char) ('A' + i % 26) + (char) ('A' + i / 26 % 26);
+      companies.append(i == 0 ? "" : ",").append('"').append(i + 1).append(",caterer").append(i + 1).append(',')
+          .append(postcode).append('"');
+    }
+    reply = companies.append(']').toString();
+  }
+
+  @Benchmark
+  public List<String[]> splitOnQuotes() {
+    String response = reply.replace("[", "").replace("]", "");
+    List<String[]> companies = new ArrayList<>();
+    int x = 0;
+    for (String company : response.split("\"")) {
+      x += 1;
+      if (x % 2 == 0) {
+        String[] companyInformation = company.split(",");
+        companies.add(new String[] {companyInformation[1], companyInformation[2]});
+      }
+    }
+    return companies;
+  }
+
+  @Benchmark
+  public List<String[]> gsonThenSplit() {
+    List<String> records = gson.fromJson(reply, STRING_LIST);
+    List<String[]> companies = new ArrayList<>(records.size());
+    for (String record : records) {
+      String[] companyInformation = record.split(",");
+      companies.add(new String[] {companyInformation[1], companyInformation[2]});
+    }
+    return companies;
+  }
+
+  @Benchmark
+  public CatererTable catererTable() {
+    return CatererTable.parse(reply);
+  }
+}
@@ -0,0 +1,49 @@
+/**
+ * Class for benchmarking CHI validation
+ */
+
+package shield;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks valid and invalid CHIs as registration does, where a failed check costs an exception
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChiValidationBenchmark {
+
+  /**
+   * The CHI checked: valid, not numeric, and not starting with a date
+   */
+  @Param({"0101011234", "01O1011234", "9999991234"})
+  public String chi;
+
+  private final ShieldingIndividualClientImp client =
+      new ShieldingIndividualClientImp("http://localhost:5000", new InProcessTransport());
+
+  @Benchmark
+  public Boolean isNumeric() {
+    return client.isNumeric(chi);
+  }
+
+  @Benchmark
+  public Boolean startsWithDate() {
+    return client.startsWithDate(chi);
+  }
+}
@@ -0,0 +1,67 @@
+/**
+ * Class for benchmarking ClientIO round trips
+ */
+
+package shield;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import shield.ShieldingIndividualClientImp.MessagingFoodBox;
+
+/**
+ * Round trips through ClientIO to a stand-in server on the loopback interface, using the
+ * transport and options set in client.cfg
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientIOBenchmark {
+
+  private StandInServer server;
+  private String endpoint;
+
+  @Setup
+  public void setup() throws IOException {
+    server = new StandInServer(new StandInService(Paths.get(".")), 0, 2);
+    endpoint = "http://localhost:" + server.getPort();
+  }
+
+  @TearDown
+  public void teardown() {
+    server.close();
+  }
+
+  @Benchmark
+  public String requestStatus() throws IOException {
+    return ClientIO.doGETRequest(endpoint + "/requestStatus?order_id=1");
+  }
+
+  @Benchmark
+  public String distance() throws IOException {
+    return ClientIO.doIdempotentGETRequest(endpoint + "/distance?postcode1=EH11_2DR&postcode2=EH8_9LH");
+  }
+
+  @Benchmark
+  public List<MessagingFoodBox> showFoodBox() throws IOException {
+    return ClientIO.doIdempotentGETRequest(endpoint + "/showFoodBox?orderOption=catering&dietaryPreference=none",
+        FoodBoxDecoder.INSTANCE);
+  }
+}
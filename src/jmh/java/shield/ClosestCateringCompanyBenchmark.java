@@ -0,0 +1,101 @@
+/**
+ * Class for benchmarking the search for the closest catering company
+ */
+
+package shield;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds the closest of a number of catering companies, with the stand-in's endpoints reached
+ * in-process so the client's own cost is measured rather than the network's.
+ *
+ * A client remembers the company it found until its company list changes, so repeatSearch
+ * measures asking again and firstSearch measures a client's first search, with the distances
+ * already in the shared distance cache after the first iteration. nearestSearch measures ranking
+ * the five companies nearest a postcode, which searches the client's index of the companies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClosestCateringCompanyBenchmark {
+
+  private static final String ENDPOINT = "http://localhost:5000";
+
+  /**
+   * How many catering companies are registered
+   */
+  @Param({"10", "100", "1000", "10000"})
+  public int caterers;
+
+  private InProcessTransport transport;
+  private ShieldingIndividualClientImp client;
+  private ShieldingIndividualClientImp freshClient;
+
+  @Setup
+  public void setup() throws IOException {
+    transport = new StandInService(Paths.get(".")).registerWith(new InProcessTransport());
+
+    // a fixed postcode the distance endpoint accepts in place of a random one, unquoted as the
+    // client keeps the quotes of each field in the server's JSON reply
+    transport.register("/registerShieldingIndividual", (method, parameters, body) ->
+        "[EH8_9LH,ann,smith,01234567890]");
+
+    StringBuilder companies = new StringBuilder("[");
+    for (int i = 0; i < caterers; i++) {
+      String postcode = "EH" + (i % 17 + 1) + "_" + (i % 9 + 1) + (char) ('A' + i % 26) + (char) ('A' + i / 26 % 26);
+      companies.append(i == 0 ? "" : ",").append('"').append(i + 1).append(",caterer").append(i + 1).append(',')
+          .append(postcode).append('"');
+    }
+    String reply = companies.append(']').toString();
+    transport.register("/getCaterers", (method, parameters, body) -> reply);
+
+    client = newClient();
+  }
+
+  @Setup(Level.Invocation)
+  public void setupFreshClient() {
+    freshClient = newClient();
+  }
+
+  private ShieldingIndividualClientImp newClient() {
+    ShieldingIndividualClientImp newClient = new ShieldingIndividualClientImp(ENDPOINT, transport);
+    newClient.registerShieldingIndividual("0101011234");
+    newClient.getCateringCompanies();
+    return newClient;
+  }
+
+  @Benchmark
+  public String repeatSearch() {
+    return client.getClosestCateringCompany();
+  }
+
+  @Benchmark
+  public String firstSearch() {
+    return freshClient.getClosestCateringCompany();
+  }
+
+  @Benchmark
+  public List<String> nearestSearch() {
+    return client.getNearestCateringCompanies("EH8_9LH", 5);
+  }
+}
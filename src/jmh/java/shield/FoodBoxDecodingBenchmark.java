@@ -0,0 +1,81 @@
+/**
+ * Class for benchmarking decoding of /showFoodBox replies
+ */
+
+package shield;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import shield.ShieldingIndividualClientImp.MessagingFoodBox;
+
+/**
+ * Decodes the server's reply for every food box in food_boxes.txt, repeated to make larger
+ * payloads, with reflective Gson, the hand-written adapters, and the streaming FoodBoxDecoder
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FoodBoxDecodingBenchmark {
+
+  private static final Type FOOD_BOX_LIST = new TypeToken<List<MessagingFoodBox>>() {}.getType();
+
+  /**
+   * How many copies of the food box list the payload holds
+   */
+  @Param({"1", "16", "256"})
+  public int copies;
+
+  private String payload;
+  private final Gson reflective = new Gson();
+
+  @Setup
+  public void setup() throws IOException {
+    String boxes = new StandInService(Paths.get(".")).getFoodBoxReply("");
+    String inner = boxes.substring(1, boxes.length() - 1);
+
+    StringBuilder builder = new StringBuilder("[");
+    for (int i = 0; i < copies; i++) {
+      builder.append(i == 0 ? "" : ",").append(inner);
+    }
+    payload = builder.append(']').toString();
+  }
+
+  @Benchmark
+  public List<MessagingFoodBox> reflectiveGson() {
+    return reflective.fromJson(payload, FOOD_BOX_LIST);
+  }
+
+  @Benchmark
+  public List<MessagingFoodBox> adapterGson() {
+    return MessagingCodecs.GSON.fromJson(payload, FOOD_BOX_LIST);
+  }
+
+  @Benchmark
+  public List<MessagingFoodBox> streamingDecoder() throws IOException {
+    return FoodBoxDecoder.INSTANCE.decode(new JsonReader(new StringReader(payload)));
+  }
+}
@@ -0,0 +1,78 @@
+/**
+ * Class for benchmarking the order getters of the shielding individual client
+ */
+
+package shield;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import shield.ShieldingIndividualClientImp.MessagingContents;
+
+/**
+ * Looks up the last order placed, the worst case for getters that scan every order
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderGettersBenchmark {
+
+  private static final int ITEMS_PER_ORDER = 5;
+
+  /**
+   * How many orders the individual has placed
+   */
+  @Param({"10", "100", "1000"})
+  public int orders;
+
+  private ShieldingIndividualClientImp client;
+
+  @Setup
+  public void setup() {
+    client = new ShieldingIndividualClientImp("http://localhost:5000", new InProcessTransport());
+    for (int id = 1; id <= orders; id++) {
+      ArrayList<MessagingContents> contents = new ArrayList<>();
+      for (int item = 1; item <= ITEMS_PER_ORDER; item++) {
+        contents.addAll(client.setContents(item, "item" + item, item));
+      }
+      client.setOrder(id, contents, "0101010101", "1", LocalDateTime.now(), null, null, null, "ordered");
+    }
+  }
+
+  @Benchmark
+  public String getStatusForOrder() {
+    return client.getStatusForOrder(orders);
+  }
+
+  @Benchmark
+  public int getItemQuantityForOrder() {
+    return client.getItemQuantityForOrder(ITEMS_PER_ORDER, orders);
+  }
+
+  @Benchmark
+  public Collection<Integer> getItemIdsForOrder() {
+    return client.getItemIdsForOrder(orders);
+  }
+
+  @Benchmark
+  public Collection<Integer> getOrderNumbers() {
+    return client.getOrderNumbers();
+  }
+}
@@ -0,0 +1,363 @@
+/**
+ * Class for storing the server's list of catering companies
+ */
+
+package shield;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Holds the catering companies listed by /getCaterers as parallel arrays of their ids, names and
+ * postcodes, read from the server's reply in a single pass.
+ *
+ * The reply is a JSON list of strings, each a company's record of the form "id,name,postcode". The
+ * parser walks the reply once, without splitting it or building a String for any part of it other
+ * than each company's name and postcode; only records containing JSON escapes are decoded into a
+ * buffer first. The postcode is everything after the last comma of a record and the name everything
+ * between the first and last, so a name containing a comma is kept whole. Records without an id,
+ * name and postcode, such as the blank line the server's list of providers starts with, are left
+ * out. A table is never changed once read.
+ */
+public class CatererTable {
+
+  /**
+   * The table of no catering companies
+   */
+  public static final CatererTable EMPTY = new CatererTable(new int[0], new String[0], new String[0], 0);
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  /**
+   * Private variables created:
+   *
+   * Each company's id, or -1 if it is not a number
+   * Each company's business name
+   * Each company's postcode
+   * The number of companies held
+   */
+  private final int[] ids;
+  private final String[] names;
+  private final String[] postCodes;
+  private final int size;
+
+  private CatererTable(int[] ids, String[] names, String[] postCodes, int size) {
+    this.ids = ids;
+    this.names = names;
+    this.postCodes = postCodes;
+    this.size = size;
+  }
+
+  /**
+   * Reads the server's list of catering companies
+   *
+   * @param reply the /getCaterers reply
+   * @return the catering companies, in the order they are listed
+   * @throws IllegalArgumentException if the reply is not a JSON list of strings
+   */
+  public static CatererTable parse(String reply) {
+    Parser parser = new Parser(reply);
+    parser.parse();
+    if (parser.size == 0) {
+      return EMPTY;
+    }
+    return new CatererTable(parser.ids, parser.names, parser.postCodes, parser.size);
+  }
+
+  /**
+   * Returns the number of catering companies held
+   *
+   * @return the number of companies
+   */
+  public int size() { return size; }
+
+  /**
+   * Returns a catering company's id
+   *
+   * @param company the company's position in the list
+   * @return its id, or -1 if the server's id is not a number
+   */
+  public int getId(int company) { return ids[checkIndex(company)]; }
+
+  /**
+   * Returns a catering company's business name
+   *
+   * @param company the company's position in the list
+   * @return its business name
+   */
+  public String getName(int company) { return names[checkIndex(company)]; }
+
+  /**
+   * Returns a catering company's postcode
+   *
+   * @param company the company's position in the list
+   * @return its postcode
+   */
+  public String getPostCode(int company) { return postCodes[checkIndex(company)]; }
+
+  /**
+   * Returns the business names of the catering companies held
+   *
+   * @return an unmodifiable list of the names, in the order the companies are listed
+   */
+  public List<String> getNames() { return Collections.unmodifiableList(Arrays.asList(names).subList(0, size)); }
+
+  /**
+   * Finds a catering company by business name
+   *
+   * @param name the business name
+   * @return the position in the list of the first company with that name, or -1 if there is none
+   */
+  public int indexOfName(String name) {
+    for (int i = 0; i < size; i++) {
+      if (names[i].equals(name)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Checks whether another table holds the same catering companies in the same order
+   *
+   * @param other another table
+   * @return true if both hold the same ids, names and postcodes in the same order
+   */
+  public boolean hasSameCompanies(CatererTable other) {
+    if (other == this) {
+      return true;
+    }
+    if (other == null || other.size != size) {
+      return false;
+    }
+    for (int i = 0; i < size; i++) {
+      if (ids[i] != other.ids[i] || !Objects.equals(names[i], other.names[i])
+          || !Objects.equals(postCodes[i], other.postCodes[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Helper for checking a position is within the companies held
+   *
+   * @param company the position
+   * @return the position
+   */
+  private int checkIndex(int company) {
+    if (company < 0 || company >= size) {
+      throw new IndexOutOfBoundsException("catering company " + company + " of " + size);
+    }
+    return company;
+  }
+
+  /**
+   * Reads a reply into growing parallel arrays
+   */
+  private static final class Parser {
+    private final String reply;
+    private int next;
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private String[] postCodes = new String[INITIAL_CAPACITY];
+    private int size;
+    private StringBuilder decoded;
+
+    private Parser(String reply) {
+      this.reply = Objects.requireNonNull(reply, "reply");
+    }
+
+    /**
+     * Reads the list, adding each company record in it
+     */
+    private void parse() {
+      skipWhitespace();
+      expect('[');
+      skipWhitespace();
+      if (peek() == ']') {
+        next++;
+      } else {
+        while (true) {
+          skipWhitespace();
+          readRecord();
+          skipWhitespace();
+          char c = take();
+          if (c == ']') {
+            break;
+          }
+          if (c != ',') {
+            throw error("expected , or ]");
+          }
+        }
+      }
+      skipWhitespace();
+      if (next != reply.length()) {
+        throw error("unexpected text after the list");
+      }
+    }
+
+    /**
+     * Reads a JSON string holding a company record, adding the company if the record is complete
+     */
+    private void readRecord() {
+      expect('"');
+      int start = next;
+
+      // find the closing quote, noting whether anything must be decoded on the way
+      boolean escaped = false;
+      while (true) {
+        char c = take();
+        if (c == '"') {
+          break;
+        }
+        if (c == '\\') {
+          escaped = true;
+          take();
+        }
+      }
+      int end = next - 1;
+
+      if (escaped) {
+        CharSequence record = decode(start, end);
+        addRecord(record, 0, record.length());
+      } else {
+        addRecord(reply, start, end);
+      }
+    }
+
+    /**
+     * Adds the company in a record of the form id,name,postcode, unless the record is incomplete
+     *
+     * @param text the text holding the record
+     * @param start where the record starts
+     * @param end where the record ends
+     */
+    private void addRecord(CharSequence text, int start, int end) {
+      int firstComma = -1;
+      int lastComma = -1;
+      for (int i = start; i < end; i++) {
+        if (text.charAt(i) == ',') {
+          if (firstComma < 0) {
+            firstComma = i;
+          }
+          lastComma = i;
+        }
+      }
+      if (firstComma < 0 || firstComma == lastComma) {
+        return;
+      }
+
+      if (size == ids.length) {
+        ids = Arrays.copyOf(ids, size * 2);
+        names = Arrays.copyOf(names, size * 2);
+        postCodes = Arrays.copyOf(postCodes, size * 2);
+      }
+      ids[size] = parseId(text, start, firstComma);
+      names[size] = text.subSequence(firstComma + 1, lastComma).toString();
+      postCodes[size] = text.subSequence(lastComma + 1, end).toString();
+      size++;
+    }
+
+    /**
+     * Decodes the escapes in a JSON string's contents
+     *
+     * @param start where the contents start
+     * @param end where the contents end
+     * @return the decoded contents, in a buffer reused for the next record
+     */
+    private CharSequence decode(int start, int end) {
+      if (decoded == null) {
+        decoded = new StringBuilder();
+      }
+      decoded.setLength(0);
+      for (int i = start; i < end; i++) {
+        char c = reply.charAt(i);
+        if (c != '\\') {
+          decoded.append(c);
+          continue;
+        }
+        char escape = reply.charAt(++i);
+        switch (escape) {
+          case 'b': decoded.append('\b'); break;
+          case 'f': decoded.append('\f'); break;
+          case 'n': decoded.append('\n'); break;
+          case 'r': decoded.append('\r'); break;
+          case 't': decoded.append('\t'); break;
+          case 'u':
+            if (i + 4 >= end) {
+              throw error("incomplete unicode escape");
+            }
+            int code = 0;
+            for (int j = 1; j <= 4; j++) {
+              int digit = Character.digit(reply.charAt(i + j), 16);
+              if (digit < 0) {
+                throw error("bad unicode escape");
+              }
+              code = code * 16 + digit;
+            }
+            decoded.append((char) code);
+            i += 4;
+            break;
+          default:
+            decoded.append(escape);
+        }
+      }
+      return decoded;
+    }
+
+    /**
+     * Helper for reading a company id without building a String for it
+     *
+     * @param text the text holding the id
+     * @param start where the id starts
+     * @param end where the id ends
+     * @return the id, or -1 if it is not a number that fits in an int
+     */
+    private static int parseId(CharSequence text, int start, int end) {
+      if (start == end || end - start > 9) {
+        return -1;
+      }
+      int id = 0;
+      for (int i = start; i < end; i++) {
+        char c = text.charAt(i);
+        if (c < '0' || c > '9') {
+          return -1;
+        }
+        id = id * 10 + (c - '0');
+      }
+      return id;
+    }
+
+    private void skipWhitespace() {
+      while (next < reply.length() && Character.isWhitespace(reply.charAt(next))) {
+        next++;
+      }
+    }
+
+    private char peek() {
+      if (next >= reply.length()) {
+        throw error("unexpected end of reply");
+      }
+      return reply.charAt(next);
+    }
+
+    private char take() {
+      char c = peek();
+      next++;
+      return c;
+    }
+
+    private void expect(char expected) {
+      if (take() != expected) {
+        throw error("expected " + expected);
+      }
+    }
+
+    private IllegalArgumentException error(String message) {
+      return new IllegalArgumentException("Malformed catering company list at " + next + ": " + message);
+    }
+  }
+}
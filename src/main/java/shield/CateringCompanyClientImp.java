@@ -1,169 +1,291 @@
-/**
- * Class for handling actions and storing information regarding catering companies
- */
-
-package shield;
-
-/**
- * CateringCompanyClient implemented
- */
-public class CateringCompanyClientImp implements CateringCompanyClient {
-
-  /**
-   * Private variables created:
-   *
-   * The server endpoint in use
-   * Whether the catering company is registered
-   * The name of the catering company
-   * The postcode of the catering company
-   */
-  private String endpoint;
-  private boolean registered;
-  private String name;
-  private String postcode;
-
-  /**
-   * Class constructor
-   *
-   * @param endpoint the server endpoint to be used
-   */
-  public CateringCompanyClientImp(String endpoint) { this.endpoint = endpoint; }
-
-  /**
-   * Checks if catering company is registered and if not, registers them
-   *
-   * @param name the name of the catering company
-   * @param postCode the postcode of the catering company
-   * @return false if registering catering company fails or true if catering company is now/was previously registered
-   */
-  @Override
-  public boolean registerCateringCompany(String name, String postCode) {
-
-    // ensure name and postcode are not null
-    if (name == null || postCode == null) {
-      System.out.println("I'm sorry one of your inputs is null please try again");
-      return false;
-    }
-    assert name!= null;
-    assert postCode != null;
-
-    // ensure postCode starts with eh and is 6 or 7 digits long
-    if (!postCode.substring(0, 2).equalsIgnoreCase("eh")) {
-      if (postCode.length() != 6 && postCode.length() != 7) {
-        System.out.println("I'm sorry your postcode is invalid please try again");
-        return false;
-      }
-    }
-    assert postCode.substring(0,2).equalsIgnoreCase("eh");
-    assert (postCode.length() == 6 || postCode.length() == 7);
-
-    // construct endpoint request
-    String request = "/registerCateringCompany?business_name=" + name + "&postcode=" + postCode;
-
-    try {
-      // perform request
-      String response = ClientIO.doGETRequest(endpoint + request);
-
-      // return false if response does not return appropriate value
-      if (!(response.equals("registered new") || response.equals("already registered"))) {
-        System.out.println(response);
-        return false;
-      }
-      assert (response.equals("registered new") || response.equals("already registered"));
-
-      // set local variables if first time registration
-      if (response.equals("registered new")) {
-        this.name = name;
-        this.postcode = postCode;
-        registered = true;
-      }
-
-      // print result and return true
-      System.out.println(response);
-      return true;
-
-    } catch (Exception e) {
-      e.printStackTrace();
-    }
-
-    return false;
-  }
-
-  /**
-   * Updates the status of a particular order
-   *
-   * @param orderNumber the order number
-   * @param status the order status - packed/dispatched/delivered
-   * @return true if status was changed or false if not
-   */
-  @Override
-  public boolean updateOrderStatus(int orderNumber, String status) {
-
-    // ensure appropriate order number
-    if (orderNumber <= 0) {
-      System.out.println("Sorry order number must be greater than 0 please try again");
-      return false;
-    }
-    assert orderNumber > 0;
-
-    // ensure status is not null and is appropriate value
-    if ((status == null) || (!status.equals("packed") && !status.equals("dispatched") && !status.equals("delivered"))) {
-      System.out.println("Sorry status update must be packed, dispatched or delivered please try again");
-      return false;
-    }
-    assert status != null;
-    assert (status.equals("packed") || status.equals("dispatched") || status.equals("delivered"));
-
-    // construct endpoint request
-    String request = "/updateOrderStatus?order_id=" + orderNumber + "&newStatus=" + status;
-
-    try {
-      // perform request
-      String response = ClientIO.doGETRequest(endpoint + request);
-
-      // return true if status has been successfully changed and false otherwise
-      if (response.equalsIgnoreCase("True")) {
-        System.out.println("Status has been successfully changed");
-        return true;
-      } else {
-        System.out.println("Status failed to be changed");
-        return false;
-      }
-
-    } catch (Exception e) {
-      e.printStackTrace();
-    }
-
-    return false;
-  }
-
-  /**
-   * Getter for company registered status
-   *
-   * @return true if company is registered and false otherwise
-   */
-  @Override
-  public boolean isRegistered() {
-    return registered;
-  }
-
-  /**
-   * Getter for company name
-   *
-   * @return the companies name
-   */
-  @Override
-  public String getName() {
-    return name;
-  }
-
-  /**
-   * Getter for the company postcode
-   *
-   * @return the companies postcode
-   */
-  @Override
-  public String getPostCode() {
-    return postcode;
-  }
-}
\ No newline at end of file
+/**
+ * Class for handling actions and storing information regarding catering companies
+ */
+
+package shield;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * CateringCompanyClient implemented
+ */
+public class CateringCompanyClientImp implements CateringCompanyClient {
+
+  /**
+   * Private variables created:
+   *
+   * The server endpoint in use
+   * The transport requests are sent through
+   * Whether the catering company is registered
+   * The name of the catering company
+   * The postcode of the catering company
+   */
+  private String endpoint;
+  private final Transport transport;
+  private boolean registered;
+  private String name;
+  private String postcode;
+
+  /**
+   * Class constructor
+   *
+   * @param endpoint the server endpoint to be used
+   */
+  public CateringCompanyClientImp(String endpoint) { this(endpoint, Transport.getDefault()); }
+
+  /**
+   * Class constructor taking the transport to send requests through
+   *
+   * @param endpoint the server endpoint to be used
+   * @param transport the transport requests are sent through, e.g. an InProcessTransport in tests
+   */
+  public CateringCompanyClientImp(String endpoint, Transport transport) {
+    this.endpoint = endpoint;
+    this.transport = transport;
+  }
+
+  /**
+   * Checks if catering company is registered and if not, registers them
+   *
+   * @param name the name of the catering company
+   * @param postCode the postcode of the catering company
+   * @return false if registering catering company fails or true if catering company is now/was previously registered
+   */
+  @Override
+  public boolean registerCateringCompany(String name, String postCode) {
+
+    // validate input and construct endpoint request
+    String request = registerRequest(name, postCode);
+    if (request == null) {
+      return false;
+    }
+
+    try {
+      // perform request
+      String response = transport.doGETRequest(endpoint + request);
+
+      return registerResponse(response, name, postCode);
+
+    } catch (Exception e) {
+      e.printStackTrace();
+    }
+
+    return false;
+  }
+
+  /**
+   * Asynchronously checks if catering company is registered and if not, registers them
+   *
+   * @param name the name of the catering company
+   * @param postCode the postcode of the catering company
+   * @return future completed with false if registering catering company fails or true if catering company is
+   * now/was previously registered
+   */
+  @Override
+  public CompletableFuture<Boolean> registerCateringCompanyAsync(String name, String postCode) {
+
+    // validate input and construct endpoint request
+    String request = registerRequest(name, postCode);
+    if (request == null) {
+      return CompletableFuture.completedFuture(false);
+    }
+
+    // perform request and handle response once it arrives
+    return transport.doGETRequestAsync(endpoint + request)
+            .thenApply(response -> registerResponse(response, name, postCode))
+            .exceptionally(e -> {
+              e.printStackTrace();
+              return false;
+            });
+  }
+
+  /**
+   * Helper for validating registration input and constructing the registration request
+   *
+   * @param name the name of the catering company
+   * @param postCode the postcode of the catering company
+   * @return the endpoint request or null if the input is invalid
+   */
+  private String registerRequest(String name, String postCode) {
+
+    // ensure name and postcode are not null
+    if (name == null || postCode == null) {
+      System.out.println("I'm sorry one of your inputs is null please try again");
+      return null;
+    }
+    assert name!= null;
+    assert postCode != null;
+
+    // ensure postCode starts with eh and is 6 or 7 digits long
+    if (!postCode.substring(0, 2).equalsIgnoreCase("eh")) {
+      if (postCode.length() != 6 && postCode.length() != 7) {
+        System.out.println("I'm sorry your postcode is invalid please try again");
+        return null;
+      }
+    }
+    assert postCode.substring(0,2).equalsIgnoreCase("eh");
+    assert (postCode.length() == 6 || postCode.length() == 7);
+
+    // construct endpoint request
+    return "/registerCateringCompany?business_name=" + name + "&postcode=" + postCode;
+  }
+
+  /**
+   * Helper for handling the server's response to a registration request
+   *
+   * @param response the server's response
+   * @param name the name of the catering company
+   * @param postCode the postcode of the catering company
+   * @return true if catering company is now/was previously registered and false otherwise
+   */
+  private synchronized boolean registerResponse(String response, String name, String postCode) {
+
+    // return false if response does not return appropriate value
+    if (!(response.equals("registered new") || response.equals("already registered"))) {
+      System.out.println(response);
+      return false;
+    }
+    assert (response.equals("registered new") || response.equals("already registered"));
+
+    // set local variables if first time registration
+    if (response.equals("registered new")) {
+      this.name = name;
+      this.postcode = postCode;
+      registered = true;
+    }
+
+    // print result and return true
+    System.out.println(response);
+    return true;
+  }
+
+  /**
+   * Updates the status of a particular order
+   *
+   * @param orderNumber the order number
+   * @param status the order status - packed/dispatched/delivered
+   * @return true if status was changed or false if not
+   */
+  @Override
+  public boolean updateOrderStatus(int orderNumber, String status) {
+
+    // validate input and construct endpoint request
+    String request = updateOrderStatusRequest(orderNumber, status);
+    if (request == null) {
+      return false;
+    }
+
+    try {
+      // perform request
+      String response = transport.doGETRequest(endpoint + request);
+
+      return updateOrderStatusResponse(response);
+
+    } catch (Exception e) {
+      e.printStackTrace();
+    }
+
+    return false;
+  }
+
+  /**
+   * Asynchronously updates the status of a particular order
+   *
+   * @param orderNumber the order number
+   * @param status the order status - packed/dispatched/delivered
+   * @return future completed with true if status was changed or false if not
+   */
+  @Override
+  public CompletableFuture<Boolean> updateOrderStatusAsync(int orderNumber, String status) {
+
+    // validate input and construct endpoint request
+    String request = updateOrderStatusRequest(orderNumber, status);
+    if (request == null) {
+      return CompletableFuture.completedFuture(false);
+    }
+
+    // perform request and handle response once it arrives
+    return transport.doGETRequestAsync(endpoint + request)
+            .thenApply(this::updateOrderStatusResponse)
+            .exceptionally(e -> {
+              e.printStackTrace();
+              return false;
+            });
+  }
+
+  /**
+   * Helper for validating a status update and constructing the update request
+   *
+   * @param orderNumber the order number
+   * @param status the order status - packed/dispatched/delivered
+   * @return the endpoint request or null if the input is invalid
+   */
+  private String updateOrderStatusRequest(int orderNumber, String status) {
+
+    // ensure appropriate order number
+    if (orderNumber <= 0) {
+      System.out.println("Sorry order number must be greater than 0 please try again");
+      return null;
+    }
+    assert orderNumber > 0;
+
+    // ensure status is not null and is appropriate value
+    if ((status == null) || (!status.equals("packed") && !status.equals("dispatched") && !status.equals("delivered"))) {
+      System.out.println("Sorry status update must be packed, dispatched or delivered please try again");
+      return null;
+    }
+    assert status != null;
+    assert (status.equals("packed") || status.equals("dispatched") || status.equals("delivered"));
+
+    // construct endpoint request
+    return "/updateOrderStatus?order_id=" + orderNumber + "&newStatus=" + status;
+  }
+
+  /**
+   * Helper for handling the server's response to a status update
+   *
+   * @param response the server's response
+   * @return true if status has been successfully changed and false otherwise
+   */
+  private boolean updateOrderStatusResponse(String response) {
+
+    // return true if status has been successfully changed and false otherwise
+    if (response.equalsIgnoreCase("True")) {
+      System.out.println("Status has been successfully changed");
+      return true;
+    } else {
+      System.out.println("Status failed to be changed");
+      return false;
+    }
+  }
+
+  /**
+   * Getter for company registered status
+   *
+   * @return true if company is registered and false otherwise
+   */
+  @Override
+  public boolean isRegistered() {
+    return registered;
+  }
+
+  /**
+   * Getter for company name
+   *
+   * @return the companies name
+   */
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Getter for the company postcode
+   *
+   * @return the companies postcode
+   */
+  @Override
+  public String getPostCode() {
+    return postcode;
+  }
+}
@@ -0,0 +1,197 @@
+/**
+ * Class for finding the catering companies nearest a postcode
+ */
+
+package shield;
+
+import java.util.Arrays;
+
+/**
+ * Indexes a list of catering companies by where their postcodes are, so the companies nearest a
+ * postcode are found without measuring the distance to every company.
+ *
+ * Companies are bucketed by postcode district. As the distance between postcodes grows by 10 per
+ * district between them and by at most 59 within a district (see PostcodeLocator), a search visits
+ * the query's own district and then the districts either side of it in order of how far away they
+ * are, and stops once the next district is further than the furthest company it has kept. Companies
+ * equally near are ranked in the order they are listed. Companies whose postcodes cannot be
+ * located are not indexed and are listed by getUnlocated, to be measured some other way.
+ */
+public class CateringIndex {
+
+  /**
+   * Private variables created:
+   *
+   * The companies indexed, as listed by the server
+   * The districts holding companies, in ascending order
+   * Where each district's companies start in members, with one more entry marking the end of the last
+   * The position in the list of each company located, grouped by district and in list order within each
+   * The packed position of each company's postcode, or PostcodeLocator.UNKNOWN if it cannot be located
+   * The positions in the list of the companies that cannot be located
+   */
+  private final CatererTable companies;
+  private final int[] districts;
+  private final int[] starts;
+  private final int[] members;
+  private final int[] positions;
+  private final int[] unlocated;
+
+  /**
+   * Class constructor
+   *
+   * @param companies the companies to index
+   */
+  public CateringIndex(CatererTable companies) {
+    this.companies = companies;
+    positions = new int[companies.size()];
+
+    // locate every company, sorting those located by district and then list position
+    long[] keys = new long[companies.size()];
+    int located = 0;
+    int[] unlocatedFound = new int[companies.size()];
+    int unlocatedCount = 0;
+    for (int i = 0; i < companies.size(); i++) {
+      positions[i] = PostcodeLocator.locate(companies.getPostCode(i));
+      if (positions[i] == PostcodeLocator.UNKNOWN) {
+        unlocatedFound[unlocatedCount++] = i;
+      } else {
+        keys[located++] = (long) PostcodeLocator.district(positions[i]) << 32 | i;
+      }
+    }
+    Arrays.sort(keys, 0, located);
+    unlocated = Arrays.copyOf(unlocatedFound, unlocatedCount);
+
+    // group the sorted companies into a bucket per district
+    members = new int[located];
+    int[] districtsFound = new int[located];
+    int[] startsFound = new int[located + 1];
+    int districtCount = 0;
+    for (int i = 0; i < located; i++) {
+      int district = (int) (keys[i] >>> 32);
+      members[i] = (int) keys[i];
+      if (districtCount == 0 || districtsFound[districtCount - 1] != district) {
+        districtsFound[districtCount] = district;
+        startsFound[districtCount] = i;
+        districtCount++;
+      }
+    }
+    startsFound[districtCount] = located;
+    districts = Arrays.copyOf(districtsFound, districtCount);
+    starts = Arrays.copyOf(startsFound, districtCount + 1);
+  }
+
+  /**
+   * Returns the companies indexed
+   *
+   * @return the companies, as listed by the server
+   */
+  public CatererTable getCompanies() { return companies; }
+
+  /**
+   * Returns where a company's postcode is
+   *
+   * @param company the company's position in the list
+   * @return the packed position of its postcode, or PostcodeLocator.UNKNOWN if it cannot be located
+   */
+  public int getPosition(int company) { return positions[company]; }
+
+  /**
+   * Returns the companies that are not indexed
+   *
+   * @return the positions in the list of the companies whose postcodes cannot be located, in list order
+   */
+  public int[] getUnlocated() { return unlocated.clone(); }
+
+  /**
+   * Finds the located companies nearest a postcode
+   *
+   * @param position the packed position of the postcode
+   * @param k the most companies wanted
+   * @return the positions in the list of at most k companies, nearest first and equally near ones in
+   * list order
+   */
+  public int[] nearest(int position, int k) {
+    k = Math.min(k, members.length);
+    if (k <= 0) {
+      return new int[0];
+    }
+
+    // the k nearest companies seen so far, as a max-heap of cost and list position
+    long[] heap = new long[k];
+    int kept = 0;
+
+    // visit districts outwards from the postcode's own, taking the nearer side first
+    int district = PostcodeLocator.district(position);
+    int above = Arrays.binarySearch(districts, district);
+    if (above < 0) {
+      above = -above - 1;
+    }
+    int below = above - 1;
+    while (below >= 0 || above < districts.length) {
+      int belowCost = below >= 0 ? 10 * (district - districts[below]) : Integer.MAX_VALUE;
+      int aboveCost = above < districts.length ? 10 * (districts[above] - district) : Integer.MAX_VALUE;
+      int bucket = belowCost <= aboveCost ? below-- : above++;
+
+      // a district no nearer than the furthest company kept can only hold companies ranked after it
+      if (kept == k && Math.min(belowCost, aboveCost) > (int) (heap[0] >>> 32)) {
+        break;
+      }
+
+      for (int i = starts[bucket]; i < starts[bucket + 1]; i++) {
+        long key = (long) PostcodeLocator.cost(position, positions[members[i]]) << 32 | members[i];
+        if (kept < k) {
+          heap[kept] = key;
+          siftUp(heap, kept++);
+        } else if (key < heap[0]) {
+          heap[0] = key;
+          siftDown(heap, k);
+        }
+      }
+    }
+
+    Arrays.sort(heap, 0, kept);
+    int[] nearest = new int[kept];
+    for (int i = 0; i < kept; i++) {
+      nearest[i] = (int) heap[i];
+    }
+    return nearest;
+  }
+
+  /**
+   * Helper for moving a newly added key up the max-heap to its place
+   *
+   * @param heap the heap
+   * @param i the index of the key
+   */
+  private static void siftUp(long[] heap, int i) {
+    long key = heap[i];
+    while (i > 0 && heap[(i - 1) / 2] < key) {
+      heap[i] = heap[(i - 1) / 2];
+      i = (i - 1) / 2;
+    }
+    heap[i] = key;
+  }
+
+  /**
+   * Helper for moving a replaced top key down the max-heap to its place
+   *
+   * @param heap the heap
+   * @param size the number of keys in the heap
+   */
+  private static void siftDown(long[] heap, int size) {
+    long key = heap[0];
+    int i = 0;
+    while (2 * i + 1 < size) {
+      int child = 2 * i + 1;
+      if (child + 1 < size && heap[child + 1] > heap[child]) {
+        child++;
+      }
+      if (heap[child] <= key) {
+        break;
+      }
+      heap[i] = heap[child];
+      i = child;
+    }
+    heap[i] = key;
+  }
+}
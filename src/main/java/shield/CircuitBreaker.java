@@ -0,0 +1,95 @@
+/**
+ * Class for failing fast against a failing endpoint
+ */
+
+package shield;
+
+/**
+ * Circuit breaker for one endpoint.
+ *
+ * While closed every request is allowed. After failureThreshold failures in a row it opens,
+ * and requests are refused for openMillis. After that one trial request is let through
+ * (half open): if it succeeds the breaker closes, if it fails the breaker opens again.
+ */
+public class CircuitBreaker {
+
+  /**
+   * The states of a circuit breaker
+   */
+  public enum State { CLOSED, OPEN, HALF_OPEN }
+
+  private final int failureThreshold;
+  private final long openNanos;
+  private State state = State.CLOSED;
+  private int consecutiveFailures;
+  private long openedAt;
+
+  /**
+   * Class constructor
+   *
+   * @param failureThreshold the failures in a row that open the breaker, or 0 to never open it
+   * @param openMillis how long the breaker stays open before a trial request
+   */
+  public CircuitBreaker(int failureThreshold, long openMillis) {
+    this.failureThreshold = failureThreshold;
+    this.openNanos = openMillis * 1_000_000L;
+  }
+
+  /**
+   * Returns whether a request may be sent now. If it returns true the caller must report
+   * the outcome with recordSuccess or recordFailure
+   *
+   * @return true if the request may be sent
+   */
+  public synchronized boolean allowRequest() {
+    switch (state) {
+      case CLOSED:
+        return true;
+      case OPEN:
+        if (System.nanoTime() - openedAt >= openNanos) {
+          state = State.HALF_OPEN;
+          return true;
+        }
+        return false;
+      default:
+        // a trial request is already in flight
+        return false;
+    }
+  }
+
+  /**
+   * Records a request that succeeded
+   */
+  public synchronized void recordSuccess() {
+    consecutiveFailures = 0;
+    state = State.CLOSED;
+  }
+
+  /**
+   * Records a request that failed
+   */
+  public synchronized void recordFailure() {
+    consecutiveFailures++;
+    if (state == State.HALF_OPEN || (failureThreshold > 0 && consecutiveFailures >= failureThreshold)) {
+      state = State.OPEN;
+      openedAt = System.nanoTime();
+    }
+  }
+
+  /**
+   * Records a request that was abandoned before its outcome was known, so says nothing about the endpoint.
+   * If it was the trial request of a half open breaker, the next request may be a trial instead
+   */
+  public synchronized void recordAbandoned() {
+    if (state == State.HALF_OPEN) {
+      state = State.OPEN;
+    }
+  }
+
+  /**
+   * Returns the breaker's current state
+   *
+   * @return the state
+   */
+  public synchronized State getState() { return state; }
+}
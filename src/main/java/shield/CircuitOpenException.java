@@ -0,0 +1,24 @@
+/**
+ * Class for requests refused by an open circuit breaker
+ */
+
+package shield;
+
+import java.io.IOException;
+
+/**
+ * Thrown by ClientIO instead of sending a request to an endpoint whose circuit breaker is open
+ */
+public class CircuitOpenException extends IOException {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Class constructor
+   *
+   * @param endpoint the endpoint the request was for
+   */
+  public CircuitOpenException(String endpoint) {
+    super("Circuit open, not calling " + endpoint);
+  }
+}
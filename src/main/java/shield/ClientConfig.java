@@ -0,0 +1,110 @@
+/**
+ * Class for reading client settings from client.cfg
+ */
+
+package shield;
+
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Typed access to the client.cfg properties, with defaults for any missing entry
+ */
+public class ClientConfig {
+  private final static String clientPropsFilename = "client.cfg";
+
+  private static volatile ClientConfig shared;
+
+  private final Properties props;
+
+  /**
+   * Class constructor
+   *
+   * @param props the properties to read settings from
+   */
+  public ClientConfig(Properties props) { this.props = props; }
+
+  /**
+   * Returns the configuration loaded from client.cfg on the classpath
+   *
+   * @return the shared client configuration
+   */
+  public static ClientConfig get() {
+    if (shared == null) {
+      synchronized (ClientConfig.class) {
+        if (shared == null) {
+          shared = new ClientConfig(loadProperties(clientPropsFilename));
+        }
+      }
+    }
+    return shared;
+  }
+
+  private static Properties loadProperties(String propsFilename) {
+    ClassLoader loader = Thread.currentThread().getContextClassLoader();
+    Properties props = new Properties();
+
+    try (InputStream propsStream = loader.getResourceAsStream(propsFilename)) {
+      if (propsStream != null) {
+        props.load(propsStream);
+      }
+    } catch (Exception e) {
+      e.printStackTrace();
+    }
+
+    return props;
+  }
+
+  /**
+   * Returns a string setting
+   *
+   * @param key the property name
+   * @param defaultValue value used when the property is not set
+   * @return the property value or the default
+   */
+  public String getString(String key, String defaultValue) {
+    String value = props.getProperty(key);
+    return (value == null) ? defaultValue : value.trim();
+  }
+
+  /**
+   * Returns an integer setting
+   *
+   * @param key the property name
+   * @param defaultValue value used when the property is not set or not a number
+   * @return the property value or the default
+   */
+  public int getInt(String key, int defaultValue) {
+    try {
+      return Integer.parseInt(getString(key, Integer.toString(defaultValue)));
+    } catch (NumberFormatException e) {
+      return defaultValue;
+    }
+  }
+
+  /**
+   * Returns a long setting
+   *
+   * @param key the property name
+   * @param defaultValue value used when the property is not set or not a number
+   * @return the property value or the default
+   */
+  public long getLong(String key, long defaultValue) {
+    try {
+      return Long.parseLong(getString(key, Long.toString(defaultValue)));
+    } catch (NumberFormatException e) {
+      return defaultValue;
+    }
+  }
+
+  /**
+   * Returns a boolean setting
+   *
+   * @param key the property name
+   * @param defaultValue value used when the property is not set
+   * @return the property value or the default
+   */
+  public boolean getBoolean(String key, boolean defaultValue) {
+    return Boolean.parseBoolean(getString(key, Boolean.toString(defaultValue)));
+  }
+}
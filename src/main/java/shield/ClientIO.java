@@ -1,90 +1,1075 @@
-/**
- *
- */
-
-package shield;
-
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-
-public class ClientIO {
-  /**
-   * Performs a GET HTTP request and returns a String with the remote endpoint's reply
-   *
-   * @param  endpoint  a HTTP URL giving location of an endpoint
-   * @return      the endpoint's response
-   * @throws IOException an input/output error occurred
-   * @throws RuntimeException a protocol processing error occurred
-   * */
-  public static String doGETRequest(String endpoint) throws RuntimeException, IOException {
-    URL requestUrl = new URL(endpoint);
-    HttpURLConnection conn = (HttpURLConnection) requestUrl.openConnection();
-    conn.setRequestMethod("GET");
-    conn.setRequestProperty("Accept", "application/json");
-
-    int responseCode = conn.getResponseCode();
-
-    if (responseCode != HttpURLConnection.HTTP_OK) {
-      throw new RuntimeException("Failed with HTTP code : "
-                                 + conn.getResponseCode());
-    }
-
-    BufferedReader in = new BufferedReader(
-      new InputStreamReader(conn.getInputStream()));
-    StringBuffer response = new StringBuffer();
-    String output = null;
-
-    while ((output = in.readLine()) != null) {
-      response.append(output);
-    }
-
-    in.close();
-    conn.disconnect();
-
-    return response.toString();
-  }
-
-  /**
-   * Performs a POST HTTP request and returns a String with the remote endpoint's reply
-   *
-   * @param  endpoint  a HTTP URL giving location of an endpoint
-   * @param  data the data to post to the endpoint as string
-   * @return      the endpoint's response
-   * @throws IOException an input/output error occurred
-   * @throws RuntimeException a protocol processing error occurred
-   * */
-  public static String doPOSTRequest(String endpoint, String data) throws RuntimeException, IOException {
-    URL url = new URL(endpoint);
-    HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-    conn.setDoOutput(true);
-    conn.setRequestMethod("POST");
-    conn.setRequestProperty("Content-Type", "application/json");
-
-    OutputStream os = conn.getOutputStream();
-    os.write(data.getBytes());
-    os.flush();
-
-    if (conn.getResponseCode() != HttpURLConnection.HTTP_OK) {
-      throw new RuntimeException("Failed with HTTP code : "
-                                 + conn.getResponseCode());
-    }
-
-    BufferedReader in = new BufferedReader(new InputStreamReader(
-        (conn.getInputStream())));
-    StringBuffer response = new StringBuffer();
-    String output = null;
-
-    while ((output = in.readLine()) != null) {
-      response.append(output);
-    }
-
-    in.close();
-    conn.disconnect();
-
-    return response.toString();
-  }
-}
+/**
+ *
+ */
+
+package shield;
+
+import com.google.gson.stream.JsonReader;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+public class ClientIO {
+  /**
+   * How long to wait for a connection to open and for the server to answer; 0 waits forever
+   */
+  private static final int connectTimeoutMillis = ClientConfig.get().getInt("timeout.connectMillis", 3000);
+  private static final int readTimeoutMillis = ClientConfig.get().getInt("timeout.readMillis", 10000);
+
+  /**
+   * The most time an idempotent GET may take, across all its attempts; 0 for no limit
+   */
+  private static final long deadlineMillis = ClientConfig.get().getLong("request.deadlineMillis", 20000);
+
+  /**
+   * How idempotent GETs are retried
+   */
+  private static final RetryPolicy retries = new RetryPolicy(
+      ClientConfig.get().getInt("retry.maxAttempts", 3),
+      ClientConfig.get().getLong("retry.baseBackoffMillis", 100),
+      ClientConfig.get().getLong("retry.maxBackoffMillis", 2000));
+
+  /**
+   * Failures in a row that open an endpoint's circuit breaker (0 disables the breakers), and how long it stays open
+   */
+  private static final int breakerFailureThreshold = ClientConfig.get().getInt("breaker.failureThreshold", 5);
+  private static final long breakerOpenMillis = ClientConfig.get().getLong("breaker.openMillis", 5000);
+
+  /**
+   * Circuit breaker of each endpoint, keyed by URL without the query
+   */
+  private static final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+  /**
+   * When idempotent GETs are hedged, set by the hedge.* settings of client.cfg
+   */
+  private static volatile HedgePolicy hedging = HedgePolicy.fromConfig(ClientConfig.get());
+
+  /**
+   * Recent reply latencies of each endpoint hedged reads are sent to, keyed by URL without the query
+   */
+  private static final Map<String, LatencyTracker> latencies = new ConcurrentHashMap<>();
+  private static final AtomicLong hedgesSent = new AtomicLong();
+
+  /**
+   * Connection pool shared by every request made through this class, sized from client.cfg
+   */
+  private static final HttpConnectionPool pool = new HttpConnectionPool(
+      ClientConfig.get().getInt("pool.size", 8),
+      ClientConfig.get().getLong("pool.idleTimeoutMillis", 30000),
+      connectTimeoutMillis,
+      readTimeoutMillis);
+
+  /**
+   * Whether synchronous requests go through httpClient instead of the pool (transport=http2 in client.cfg)
+   */
+  private static final boolean useHttpClient =
+      ClientConfig.get().getString("transport", "pool").trim().equalsIgnoreCase("http2");
+
+  /**
+   * Client behind the asynchronous requests, and behind every request when transport=http2. With HTTP/2 it
+   * multiplexes concurrent requests over one connection per server, falling back to HTTP/1.1 (with its own
+   * pool of connections) if the server does not upgrade
+   */
+  private static final HttpClient httpClient = newHttpClient(
+      useHttpClient ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1);
+
+  /**
+   * Per-thread buffer request bodies are encoded into, so posting does not allocate a new array each time
+   */
+  private static final ThreadLocal<BodyBuffer> bodyBuffers = ThreadLocal.withInitial(BodyBuffer::new);
+
+  /**
+   * Per-thread buffer request bodies are gzipped into
+   */
+  private static final ThreadLocal<BodyBuffer> compressedBuffers = ThreadLocal.withInitial(BodyBuffer::new);
+
+  /**
+   * Bodies larger than this are not kept in the per-thread buffer after the request
+   */
+  private static final int MAX_RETAINED_BODY = 64 * 1024;
+
+  /**
+   * Whether the server is told gzip and deflate replies are accepted
+   */
+  private static final boolean acceptCompressed = ClientConfig.get().getBoolean("compression.accept", true);
+
+  /**
+   * Request bodies of at least this many bytes are gzipped; 0 never compresses them
+   */
+  private static final int compressRequestsFrom = ClientConfig.get().getInt("compression.requestMinBytes", 0);
+
+  /**
+   * Whether identical idempotent GETs in flight at the same time share one request (coalesce.reads in client.cfg)
+   */
+  private static final boolean coalesceReads = ClientConfig.get().getBoolean("coalesce.reads", true);
+
+  /**
+   * Tracks the idempotent GETs in flight, keyed by URL (and decoder)
+   */
+  private static final SingleFlight reads = new SingleFlight();
+
+  private static final Map<String, String> GET_HEADERS = headers(
+      "Accept", "application/json");
+  private static final Map<String, String> POST_HEADERS = headers(
+      "Content-Type", "application/json");
+  private static final Map<String, String> GZIP_POST_HEADERS = headers(
+      "Content-Type", "application/json",
+      "Content-Encoding", ContentEncoding.GZIP);
+
+  /**
+   * Performs a GET HTTP request and returns a String with the remote endpoint's reply
+   *
+   * @param  endpoint  a HTTP URL giving location of an endpoint
+   * @return      the endpoint's response
+   * @throws IOException an input/output error occurred
+   * @throws RuntimeException a protocol processing error occurred
+   * */
+  public static String doGETRequest(String endpoint) throws RuntimeException, IOException {
+    return guarded(endpoint, () -> get(endpoint, readTimeoutMillis, false));
+  }
+
+  /**
+   * Performs a GET HTTP request and decodes the remote endpoint's JSON reply as it arrives
+   *
+   * @param  endpoint  a HTTP URL giving location of an endpoint
+   * @param  decoder  decoder reading the reply straight from the connection
+   * @param  <T>  the decoded type
+   * @return      the decoded response
+   * @throws IOException an input/output error occurred or the reply is not valid JSON
+   * @throws RuntimeException a protocol processing error occurred
+   * */
+  public static <T> T doGETRequest(String endpoint, ResponseDecoder<T> decoder) throws RuntimeException, IOException {
+    return guarded(endpoint, () -> get(endpoint, decoder, readTimeoutMillis, false));
+  }
+
+  /**
+   * Performs a GET HTTP request that only reads from the server. Failed attempts are retried with
+   * jittered exponential backoff within the request deadline, and concurrent calls for the same
+   * endpoint share one request and receive the same reply
+   *
+   * @param  endpoint  a HTTP URL giving location of an endpoint
+   * @return      the endpoint's response
+   * @throws IOException an input/output error occurred
+   * @throws RuntimeException a protocol processing error occurred
+   * */
+  public static String doIdempotentGETRequest(String endpoint) throws RuntimeException, IOException {
+    HedgePolicy policy = hedging;
+    SingleFlight.Call<String> call = policy.isEnabled()
+        ? () -> withRetries(timeout -> hedged(policy, endpoint, timeout,
+            HttpResponse.BodyHandlers.ofByteArray(), ClientIO::readClientResponse))
+        : () -> withRetries(timeout -> guarded(endpoint, () -> get(endpoint, timeout, true)));
+    if (!coalesceReads) {
+      return call.call();
+    }
+    return reads.execute(endpoint, call);
+  }
+
+  /**
+   * Performs a GET HTTP request that only reads from the server and decodes the JSON reply as it arrives.
+   * Failed attempts are retried as for doIdempotentGETRequest(String). Concurrent calls for the same
+   * endpoint and decoder share one request and the same decoded object, which callers must therefore
+   * not modify
+   *
+   * @param  endpoint  a HTTP URL giving location of an endpoint
+   * @param  decoder  decoder reading the reply straight from the connection
+   * @param  <T>  the decoded type
+   * @return      the decoded response
+   * @throws IOException an input/output error occurred or the reply is not valid JSON
+   * @throws RuntimeException a protocol processing error occurred
+   * */
+  public static <T> T doIdempotentGETRequest(String endpoint, ResponseDecoder<T> decoder)
+      throws RuntimeException, IOException {
+    HedgePolicy policy = hedging;
+    SingleFlight.Call<T> call = policy.isEnabled()
+        ? () -> withRetries(timeout -> hedged(policy, endpoint, timeout,
+            HttpResponse.BodyHandlers.ofInputStream(), response -> readClientResponse(response, decoder)))
+        : () -> withRetries(timeout -> guarded(endpoint, () -> get(endpoint, decoder, timeout, true)));
+    if (!coalesceReads) {
+      return call.call();
+    }
+    return reads.execute(Arrays.asList(endpoint, decoder), call);
+  }
+
+  /**
+   * Returns the number of idempotent GETs that shared an identical request already in flight
+   *
+   * @return number of requests collapsed into another
+   */
+  public static long getCollapsedRequests() { return reads.getCollapsedCalls(); }
+
+  /**
+   * Returns the number of idempotent GETs actually sent while coalescing is on
+   *
+   * @return number of coalesced requests sent
+   */
+  public static long getCoalescedRequestsSent() { return reads.getExecutedCalls(); }
+
+  /**
+   * Returns the number of second requests sent because the first was slow to reply
+   *
+   * @return number of hedge requests sent
+   */
+  public static long getHedgedRequests() { return hedgesSent.get(); }
+
+  /**
+   * Replaces the hedge.* settings of client.cfg, so hedging can be turned on and off while running
+   *
+   * @param policy when idempotent GETs are hedged from now on
+   * @return the policy replaced
+   */
+  static HedgePolicy setHedgePolicy(HedgePolicy policy) {
+    HedgePolicy previous = hedging;
+    hedging = policy;
+    return previous;
+  }
+
+  /**
+   * Performs a POST HTTP request and returns a String with the remote endpoint's reply
+   *
+   * @param  endpoint  a HTTP URL giving location of an endpoint
+   * @param  data the data to post to the endpoint as string
+   * @return      the endpoint's response
+   * @throws IOException an input/output error occurred
+   * @throws RuntimeException a protocol processing error occurred
+   * */
+  public static String doPOSTRequest(String endpoint, String data) throws RuntimeException, IOException {
+    byte[] body = data.getBytes(StandardCharsets.UTF_8);
+    return guarded(endpoint, () -> doPOSTRequest(new URL(endpoint), body, body.length));
+  }
+
+  /**
+   * Performs a POST HTTP request whose body is written as bytes rather than built as a String
+   *
+   * @param  endpoint  a HTTP URL giving location of an endpoint
+   * @param  data writer of the data to post to the endpoint
+   * @return      the endpoint's response
+   * @throws IOException an input/output error occurred
+   * @throws RuntimeException a protocol processing error occurred
+   * */
+  public static String doPOSTRequest(String endpoint, RequestBody data) throws RuntimeException, IOException {
+    URL url = new URL(endpoint);
+    BodyBuffer body = bodyBuffers.get();
+    body.reset();
+    try {
+      data.writeTo(body);
+      return guarded(endpoint, () -> doPOSTRequest(url, body.array(), body.size()));
+    } finally {
+      if (body.array().length > MAX_RETAINED_BODY) {
+        bodyBuffers.remove();
+      }
+    }
+  }
+
+  /**
+   * Performs a GET HTTP request without blocking the calling thread
+   *
+   * @param  endpoint  a HTTP URL giving location of an endpoint
+   * @return      future completed with the endpoint's response, or exceptionally with an IOException
+   *              or a RuntimeException as for doGETRequest
+   * */
+  public static CompletableFuture<String> doGETRequestAsync(String endpoint) {
+    HttpRequest request;
+    try {
+      request = newRequest(endpoint, GET_HEADERS)
+          .GET()
+          .build();
+    } catch (IllegalArgumentException e) {
+      return failedFuture(e);
+    }
+
+    HttpRequest get = request;
+    return guardedAsync(endpoint, () -> httpClient.sendAsync(get, HttpResponse.BodyHandlers.ofByteArray())
+        .thenApply(ClientIO::readClientResponse));
+  }
+
+  /**
+   * Performs a GET HTTP request without blocking the calling thread and decodes the JSON reply as it arrives
+   *
+   * @param  endpoint  a HTTP URL giving location of an endpoint
+   * @param  decoder  decoder reading the reply as it is received
+   * @param  <T>  the decoded type
+   * @return      future completed with the decoded response, or exceptionally as for doGETRequest
+   * */
+  public static <T> CompletableFuture<T> doGETRequestAsync(String endpoint, ResponseDecoder<T> decoder) {
+    HttpRequest request;
+    try {
+      request = newRequest(endpoint, GET_HEADERS)
+          .GET()
+          .build();
+    } catch (IllegalArgumentException e) {
+      return failedFuture(e);
+    }
+
+    HttpRequest get = request;
+    return guardedAsync(endpoint, () -> httpClient.sendAsync(get, HttpResponse.BodyHandlers.ofInputStream())
+        .thenApply(response -> {
+          try {
+            return readClientResponse(response, decoder);
+          } catch (IOException e) {
+            throw new CompletionException(e);
+          }
+        }));
+  }
+
+  /**
+   * Performs a POST HTTP request without blocking the calling thread
+   *
+   * @param  endpoint  a HTTP URL giving location of an endpoint
+   * @param  data the data to post to the endpoint as string
+   * @return      future completed with the endpoint's response, or exceptionally with an IOException
+   *              or a RuntimeException as for doPOSTRequest
+   * */
+  public static CompletableFuture<String> doPOSTRequestAsync(String endpoint, String data) {
+    HttpRequest request;
+    try {
+      byte[] body = data.getBytes(StandardCharsets.UTF_8);
+      request = newPOSTRequest(endpoint, body, body.length);
+    } catch (IllegalArgumentException | IOException e) {
+      return failedFuture(e);
+    }
+
+    HttpRequest post = request;
+    return guardedAsync(endpoint, () -> httpClient.sendAsync(post, HttpResponse.BodyHandlers.ofByteArray())
+        .thenApply(ClientIO::readClientResponse));
+  }
+
+  /**
+   * Returns the connection pool used for plain http endpoints
+   *
+   * @return the shared connection pool
+   */
+  static HttpConnectionPool getConnectionPool() { return pool; }
+
+  /**
+   * Returns whether synchronous requests go through the java.net.http client rather than the pool
+   *
+   * @return true if transport=http2 is configured
+   */
+  static boolean usesHttpClient() { return useHttpClient; }
+
+  /**
+   * Sends a GET request, without retries or a circuit breaker, and reads the reply as a String
+   *
+   * @param endpoint a HTTP URL giving location of an endpoint
+   * @param timeoutMillis how long to wait for the server, or 0 to wait forever
+   * @param idempotent whether the request only reads, so the pool may resend it on a dropped connection
+   * @return the endpoint's response
+   * @throws IOException an input/output error occurred
+   * @throws RuntimeException a protocol processing error occurred
+   */
+  private static String get(String endpoint, int timeoutMillis, boolean idempotent)
+      throws RuntimeException, IOException {
+    if (useHttpClient) {
+      return readClientResponse(send(newRequest(endpoint, GET_HEADERS, timeoutMillis).GET().build(),
+          HttpResponse.BodyHandlers.ofByteArray()));
+    }
+
+    URL requestUrl = new URL(endpoint);
+    if (!requestUrl.getProtocol().equals("http")) {
+      return doURLConnectionRequest(requestUrl, "GET", GET_HEADERS, null, 0, timeoutMillis);
+    }
+
+    try (HttpConnectionPool.Response response =
+             pool.execute("GET", requestUrl, GET_HEADERS, null, 0, timeoutMillis, idempotent)) {
+      return readResponse(response);
+    }
+  }
+
+  /**
+   * Sends a GET request, without retries or a circuit breaker, and decodes the JSON reply as it arrives
+   *
+   * @param endpoint a HTTP URL giving location of an endpoint
+   * @param decoder decoder reading the reply straight from the connection
+   * @param timeoutMillis how long to wait for the server, or 0 to wait forever
+   * @param idempotent whether the request only reads, so the pool may resend it on a dropped connection
+   * @param <T> the decoded type
+   * @return the decoded response
+   * @throws IOException an input/output error occurred or the reply is not valid JSON
+   * @throws RuntimeException a protocol processing error occurred
+   */
+  private static <T> T get(String endpoint, ResponseDecoder<T> decoder, int timeoutMillis, boolean idempotent)
+      throws RuntimeException, IOException {
+    if (useHttpClient) {
+      return readClientResponse(send(newRequest(endpoint, GET_HEADERS, timeoutMillis).GET().build(),
+          HttpResponse.BodyHandlers.ofInputStream()), decoder);
+    }
+
+    URL requestUrl = new URL(endpoint);
+    if (!requestUrl.getProtocol().equals("http")) {
+      HttpURLConnection conn = openConnection(requestUrl, GET_HEADERS, timeoutMillis);
+      if (conn.getResponseCode() != HttpURLConnection.HTTP_OK) {
+        throw new HttpStatusException(conn.getResponseCode());
+      }
+      try (InputStream in = ContentEncoding.decode(conn.getInputStream(), conn.getContentEncoding())) {
+        return decode(in, decoder);
+      }
+    }
+
+    try (HttpConnectionPool.Response response =
+             pool.execute("GET", requestUrl, GET_HEADERS, null, 0, timeoutMillis, idempotent)) {
+      if (response.getStatusCode() != HttpURLConnection.HTTP_OK) {
+        response.discardBody();
+        throw new HttpStatusException(response.getStatusCode());
+      }
+
+      try (InputStream in = ContentEncoding.decode(response.getBody(), response.getHeader("Content-Encoding"))) {
+        T decoded = decode(in, decoder);
+
+        // read anything after the JSON value (e.g. a trailing newline) so the connection can be reused
+        response.discardBody();
+        return decoded;
+      }
+    }
+  }
+
+  /**
+   * An attempt at a request, given how long it may wait for the server
+   *
+   * @param <T> the result type
+   */
+  private interface Attempt<T> {
+    T run(int timeoutMillis) throws IOException;
+  }
+
+  /**
+   * Makes attempts at an idempotent request until one succeeds, the failure is not worth retrying,
+   * the attempts run out or the deadline would be passed
+   *
+   * @param attempt the request to attempt
+   * @param <T> the result type
+   * @return the result of the successful attempt
+   * @throws IOException the last attempt failed with an IOException, or the deadline passed
+   * @throws RuntimeException the last attempt failed with a RuntimeException
+   */
+  private static <T> T withRetries(Attempt<T> attempt) throws RuntimeException, IOException {
+    long deadline = deadlineMillis > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis) : 0;
+
+    for (int attempts = 1; ; attempts++) {
+      int timeout = readTimeoutMillis;
+      if (deadline != 0) {
+        long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remaining <= 0) {
+          throw new SocketTimeoutException("Deadline of " + deadlineMillis + "ms passed");
+        }
+        if (timeout == 0 || remaining < timeout) {
+          timeout = (int) remaining;
+        }
+      }
+
+      try {
+        return attempt.run(timeout);
+      } catch (IOException | RuntimeException e) {
+        if (attempts >= retries.getMaxAttempts() || !RetryPolicy.isRetryable(e)) {
+          throw e;
+        }
+
+        long backoff = retries.backoffMillis(attempts);
+        if (deadline != 0 && System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff) >= deadline) {
+          throw e;
+        }
+        try {
+          Thread.sleep(backoff);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          throw e;
+        }
+      }
+    }
+  }
+
+  /**
+   * Makes a request through the endpoint's circuit breaker, failing fast while it is open
+   *
+   * @param endpoint the endpoint the request is for
+   * @param call the request
+   * @param <T> the result type
+   * @return the result of the request
+   * @throws IOException the request failed with an IOException, or the circuit is open
+   * @throws RuntimeException the request failed with a RuntimeException
+   */
+  private static <T> T guarded(String endpoint, SingleFlight.Call<T> call) throws RuntimeException, IOException {
+    CircuitBreaker breaker = breakerFor(endpoint);
+    if (breaker == null) {
+      return call.call();
+    }
+    if (!breaker.allowRequest()) {
+      throw new CircuitOpenException(breakerKey(endpoint));
+    }
+
+    boolean failed = true;
+    try {
+      T result = call.call();
+      failed = false;
+      return result;
+    } catch (IOException | RuntimeException e) {
+      failed = isServerFailure(e);
+      throw e;
+    } finally {
+      if (failed) {
+        breaker.recordFailure();
+      } else {
+        breaker.recordSuccess();
+      }
+    }
+  }
+
+  /**
+   * Makes an asynchronous request through the endpoint's circuit breaker, as guarded does
+   */
+  private static <T> CompletableFuture<T> guardedAsync(String endpoint, Supplier<CompletableFuture<T>> call) {
+    CircuitBreaker breaker = breakerFor(endpoint);
+    if (breaker == null) {
+      return call.get();
+    }
+    if (!breaker.allowRequest()) {
+      return failedFuture(new CircuitOpenException(breakerKey(endpoint)));
+    }
+
+    CompletableFuture<T> future;
+    try {
+      future = call.get();
+    } catch (RuntimeException e) {
+      breaker.recordFailure();
+      throw e;
+    }
+    return future.whenComplete((result, failure) -> {
+      Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+      if (cause == null || !isServerFailure(cause)) {
+        breaker.recordSuccess();
+      } else {
+        breaker.recordFailure();
+      }
+    });
+  }
+
+  /**
+   * Reads the reply to one of a hedged pair of requests
+   *
+   * @param <R> the body type received
+   * @param <T> the result type
+   */
+  interface ResponseReader<R, T> {
+    T read(HttpResponse<R> response) throws IOException;
+  }
+
+  /**
+   * Sends an idempotent GET, and a second copy of it if the first has not replied within the endpoint's
+   * usual latency. The first successful reply is used and the other is discarded: the losing request is
+   * not aborted, as the java.net.http client carries on with an exchange whose future is cancelled, so
+   * its reply is still received and its body closed when it arrives. Hedged requests go through the
+   * java.net.http client whatever the transport, as both copies must be in flight at once
+   *
+   * @param policy when to send the second copy
+   * @param endpoint a HTTP URL giving location of an endpoint
+   * @param timeoutMillis how long to wait for the server, or 0 to wait forever
+   * @param handler how the reply body is received
+   * @param reader how the reply is checked and read
+   * @param <R> the body type received
+   * @param <T> the result type
+   * @return the result of the first successful reply
+   * @throws IOException both requests failed, the last with an IOException, or the circuit is open
+   * @throws RuntimeException both requests failed, the last with a RuntimeException
+   */
+  private static <R, T> T hedged(HedgePolicy policy, String endpoint, int timeoutMillis,
+                                 HttpResponse.BodyHandler<R> handler, ResponseReader<R, T> reader)
+      throws RuntimeException, IOException {
+    CircuitBreaker breaker = breakerFor(endpoint);
+    if (breaker != null && !breaker.allowRequest()) {
+      throw new CircuitOpenException(breakerKey(endpoint));
+    }
+
+    LatencyTracker latency = latencies.computeIfAbsent(breakerKey(endpoint),
+        key -> new LatencyTracker(256, policy.getMinSamples()));
+    HttpRequest request;
+    try {
+      request = newRequest(endpoint, GET_HEADERS, timeoutMillis).GET().build();
+    } catch (IllegalArgumentException e) {
+      if (breaker != null) {
+        breaker.recordSuccess();
+      }
+      throw e;
+    }
+
+    CompletableFuture<T> first = sendHedgeLeg(request, handler, reader, breaker, latency);
+    CompletableFuture<T> second = null;
+    try {
+      long delayNanos = policy.delayNanos(latency);
+      if (delayNanos < 0) {
+        return await(first);
+      }
+
+      try {
+        return first.get(delayNanos, TimeUnit.NANOSECONDS);
+      } catch (TimeoutException e) {
+        // slow reply, so hedge below
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for " + endpoint);
+      } catch (ExecutionException e) {
+        return await(first);
+      }
+
+      if (breaker != null && !breaker.allowRequest()) {
+        return await(first);
+      }
+      second = sendHedgeLeg(request, handler, reader, breaker, latency);
+      hedgesSent.incrementAndGet();
+      return await(firstSuccess(first, second));
+    } finally {
+      // the loser's reply is discarded by readHedgeLeg when it arrives
+      first.cancel(true);
+      if (second != null) {
+        second.cancel(true);
+      }
+    }
+  }
+
+  private static <R, T> CompletableFuture<T> sendHedgeLeg(HttpRequest request, HttpResponse.BodyHandler<R> handler,
+                                                         ResponseReader<R, T> reader, CircuitBreaker breaker,
+                                                         LatencyTracker latency) {
+    long start = System.nanoTime();
+    CompletableFuture<T> result = readHedgeLeg(httpClient.sendAsync(request, handler), reader);
+    result.whenComplete((value, failure) -> {
+      Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+      if (cause instanceof CancellationException) {
+        // the other request won; this one says nothing about the server
+        if (breaker != null) {
+          breaker.recordAbandoned();
+        }
+        return;
+      }
+      if (cause == null) {
+        latency.record(System.nanoTime() - start);
+      }
+      if (breaker != null) {
+        if (cause != null && isServerFailure(cause)) {
+          breaker.recordFailure();
+        } else {
+          breaker.recordSuccess();
+        }
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Reads the reply to one of a hedged pair of requests once it arrives. If the leg has already lost, and
+   * its result been cancelled, nothing will read the reply, so its body is closed instead, letting go of
+   * the connection and the stream the java.net.http client still delivers it on
+   *
+   * @param exchange the exchange sending the request
+   * @param reader how the reply is checked and read
+   * @param <R> the body type received
+   * @param <T> the result type
+   * @return the leg's result, which may be cancelled to discard the reply
+   */
+  static <R, T> CompletableFuture<T> readHedgeLeg(CompletableFuture<HttpResponse<R>> exchange,
+                                                  ResponseReader<R, T> reader) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    exchange.whenComplete((response, failure) -> {
+      if (result.isDone()) {
+        discard(response);
+        return;
+      }
+      if (failure != null) {
+        result.completeExceptionally(failure);
+        return;
+      }
+      // a reader always closes the body, even if the leg loses while it is reading
+      try {
+        result.complete(reader.read(response));
+      } catch (IOException | RuntimeException e) {
+        result.completeExceptionally(e);
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Closes the body of a reply no one will read
+   *
+   * @param response the reply, or null if the exchange failed
+   */
+  private static void discard(HttpResponse<?> response) {
+    if (response == null || !(response.body() instanceof Closeable)) {
+      return;
+    }
+    try {
+      ((Closeable) response.body()).close();
+    } catch (IOException e) {
+      // nothing more to do with a reply no one wants
+    }
+  }
+
+  /**
+   * Completes with the first of two results to succeed, or fails once both have failed
+   */
+  private static <T> CompletableFuture<T> firstSuccess(CompletableFuture<T> a, CompletableFuture<T> b) {
+    CompletableFuture<T> winner = new CompletableFuture<>();
+    AtomicInteger failures = new AtomicInteger();
+    BiConsumer<T, Throwable> settle = (value, failure) -> {
+      if (failure == null) {
+        winner.complete(value);
+      } else if (failures.incrementAndGet() == 2) {
+        winner.completeExceptionally(failure);
+      }
+    };
+    a.whenComplete(settle);
+    b.whenComplete(settle);
+    return winner;
+  }
+
+  /**
+   * Waits for a future, rethrowing its failure as the IOException or RuntimeException it was
+   */
+  private static <T> T await(CompletableFuture<T> future) throws RuntimeException, IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for a reply");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof CompletionException && cause.getCause() != null) {
+        cause = cause.getCause();
+      }
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException(cause);
+    }
+  }
+
+  /**
+   * Returns whether a failure says the server is unreachable or struggling, which counts against its circuit breaker
+   */
+  private static boolean isServerFailure(Throwable failure) {
+    if (failure instanceof HttpStatusException) {
+      return ((HttpStatusException) failure).isServerFailure();
+    }
+    return failure instanceof IOException && !(failure instanceof CircuitOpenException)
+        && (!(failure instanceof InterruptedIOException) || failure instanceof SocketTimeoutException);
+  }
+
+  private static CircuitBreaker breakerFor(String endpoint) {
+    if (breakerFailureThreshold <= 0) {
+      return null;
+    }
+    return breakers.computeIfAbsent(breakerKey(endpoint),
+        key -> new CircuitBreaker(breakerFailureThreshold, breakerOpenMillis));
+  }
+
+  private static String breakerKey(String endpoint) {
+    int query = endpoint.indexOf('?');
+    return query < 0 ? endpoint : endpoint.substring(0, query);
+  }
+
+  /**
+   * Posts a body held in a buffer, gzipping it first if it is large enough
+   *
+   * @param url the endpoint URL
+   * @param data buffer holding the body
+   * @param length the number of bytes of data to post
+   * @return the endpoint's response
+   * @throws IOException an input/output error occurred
+   * @throws RuntimeException a protocol processing error occurred
+   */
+  private static String doPOSTRequest(URL url, byte[] data, int length) throws RuntimeException, IOException {
+    if (useHttpClient) {
+      return readClientResponse(send(newPOSTRequest(url.toString(), data, length),
+          HttpResponse.BodyHandlers.ofByteArray()));
+    }
+
+    Map<String, String> headers = POST_HEADERS;
+    BodyBuffer compressed = null;
+    if (shouldCompress(length)) {
+      compressed = compressedBuffers.get();
+      compressed.reset();
+      ContentEncoding.gzip(data, length, compressed);
+      data = compressed.array();
+      length = compressed.size();
+      headers = GZIP_POST_HEADERS;
+    }
+
+    try {
+      if (!url.getProtocol().equals("http")) {
+        return doURLConnectionRequest(url, "POST", headers, data, length, readTimeoutMillis);
+      }
+
+      try (HttpConnectionPool.Response response = pool.execute("POST", url, headers, data, length)) {
+        return readResponse(response);
+      }
+    } finally {
+      if (compressed != null && compressed.array().length > MAX_RETAINED_BODY) {
+        compressedBuffers.remove();
+      }
+    }
+  }
+
+  /**
+   * Reads a pooled response into a String, dropping line breaks
+   *
+   * @param response the response to read
+   * @return the response body
+   * @throws IOException an input/output error occurred
+   * @throws RuntimeException the server did not answer with HTTP 200
+   */
+  private static String readResponse(HttpConnectionPool.Response response) throws RuntimeException, IOException {
+    if (response.getStatusCode() != HttpURLConnection.HTTP_OK) {
+      // drain the body so the connection can still be reused
+      response.discardBody();
+      throw new HttpStatusException(response.getStatusCode());
+    }
+
+    try (InputStream in = ContentEncoding.decode(response.getBody(), response.getHeader("Content-Encoding"))) {
+      String body = readLines(in);
+
+      // a compressed body can end before the connection's copy of it does
+      response.discardBody();
+      return body;
+    }
+  }
+
+  /**
+   * Checks a response from httpClient and decodes its JSON body as it arrives
+   *
+   * @param response the response received
+   * @param decoder decoder reading the reply
+   * @param <T> the decoded type
+   * @return the decoded response
+   * @throws IOException an input/output error occurred or the reply is not valid JSON
+   * @throws RuntimeException the server did not answer with HTTP 200
+   */
+  private static <T> T readClientResponse(HttpResponse<InputStream> response, ResponseDecoder<T> decoder)
+      throws RuntimeException, IOException {
+    try (InputStream in = response.body()) {
+      if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+        throw new HttpStatusException(response.statusCode());
+      }
+      try (InputStream decoded = ContentEncoding.decode(in,
+          response.headers().firstValue("Content-Encoding").orElse(null))) {
+        return decode(decoded, decoder);
+      }
+    }
+  }
+
+  /**
+   * Checks a response from httpClient and decodes it, dropping line breaks as readResponse does
+   *
+   * @param response the response received
+   * @return the response body
+   * @throws RuntimeException the server did not answer with HTTP 200, or the body could not be decompressed
+   */
+  private static String readClientResponse(HttpResponse<byte[]> response) throws RuntimeException {
+    if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+      throw new HttpStatusException(response.statusCode());
+    }
+
+    String contentEncoding = response.headers().firstValue("Content-Encoding").orElse(null);
+    String body;
+    try (InputStream in = ContentEncoding.decode(new ByteArrayInputStream(response.body()), contentEncoding)) {
+      body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new CompletionException(e);
+    }
+
+    if (body.indexOf('\n') < 0 && body.indexOf('\r') < 0) {
+      return body;
+    }
+    return body.replace("\r", "").replace("\n", "");
+  }
+
+  private static <T> T decode(InputStream body, ResponseDecoder<T> decoder) throws IOException {
+    JsonReader reader = new JsonReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    reader.setLenient(true);
+    return decoder.decode(reader);
+  }
+
+  private static boolean shouldCompress(int length) {
+    return compressRequestsFrom > 0 && length >= compressRequestsFrom;
+  }
+
+  /**
+   * Builds a fixed header map from name/value pairs, adding Accept-Encoding if compressed replies are accepted
+   */
+  private static Map<String, String> headers(String... namesAndValues) {
+    Map<String, String> headers = new LinkedHashMap<>();
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      headers.put(namesAndValues[i], namesAndValues[i + 1]);
+    }
+    if (acceptCompressed) {
+      headers.put("Accept-Encoding", ContentEncoding.ACCEPTED);
+    }
+    return Collections.unmodifiableMap(headers);
+  }
+
+  /**
+   * Sends a request on httpClient, blocking until the response headers arrive
+   */
+  private static <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+      throws IOException {
+    try {
+      return httpClient.send(request, handler);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for " + request.uri());
+    }
+  }
+
+  /**
+   * Builds a POST request for httpClient, gzipping the body if it is large enough
+   */
+  private static HttpRequest newPOSTRequest(String endpoint, byte[] data, int length) throws IOException {
+    Map<String, String> headers = POST_HEADERS;
+    if (shouldCompress(length)) {
+      BodyBuffer compressed = new BodyBuffer();
+      ContentEncoding.gzip(data, length, compressed);
+      data = compressed.array();
+      length = compressed.size();
+      headers = GZIP_POST_HEADERS;
+    }
+
+    // copied, as the client may still be reading the body after the caller has reused its buffer
+    return newRequest(endpoint, headers)
+        .POST(HttpRequest.BodyPublishers.ofByteArray(Arrays.copyOf(data, length)))
+        .build();
+  }
+
+  private static HttpRequest.Builder newRequest(String endpoint, Map<String, String> headers) {
+    return newRequest(endpoint, headers, readTimeoutMillis);
+  }
+
+  private static HttpRequest.Builder newRequest(String endpoint, Map<String, String> headers, int timeoutMillis) {
+    HttpRequest.Builder builder = HttpRequest.newBuilder(toURI(endpoint));
+    if (timeoutMillis > 0) {
+      builder.timeout(Duration.ofMillis(timeoutMillis));
+    }
+    for (Map.Entry<String, String> header : headers.entrySet()) {
+      builder.header(header.getKey(), header.getValue());
+    }
+    return builder;
+  }
+
+  private static HttpClient newHttpClient(HttpClient.Version version) {
+    HttpClient.Builder builder = HttpClient.newBuilder().version(version);
+    if (connectTimeoutMillis > 0) {
+      builder.connectTimeout(Duration.ofMillis(connectTimeoutMillis));
+    }
+    return builder.build();
+  }
+
+  private static HttpURLConnection openConnection(URL url, Map<String, String> headers, int timeoutMillis)
+      throws IOException {
+    HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+    conn.setConnectTimeout(timeoutMillis > 0 && (connectTimeoutMillis == 0 || timeoutMillis < connectTimeoutMillis)
+                           ? timeoutMillis : connectTimeoutMillis);
+    conn.setReadTimeout(timeoutMillis);
+    for (Map.Entry<String, String> header : headers.entrySet()) {
+      conn.setRequestProperty(header.getKey(), header.getValue());
+    }
+    return conn;
+  }
+
+  private static URI toURI(String endpoint) {
+    return URI.create(endpoint.replace(" ", "%20"));
+  }
+
+  private static <T> CompletableFuture<T> failedFuture(Throwable cause) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    future.completeExceptionally(cause);
+    return future;
+  }
+
+  private static String readLines(InputStream body) throws IOException {
+    BufferedReader in = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    StringBuilder response = new StringBuilder();
+    String output = null;
+
+    while ((output = in.readLine()) != null) {
+      response.append(output);
+    }
+
+    return response.toString();
+  }
+
+  /**
+   * Performs a request with a one-off HttpURLConnection, used for endpoints the pool does not handle (e.g. https)
+   *
+   * @param url the endpoint URL
+   * @param method the HTTP method
+   * @param headers the request headers
+   * @param data the data to post, or null for a GET
+   * @param length the number of bytes of data to post
+   * @param timeoutMillis how long to wait for the server, or 0 to wait forever
+   * @return the endpoint's response
+   * @throws IOException an input/output error occurred
+   * @throws RuntimeException a protocol processing error occurred
+   */
+  private static String doURLConnectionRequest(URL url, String method, Map<String, String> headers,
+                                               byte[] data, int length, int timeoutMillis)
+      throws RuntimeException, IOException {
+    HttpURLConnection conn = openConnection(url, headers, timeoutMillis);
+    conn.setRequestMethod(method);
+
+    if (data != null) {
+      conn.setDoOutput(true);
+      conn.setFixedLengthStreamingMode(length);
+
+      OutputStream os = conn.getOutputStream();
+      os.write(data, 0, length);
+      os.flush();
+    }
+
+    if (conn.getResponseCode() != HttpURLConnection.HTTP_OK) {
+      throw new HttpStatusException(conn.getResponseCode());
+    }
+
+    try (InputStream in = ContentEncoding.decode(conn.getInputStream(), conn.getContentEncoding())) {
+      return readLines(in);
+    }
+  }
+
+  /**
+   * Growable byte buffer whose backing array can be handed to the connection without copying
+   */
+  private static final class BodyBuffer extends ByteArrayOutputStream {
+    BodyBuffer() { super(1024); }
+
+    byte[] array() { return buf; }
+  }
+}
@@ -0,0 +1,93 @@
+/**
+ * Class for reaching the server over HTTP through ClientIO
+ */
+
+package shield;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The default transport: every request goes through ClientIO, with its pooling, compression,
+ * retries, circuit breakers and hedging as configured in client.cfg
+ */
+public class ClientIOTransport implements Transport {
+
+  public static final ClientIOTransport INSTANCE = new ClientIOTransport();
+
+  /**
+   * The transport clients use when not given one, as configured in client.cfg
+   */
+  static final Transport DEFAULT = configure(ClientConfig.get());
+
+  private ClientIOTransport() { }
+
+  @Override
+  public String doGETRequest(String endpoint) throws RuntimeException, IOException {
+    return ClientIO.doGETRequest(endpoint);
+  }
+
+  @Override
+  public String doPOSTRequest(String endpoint, String data) throws RuntimeException, IOException {
+    return ClientIO.doPOSTRequest(endpoint, data);
+  }
+
+  @Override
+  public <T> T doGETRequest(String endpoint, ResponseDecoder<T> decoder) throws RuntimeException, IOException {
+    return ClientIO.doGETRequest(endpoint, decoder);
+  }
+
+  @Override
+  public String doIdempotentGETRequest(String endpoint) throws RuntimeException, IOException {
+    return ClientIO.doIdempotentGETRequest(endpoint);
+  }
+
+  @Override
+  public <T> T doIdempotentGETRequest(String endpoint, ResponseDecoder<T> decoder)
+      throws RuntimeException, IOException {
+    return ClientIO.doIdempotentGETRequest(endpoint, decoder);
+  }
+
+  @Override
+  public String doPOSTRequest(String endpoint, RequestBody data) throws RuntimeException, IOException {
+    return ClientIO.doPOSTRequest(endpoint, data);
+  }
+
+  @Override
+  public CompletableFuture<String> doGETRequestAsync(String endpoint) {
+    return ClientIO.doGETRequestAsync(endpoint);
+  }
+
+  @Override
+  public <T> CompletableFuture<T> doGETRequestAsync(String endpoint, ResponseDecoder<T> decoder) {
+    return ClientIO.doGETRequestAsync(endpoint, decoder);
+  }
+
+  @Override
+  public CompletableFuture<String> doPOSTRequestAsync(String endpoint, String data) {
+    return ClientIO.doPOSTRequestAsync(endpoint, data);
+  }
+
+  /**
+   * Replays replay.file if set, or else records every request to record.file if set
+   */
+  private static Transport configure(ClientConfig config) {
+    String replayFile = config.getString("replay.file", "");
+    String recordFile = config.getString("record.file", "");
+    try {
+      if (!replayFile.isEmpty()) {
+        return new ReplayTransport(Paths.get(replayFile));
+      }
+      if (!recordFile.isEmpty()) {
+        RecordingTransport recording = new RecordingTransport(INSTANCE, Paths.get(recordFile));
+        // clients never close their transport, so write out the last records as the JVM exits
+        Runtime.getRuntime().addShutdownHook(new Thread(recording::close, "traffic-recorder-close"));
+        return recording;
+      }
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+    return INSTANCE;
+  }
+}
@@ -0,0 +1,118 @@
+/**
+ * Class for compressed HTTP message bodies
+ */
+
+package shield;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Decodes gzip and deflate response bodies and gzips request bodies.
+ *
+ * Closing a stream returned by decode also closes the body it wraps, and releases
+ * the native inflater behind it.
+ */
+public class ContentEncoding {
+
+  /**
+   * Value sent in the Accept-Encoding header when compressed replies are accepted
+   */
+  public static final String ACCEPTED = "gzip, deflate";
+
+  /**
+   * Value sent in the Content-Encoding header of a compressed request body
+   */
+  public static final String GZIP = "gzip";
+
+  private static final int BUFFER_SIZE = 8192;
+
+  /**
+   * Wraps a response body so it reads decompressed
+   *
+   * @param body the body as received
+   * @param contentEncoding the Content-Encoding header of the response, or null if there was none
+   * @return the decompressed body, or body itself if it is not compressed
+   * @throws IOException an input/output error occurred or the encoding is not supported
+   */
+  public static InputStream decode(InputStream body, String contentEncoding) throws IOException {
+    if (contentEncoding == null) {
+      return body;
+    }
+
+    switch (contentEncoding.trim().toLowerCase(Locale.ROOT)) {
+      case "":
+      case "identity":
+        return body;
+      case "gzip":
+      case "x-gzip":
+        return new GZIPInputStream(body, BUFFER_SIZE);
+      case "deflate":
+        return inflate(body);
+      default:
+        throw new IOException("Unsupported Content-Encoding: " + contentEncoding);
+    }
+  }
+
+  /**
+   * Gzips a request body
+   *
+   * @param data buffer holding the body
+   * @param length the number of bytes of data to compress
+   * @param out the stream the compressed body is written to, which is left open
+   * @throws IOException an input/output error occurred
+   */
+  public static void gzip(byte[] data, int length, OutputStream out) throws IOException {
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE) {
+      @Override
+      public void close() throws IOException {
+        // finish the body and free the deflater, but leave the stream underneath open
+        try {
+          finish();
+        } finally {
+          def.end();
+        }
+      }
+    }) {
+      gzip.write(data, 0, length);
+    }
+  }
+
+  /**
+   * Inflates a deflate body, which servers send either zlib-wrapped (as the spec says) or raw
+   */
+  private static InputStream inflate(InputStream body) throws IOException {
+    PushbackInputStream in = new PushbackInputStream(body, 2);
+    int first = in.read();
+    int second = first == -1 ? -1 : in.read();
+    if (second != -1) {
+      in.unread(second);
+    }
+    if (first != -1) {
+      in.unread(first);
+    }
+
+    boolean zlibWrapped = first != -1 && second != -1
+        && (first & 0x0f) == 8 && ((first << 8) | second) % 31 == 0;
+    Inflater inflater = new Inflater(!zlibWrapped);
+    return new InflaterInputStream(in, inflater, BUFFER_SIZE) {
+      private boolean ended;
+
+      @Override
+      public void close() throws IOException {
+        if (!ended) {
+          ended = true;
+          inflater.end();
+        }
+        super.close();
+      }
+    };
+  }
+}
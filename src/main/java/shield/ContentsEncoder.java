@@ -0,0 +1,115 @@
+/**
+ * Class for encoding order contents as a JSON request body
+ */
+
+package shield;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import shield.ShieldingIndividualClientImp.MessagingContents;
+
+/**
+ * Writes the {"contents":[...]} body expected by /placeOrder and /editOrder.
+ *
+ * Items are encoded straight to UTF-8 bytes on the output stream, escaping item
+ * names as JSON strings, without building the body as a String.
+ */
+public class ContentsEncoder implements RequestBody {
+
+  private static final byte[] HEX = "0123456789abcdef".getBytes();
+
+  private final List<MessagingContents> contents;
+
+  /**
+   * Class constructor
+   *
+   * @param contents the items to encode
+   */
+  public ContentsEncoder(List<MessagingContents> contents) { this.contents = contents; }
+
+  @Override
+  public void writeTo(OutputStream out) throws IOException {
+    writeAscii(out, "{\"contents\":[");
+    for (int i = 0; i < contents.size(); i++) {
+      MessagingContents item = contents.get(i);
+      if (i > 0) {
+        out.write(',');
+      }
+      writeAscii(out, "{\"id\":");
+      writeInt(out, item.id);
+      writeAscii(out, ",\"name\":");
+      writeString(out, item.name);
+      writeAscii(out, ",\"quantity\":");
+      writeInt(out, item.quantity);
+      out.write('}');
+    }
+    writeAscii(out, "]}");
+  }
+
+  private static void writeAscii(OutputStream out, String text) throws IOException {
+    for (int i = 0; i < text.length(); i++) {
+      out.write(text.charAt(i));
+    }
+  }
+
+  private static void writeInt(OutputStream out, int value) throws IOException {
+    if (value < 0) {
+      out.write('-');
+      if (value == Integer.MIN_VALUE) {
+        writeAscii(out, "2147483648");
+        return;
+      }
+      value = -value;
+    }
+    int divisor = 1;
+    while (value / divisor >= 10) {
+      divisor *= 10;
+    }
+    while (divisor > 0) {
+      out.write('0' + (value / divisor) % 10);
+      divisor /= 10;
+    }
+  }
+
+  private static void writeString(OutputStream out, String text) throws IOException {
+    if (text == null) {
+      writeAscii(out, "null");
+      return;
+    }
+
+    out.write('"');
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == '"' || c == '\\') {
+        out.write('\\');
+        out.write(c);
+      } else if (c < 0x20) {
+        writeAscii(out, "\\u00");
+        out.write(HEX[c >> 4]);
+        out.write(HEX[c & 0xf]);
+      } else if (c < 0x80) {
+        out.write(c);
+      } else if (c < 0x800) {
+        out.write(0xc0 | (c >> 6));
+        out.write(0x80 | (c & 0x3f));
+      } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+          && Character.isLowSurrogate(text.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, text.charAt(++i));
+        out.write(0xf0 | (codePoint >> 18));
+        out.write(0x80 | ((codePoint >> 12) & 0x3f));
+        out.write(0x80 | ((codePoint >> 6) & 0x3f));
+        out.write(0x80 | (codePoint & 0x3f));
+      } else if (Character.isSurrogate(c)) {
+        // unpaired surrogate, replaced as String.getBytes would
+        out.write('?');
+      } else {
+        out.write(0xe0 | (c >> 12));
+        out.write(0x80 | ((c >> 6) & 0x3f));
+        out.write(0x80 | (c & 0x3f));
+      }
+    }
+    out.write('"');
+  }
+}
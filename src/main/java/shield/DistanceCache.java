@@ -0,0 +1,158 @@
+/**
+ * Class for caching distances between postcodes
+ */
+
+package shield;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the distance the server gave between pairs of postcodes, so each pair is asked for
+ * once however many clients and catering company searches need it.
+ *
+ * Distance is symmetric, so a pair is remembered under one key whichever way round it is asked
+ * for, and postcodes are compared ignoring case and surrounding spaces. At most
+ * distance.cacheSize pairs from client.cfg are kept; once that many are, they are all forgotten
+ * and the cache fills again with the pairs still in use.
+ *
+ * A cache may also keep every pair in a DistanceFile, so pairs forgotten, or given before the client
+ * last started or in another client JVM, are read back from the file rather than asked for again.
+ */
+public class DistanceCache {
+
+  /**
+   * Shared instance used by the clients, as distances do not depend on who asks
+   */
+  public static final DistanceCache SHARED = configure(ClientConfig.get());
+
+  /**
+   * Private variables created:
+   *
+   * The most pairs kept in memory
+   * The distance for each pair kept in memory
+   * The file every pair is also kept in, or null if there is none
+   */
+  private final int maxPairs;
+  private final ConcurrentHashMap<String, Float> distances = new ConcurrentHashMap<>();
+  private final DistanceFile file;
+
+  /**
+   * Class constructor
+   *
+   * @param maxPairs the most pairs kept, or 0 to keep none
+   */
+  public DistanceCache(int maxPairs) { this(maxPairs, null); }
+
+  /**
+   * Class constructor taking a file to keep every pair in as well
+   *
+   * @param maxPairs the most pairs kept in memory, or 0 to keep none there
+   * @param file the file pairs are also kept in, or null for none
+   */
+  public DistanceCache(int maxPairs, DistanceFile file) {
+    this.maxPairs = maxPairs;
+    this.file = file;
+  }
+
+  /**
+   * Returns the distance kept for a pair of postcodes
+   *
+   * @param postCode1 post code of one location
+   * @param postCode2 post code of another location
+   * @return the distance, or -1 if none is kept for the pair
+   */
+  public float get(String postCode1, String postCode2) {
+    String key = key(postCode1, postCode2);
+    Float distance = distances.get(key);
+    if (distance != null) {
+      return distance;
+    }
+    if (file == null) {
+      return -1;
+    }
+
+    // remember a pair read from the file, so it is read from memory next time
+    float kept = file.get(key);
+    remember(key, kept);
+    return kept;
+  }
+
+  /**
+   * Keeps the distance between a pair of postcodes
+   *
+   * @param postCode1 post code of one location
+   * @param postCode2 post code of another location
+   * @param distance the distance, which is not kept if negative as that means the lookup failed
+   */
+  public void put(String postCode1, String postCode2, float distance) {
+    if (distance < 0) {
+      return;
+    }
+    String key = key(postCode1, postCode2);
+    remember(key, distance);
+
+    if (file != null) {
+      try {
+        file.put(key, distance);
+      } catch (IOException e) {
+        // the pair is still kept in memory
+        e.printStackTrace();
+      }
+    }
+  }
+
+  /**
+   * Returns the number of pairs kept
+   *
+   * @return the number of pairs kept
+   */
+  public int size() { return distances.size(); }
+
+  /**
+   * Helper for keeping a pair in memory
+   *
+   * @param key the pair's key
+   * @param distance the distance, which is not kept if negative
+   */
+  private void remember(String key, float distance) {
+    if (distance < 0 || maxPairs <= 0) {
+      return;
+    }
+    if (distances.size() >= maxPairs) {
+      distances.clear();
+    }
+    distances.put(key, distance);
+  }
+
+  /**
+   * Keeps pairs in memory as distance.cacheSize sets, and in distance.file too if it is set
+   */
+  private static DistanceCache configure(ClientConfig config) {
+    int maxPairs = config.getInt("distance.cacheSize", 65536);
+    String fileName = config.getString("distance.file", "");
+    if (!fileName.isEmpty()) {
+      try {
+        return new DistanceCache(maxPairs, new DistanceFile(Paths.get(fileName), config.getInt("distance.fileSlots", 65536)));
+      } catch (IOException e) {
+        e.printStackTrace();
+      }
+    }
+    return new DistanceCache(maxPairs);
+  }
+
+  /**
+   * Helper for building the key a pair is kept under, the same whichever way round it is given
+   *
+   * @param postCode1 post code of one location
+   * @param postCode2 post code of another location
+   * @return the key
+   */
+  private static String key(String postCode1, String postCode2) {
+    String first = postCode1.trim().toUpperCase(Locale.ROOT);
+    String second = postCode2.trim().toUpperCase(Locale.ROOT);
+    return first.compareTo(second) <= 0 ? first + '\n' + second : second + '\n' + first;
+  }
+}
@@ -0,0 +1,249 @@
+/**
+ * Class for keeping distances between postcodes in a file
+ */
+
+package shield;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps distances between postcodes in a memory-mapped file, so they are remembered when a client
+ * restarts and shared by every client JVM on the host using the same file.
+ *
+ * The file is a 16 byte header followed by a hash table of fixed 48 byte records, each holding a
+ * check word, the distance and a key of up to 36 ASCII bytes, with keys hashed to a record and
+ * collisions going to the next free one. Records are only ever added, as distances never change,
+ * and a full file simply stops taking more. Writers take an exclusive lock on the file, so writers
+ * in different JVMs add records one at a time, and write a record's check word last. Readers take
+ * no lock and ignore any record whose check word does not match its contents, so a record still
+ * being written reads as missing rather than wrong.
+ */
+public class DistanceFile implements Closeable {
+
+  private static final int MAGIC = 0x53484443;
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 16;
+  private static final int RECORD_SIZE = 48;
+  private static final int MAX_KEY_LENGTH = RECORD_SIZE - 12;
+
+  /**
+   * One lock per file for writers in this JVM, as a file lock only keeps out other JVMs
+   */
+  private static final ConcurrentHashMap<Path, Object> writeLocks = new ConcurrentHashMap<>();
+
+  /**
+   * Private variables created:
+   *
+   * The file, kept open to lock it while writing
+   * The file's contents, mapped into memory
+   * The number of records the file holds room for
+   * The lock taken by writers in this JVM
+   */
+  private final FileChannel channel;
+  private final MappedByteBuffer records;
+  private final int slots;
+  private final Object writeLock;
+
+  /**
+   * Class constructor, opening the file or creating it if it is missing or empty
+   *
+   * @param file the file distances are kept in
+   * @param slots the number of records a new file holds room for; an existing file keeps its own
+   * @throws IOException the file could not be opened or is not a distance file
+   */
+  public DistanceFile(Path file, int slots) throws IOException {
+    Path path = file.toAbsolutePath().normalize();
+    channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    writeLock = writeLocks.computeIfAbsent(path, key -> new Object());
+    try {
+      // lay out a new file while no other JVM can, and read the size of an existing one
+      synchronized (writeLock) {
+        FileLock lock = channel.lock();
+        try {
+          if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(slots).putInt(RECORD_SIZE).flip();
+            channel.write(header, 0);
+            channel.write(ByteBuffer.allocate(1), HEADER_SIZE + (long) slots * RECORD_SIZE - 1);
+          }
+
+          ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+          channel.read(header, 0);
+          header.flip();
+          if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IOException(file + " is not a distance file");
+          }
+          this.slots = header.getInt();
+          if (this.slots <= 0 || this.slots > (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE
+              || header.getInt() != RECORD_SIZE
+              || channel.size() < HEADER_SIZE + (long) this.slots * RECORD_SIZE) {
+            throw new IOException(file + " is not a distance file");
+          }
+        } finally {
+          lock.release();
+        }
+      }
+      records = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) slots * RECORD_SIZE);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the distance kept under a key
+   *
+   * @param key the key of a pair of postcodes, in ASCII
+   * @return the distance, or -1 if none is kept under the key
+   */
+  public float get(String key) {
+    if (!fits(key)) {
+      return -1;
+    }
+    int slot = find(key);
+    if (slot < 0) {
+      return -1;
+    }
+    int offset = HEADER_SIZE + slot * RECORD_SIZE;
+    int check = records.getInt(offset);
+    float distance = records.getFloat(offset + 4);
+    return check != 0 && check == check(key, distance) ? distance : -1;
+  }
+
+  /**
+   * Keeps a distance under a key, unless the key is already kept or the file is full
+   *
+   * @param key the key of a pair of postcodes, in ASCII
+   * @param distance the distance, which is not kept if negative
+   * @throws IOException the file could not be locked
+   */
+  public void put(String key, float distance) throws IOException {
+    if (distance < 0 || !fits(key)) {
+      return;
+    }
+
+    synchronized (writeLock) {
+      FileLock lock = channel.lock();
+      try {
+        int slot = find(key);
+        if (slot < 0) {
+          return;
+        }
+        int offset = HEADER_SIZE + slot * RECORD_SIZE;
+        if (records.getInt(offset) != 0) {
+          return;
+        }
+
+        records.putFloat(offset + 4, distance);
+        records.putInt(offset + 8, key.length());
+        for (int i = 0; i < key.length(); i++) {
+          records.put(offset + 12 + i, (byte) key.charAt(i));
+        }
+        records.putInt(offset, check(key, distance));
+      } finally {
+        lock.release();
+      }
+    }
+  }
+
+  /**
+   * Returns the number of records the file holds room for
+   *
+   * @return the number of records
+   */
+  public int getSlots() { return slots; }
+
+  /**
+   * Closes the file; the distances already mapped can still be read but no more can be kept
+   *
+   * @throws IOException the file could not be closed
+   */
+  @Override
+  public void close() throws IOException { channel.close(); }
+
+  /**
+   * Finds the record holding a key, or the free record it would be put in
+   *
+   * @param key the key
+   * @return the record's index, or -1 if the key is not held and no record is free
+   */
+  private int find(String key) {
+    int slot = Math.floorMod(mix(key.hashCode()), slots);
+    for (int probes = 0; probes < slots; probes++) {
+      int offset = HEADER_SIZE + slot * RECORD_SIZE;
+      if (records.getInt(offset) == 0 || holds(offset, key)) {
+        return slot;
+      }
+      slot = slot + 1 == slots ? 0 : slot + 1;
+    }
+    return -1;
+  }
+
+  /**
+   * Helper for checking whether a record holds a key, without building a String from it
+   *
+   * @param offset where the record starts
+   * @param key the key
+   * @return true if the record's key is the same
+   */
+  private boolean holds(int offset, String key) {
+    if (records.getInt(offset + 8) != key.length()) {
+      return false;
+    }
+    for (int i = 0; i < key.length(); i++) {
+      if (records.get(offset + 12 + i) != (byte) key.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Helper for checking a key can be kept
+   *
+   * @param key the key
+   * @return true if the key is short enough and all ASCII
+   */
+  private static boolean fits(String key) {
+    if (key.length() > MAX_KEY_LENGTH) {
+      return false;
+    }
+    for (int i = 0; i < key.length(); i++) {
+      if (key.charAt(i) > 0x7F) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Helper for working out a record's check word
+   *
+   * @param key the record's key
+   * @param distance the record's distance
+   * @return a word depending on both, never 0 as that marks a free record
+   */
+  private static int check(String key, float distance) {
+    int check = mix(key.hashCode() * 31 + Float.floatToIntBits(distance));
+    return check == 0 ? 1 : check;
+  }
+
+  /**
+   * Spreads a hash code, so keys differing only slightly land far apart
+   *
+   * @param hash the hash code
+   * @return the spread hash
+   */
+  private static int mix(int hash) {
+    hash *= 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+}
@@ -1,193 +1,251 @@
-/**
- * Dummy example of a potential application for a shielding individual.
- *
- * This is mostly to show an example of the JSON marshalling and unmarshalling
- * machineray.
- *
- * @author
- *
- */
-
-package shield;
-
-import java.util.Collection;
-import java.util.List;
-import java.util.ArrayList;
-import java.lang.reflect.Type;
-
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-
-public class DummyShieldingIndividualClientImp implements ShieldingIndividualClient {
-  /**
-   * The string representation of the base server endpoint (a HTTP address)
-   */
-  private String endpoint;
-
-  // internal field only used for transmission purposes
-  final class MessagingFoodBox {
-    // a field marked as transient is skipped in marshalling/unmarshalling
-    transient List<String> contents;
-
-    String delivered_by;
-    String diet;
-    String id;
-    String name;
-  }
-
-  public DummyShieldingIndividualClientImp(String endpoint) {
-    this.endpoint = endpoint;
-  }
-
-  @Override
-  public boolean registerShieldingIndividual(String CHI) {
-    return false;
-  }
-
-  @Override
-  public Collection<String> showFoodBoxes(String dietaryPreference) {
-    // construct the endpoint request
-    String request = "/showFoodBox?orderOption=catering&dietaryPreference=none";
-
-    // setup the response recepient
-    List<MessagingFoodBox> responseBoxes = new ArrayList<MessagingFoodBox>();
-
-    List<String> boxIds = new ArrayList<String>();
-
-    try {
-      // perform request
-      String response = ClientIO.doGETRequest(endpoint + request);
-
-      // unmarshal response
-      Type listType = new TypeToken<List<MessagingFoodBox>>() {} .getType();
-      responseBoxes = new Gson().fromJson(response, listType);
-
-      // gather required fields
-      for (MessagingFoodBox b : responseBoxes) {
-        boxIds.add(b.id);
-      }
-    } catch (Exception e) {
-      e.printStackTrace();
-    }
-
-    return boxIds;
-  }
-
-  @Override
-  public boolean placeOrder() {
-    return false;
-  }
-
-  @Override
-  public boolean editOrder(int orderNumber) {
-    return false;
-  }
-
-  @Override
-  public boolean cancelOrder(int orderNumber) {
-    return false;
-  }
-
-  @Override
-  public boolean requestOrderStatus(int orderNumber) {
-    return false;
-  }
-
-  // **UPDATE**
-  @Override
-  public Collection<String> getCateringCompanies() {
-    return null;
-  }
-
-  // **UPDATE**
-  @Override
-  public float getDistance(String postCode1, String postCode2) {
-    return 0;
-  }
-
-  @Override
-  public boolean isRegistered() {
-    return false;
-  }
-
-  @Override
-  public String getCHI() {
-    return null;
-  }
-
-  @Override
-  public int getFoodBoxNumber() {
-    return 0;
-  }
-
-  @Override
-  public String getDietaryPreferenceForFoodBox(int foodBoxId) {
-    return null;
-  }
-
-  @Override
-  public int getItemsNumberForFoodBox(int foodBoxId) {
-    return 0;
-  }
-
-  @Override
-  public Collection<Integer> getItemIdsForFoodBox(int foodboxId) {
-    return null;
-  }
-
-  @Override
-  public String getItemNameForFoodBox(int itemId, int foodBoxId) {
-    return null;
-  }
-
-  @Override
-  public int getItemQuantityForFoodBox(int itemId, int foodBoxId) {
-    return 0;
-  }
-
-  @Override
-  public boolean pickFoodBox(int foodBoxId) {
-    return false;
-  }
-
-  @Override
-  public boolean changeItemQuantityForPickedFoodBox(int itemId, int quantity) {
-    return false;
-  }
-
-  @Override
-  public Collection<Integer> getOrderNumbers() {
-    return null;
-  }
-
-  @Override
-  public String getStatusForOrder(int orderNumber) {
-    return null;
-  }
-
-  @Override
-  public Collection<Integer> getItemIdsForOrder(int orderNumber) {
-    return null;
-  }
-
-  @Override
-  public String getItemNameForOrder(int itemId, int orderNumber) {
-    return null;
-  }
-
-  @Override
-  public int getItemQuantityForOrder(int itemId, int orderNumber) {
-    return 0;
-  }
-
-  @Override
-  public boolean setItemQuantityForOrder(int itemId, int orderNumber, int quantity) {
-    return false;
-  }
-
-  // **UPDATE**
-  @Override
-  public String getClosestCateringCompany() {
-    return null;
-  }
-}
\ No newline at end of file
+/**
+ * Dummy example of a potential application for a shielding individual.
+ *
+ * This is mostly to show an example of the JSON marshalling and unmarshalling
+ * machineray.
+ *
+ * @author
+ *
+ */
+
+package shield;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+public class DummyShieldingIndividualClientImp implements ShieldingIndividualClient {
+  /**
+   * The string representation of the base server endpoint (a HTTP address)
+   */
+  private String endpoint;
+
+  /**
+   * The transport requests are sent through
+   */
+  private final Transport transport;
+
+  // internal field only used for transmission purposes
+  static final class MessagingFoodBox {
+    // a field marked as transient is skipped in marshalling/unmarshalling
+    transient List<String> contents;
+
+    String delivered_by;
+    String diet;
+    String id;
+    String name;
+  }
+
+  public DummyShieldingIndividualClientImp(String endpoint) {
+    this(endpoint, Transport.getDefault());
+  }
+
+  public DummyShieldingIndividualClientImp(String endpoint, Transport transport) {
+    this.endpoint = endpoint;
+    this.transport = transport;
+  }
+
+  @Override
+  public boolean registerShieldingIndividual(String CHI) {
+    return false;
+  }
+
+  @Override
+  public Collection<String> showFoodBoxes(String dietaryPreference) {
+    // construct the endpoint request
+    String request = "/showFoodBox?orderOption=catering&dietaryPreference=none";
+
+    // setup the response recepient
+    List<MessagingFoodBox> responseBoxes = new ArrayList<MessagingFoodBox>();
+
+    List<String> boxIds = new ArrayList<String>();
+
+    try {
+      // perform request
+      String response = transport.doGETRequest(endpoint + request);
+
+      // unmarshal response
+      responseBoxes = MessagingCodecs.DUMMY_FOOD_BOX_LIST.fromJson(response);
+
+      // gather required fields
+      for (MessagingFoodBox b : responseBoxes) {
+        boxIds.add(b.id);
+      }
+    } catch (Exception e) {
+      e.printStackTrace();
+    }
+
+    return boxIds;
+  }
+
+  @Override
+  public boolean placeOrder() {
+    return false;
+  }
+
+  @Override
+  public boolean editOrder(int orderNumber) {
+    return false;
+  }
+
+  @Override
+  public boolean cancelOrder(int orderNumber) {
+    return false;
+  }
+
+  @Override
+  public boolean requestOrderStatus(int orderNumber) {
+    return false;
+  }
+
+  // **UPDATE**
+  @Override
+  public Collection<String> getCateringCompanies() {
+    return null;
+  }
+
+  // **UPDATE**
+  @Override
+  public float getDistance(String postCode1, String postCode2) {
+    return 0;
+  }
+
+  @Override
+  public boolean isRegistered() {
+    return false;
+  }
+
+  @Override
+  public String getCHI() {
+    return null;
+  }
+
+  @Override
+  public int getFoodBoxNumber() {
+    return 0;
+  }
+
+  @Override
+  public String getDietaryPreferenceForFoodBox(int foodBoxId) {
+    return null;
+  }
+
+  @Override
+  public int getItemsNumberForFoodBox(int foodBoxId) {
+    return 0;
+  }
+
+  @Override
+  public Collection<Integer> getItemIdsForFoodBox(int foodboxId) {
+    return null;
+  }
+
+  @Override
+  public String getItemNameForFoodBox(int itemId, int foodBoxId) {
+    return null;
+  }
+
+  @Override
+  public int getItemQuantityForFoodBox(int itemId, int foodBoxId) {
+    return 0;
+  }
+
+  @Override
+  public boolean pickFoodBox(int foodBoxId) {
+    return false;
+  }
+
+  @Override
+  public boolean changeItemQuantityForPickedFoodBox(int itemId, int quantity) {
+    return false;
+  }
+
+  @Override
+  public Collection<Integer> getOrderNumbers() {
+    return null;
+  }
+
+  @Override
+  public String getStatusForOrder(int orderNumber) {
+    return null;
+  }
+
+  @Override
+  public Collection<Integer> getItemIdsForOrder(int orderNumber) {
+    return null;
+  }
+
+  @Override
+  public String getItemNameForOrder(int itemId, int orderNumber) {
+    return null;
+  }
+
+  @Override
+  public int getItemQuantityForOrder(int itemId, int orderNumber) {
+    return 0;
+  }
+
+  @Override
+  public boolean setItemQuantityForOrder(int itemId, int orderNumber, int quantity) {
+    return false;
+  }
+
+  // **UPDATE**
+  @Override
+  public String getClosestCateringCompany() {
+    return null;
+  }
+
+  @Override
+  public List<String> getNearestCateringCompanies(String postCode, int k) {
+    return null;
+  }
+
+  @Override
+  public boolean refreshOrderStatuses() {
+    return false;
+  }
+
+  @Override
+  public void setOrder(int id, ArrayList<ShieldingIndividualClientImp.MessagingContents> contents, String chi,
+                       String cateringId, LocalDateTime ordered, LocalDateTime packed, LocalDateTime dispatched,
+                       LocalDateTime delivered, String status) {
+  }
+
+  @Override
+  public ArrayList<ShieldingIndividualClientImp.MessagingContents> setContents(int id, String name, int quantity) {
+    return null;
+  }
+
+  @Override
+  public CompletableFuture<Boolean> registerShieldingIndividualAsync(String CHI) {
+    return CompletableFuture.completedFuture(registerShieldingIndividual(CHI));
+  }
+
+  @Override
+  public CompletableFuture<Collection<String>> showFoodBoxesAsync(String dietaryPreference) {
+    return CompletableFuture.supplyAsync(() -> showFoodBoxes(dietaryPreference));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> cancelOrderAsync(int orderNumber) {
+    return CompletableFuture.completedFuture(cancelOrder(orderNumber));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> requestOrderStatusAsync(int orderNumber) {
+    return CompletableFuture.completedFuture(requestOrderStatus(orderNumber));
+  }
+
+  @Override
+  public CompletableFuture<Collection<String>> getCateringCompaniesAsync() {
+    return CompletableFuture.completedFuture(getCateringCompanies());
+  }
+
+  @Override
+  public CompletableFuture<Float> getDistanceAsync(String postCode1, String postCode2) {
+    return CompletableFuture.completedFuture(getDistance(postCode1, postCode2));
+  }
+}
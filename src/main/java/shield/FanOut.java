@@ -0,0 +1,131 @@
+/**
+ * Class for running independent client calls side by side
+ */
+
+package shield;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Runs fan-out work such as one distance lookup per catering company.
+ *
+ * By default the work runs one item after another on the calling thread. Setting
+ * fanout.virtualThreads=true in client.cfg runs every item on its own virtual
+ * thread instead, so N independent server calls take about as long as one. On a
+ * JVM without virtual threads, such as Java 11, a fixed pool of fanout.threads
+ * daemon threads is used, so fanning out over thousands of orders runs that many
+ * calls at a time rather than starting a thread for each.
+ */
+public class FanOut {
+
+  /**
+   * The executor fan-out work is submitted to, or null to run on the calling thread
+   */
+  private static final ExecutorService executor = createExecutor(ClientConfig.get());
+
+  /**
+   * Applies a function to every input and returns the results in input order
+   *
+   * @param inputs the inputs to process
+   * @param function the work done for each input, which must be safe to run concurrently
+   * @param <I> the input type
+   * @param <T> the result type
+   * @return the result for each input, in the same order as the inputs
+   */
+  public static <I, T> List<T> map(Collection<I> inputs, Function<? super I, ? extends T> function) {
+    return map(executor, inputs, function);
+  }
+
+  /**
+   * Applies a function to every input on the given executor and returns the results in input order
+   *
+   * @param executor the executor to run the work on, or null to run it on the calling thread
+   * @param inputs the inputs to process
+   * @param function the work done for each input, which must be safe to run concurrently
+   * @param <I> the input type
+   * @param <T> the result type
+   * @return the result for each input, in the same order as the inputs
+   */
+  static <I, T> List<T> map(ExecutorService executor, Collection<I> inputs,
+                            Function<? super I, ? extends T> function) {
+    List<T> results = new ArrayList<>(inputs.size());
+
+    if (executor == null || inputs.size() < 2) {
+      for (I input : inputs) {
+        results.add(function.apply(input));
+      }
+      return results;
+    }
+
+    // start every task before waiting on any of them
+    List<Future<? extends T>> futures = new ArrayList<>(inputs.size());
+    for (I input : inputs) {
+      futures.add(executor.submit(() -> function.apply(input)));
+    }
+
+    for (Future<? extends T> future : futures) {
+      try {
+        results.add(future.get());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted while waiting for fan-out work", e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new RuntimeException(e.getCause());
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Returns whether fan-out work runs concurrently
+   *
+   * @return true if fan-out work runs concurrently
+   */
+  public static boolean isConcurrent() { return executor != null; }
+
+  /**
+   * Creates the executor client.cfg asks for
+   *
+   * @param config the client configuration
+   * @return a virtual thread per task executor, a fixed pool where virtual threads are missing, or null to
+   * run fan-out work on the calling thread
+   */
+  static ExecutorService createExecutor(ClientConfig config) {
+    if (!config.getBoolean("fanout.virtualThreads", false)) {
+      return null;
+    }
+
+    // virtual threads only exist from Java 21, so look the factory up at runtime
+    try {
+      Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) factory.invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return createPlatformExecutor(config.getInt("fanout.threads", 8));
+    }
+  }
+
+  /**
+   * Creates the fixed pool of daemon threads used where virtual threads are missing
+   *
+   * @param threads the most fan-out calls run at once
+   * @return the pool
+   */
+  static ExecutorService createPlatformExecutor(int threads) {
+    return Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+      Thread thread = new Thread(runnable, "fan-out");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+}
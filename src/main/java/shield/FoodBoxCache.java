@@ -0,0 +1,177 @@
+/**
+ * Class for caching the server's food box listings
+ */
+
+package shield;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import shield.ShieldingIndividualClientImp.MessagingFoodBox;
+
+/**
+ * Keeps the latest food box listing for each dietary preference, so listing the same boxes again
+ * needs no request to the server.
+ *
+ * A listing is kept for foodBoxes.ttlMillis from client.cfg and then fetched again. Once it is
+ * older than foodBoxes.refreshMillis it is still used but is fetched again on a background thread,
+ * so a listing in regular use is replaced before it expires and callers seldom wait for the
+ * server. Each listing replaces the one before it and holds a box id at most once, and only one
+ * listing is kept per dietary preference. Listings are shared, so the boxes in them must not be
+ * changed.
+ */
+public class FoodBoxCache {
+
+  /**
+   * Fetches the listing for a dietary preference from the server
+   */
+  public interface Loader {
+    public List<MessagingFoodBox> load(String dietaryPreference) throws IOException;
+  }
+
+  /**
+   * The thread background refreshes run on, shared by every cache
+   */
+  private static final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "food-box-refresh");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * Private variables created:
+   *
+   * How long a listing is used for, and the age at which it is refreshed in the background, in nanoseconds
+   * Where listings are fetched from
+   * The listing kept for each dietary preference
+   * Fetches in progress, so concurrent callers missing the same listing share one request
+   */
+  private final long ttlNanos;
+  private final long refreshNanos;
+  private final Loader loader;
+  private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+  private final SingleFlight fetches = new SingleFlight();
+
+  /**
+   * Class constructor taking the lifetimes from client.cfg
+   *
+   * @param loader where listings are fetched from
+   */
+  public FoodBoxCache(Loader loader) {
+    this(ClientConfig.get().getLong("foodBoxes.ttlMillis", 60000),
+        ClientConfig.get().getLong("foodBoxes.refreshMillis", 45000), loader);
+  }
+
+  /**
+   * Class constructor
+   *
+   * @param ttlMillis how long a listing is used for, or 0 to fetch every listing from the server
+   * @param refreshMillis the age at which a listing in use is fetched again in the background
+   * @param loader where listings are fetched from
+   */
+  public FoodBoxCache(long ttlMillis, long refreshMillis, Loader loader) {
+    this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMillis));
+    this.refreshNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, Math.min(refreshMillis, ttlMillis)));
+    this.loader = loader;
+  }
+
+  /**
+   * Returns the listing for a dietary preference, fetching it if none is kept or it has expired
+   *
+   * @param dietaryPreference the dietary preference
+   * @return the food boxes, which must not be changed
+   * @throws IOException if the listing had to be fetched and that failed
+   */
+  public List<MessagingFoodBox> get(String dietaryPreference) throws IOException {
+    List<MessagingFoodBox> foodBoxes = getIfPresent(dietaryPreference);
+    if (foodBoxes != null) {
+      return foodBoxes;
+    }
+    return fetches.execute(dietaryPreference, () -> put(dietaryPreference, loader.load(dietaryPreference)));
+  }
+
+  /**
+   * Returns the listing for a dietary preference if one is kept and has not expired
+   *
+   * @param dietaryPreference the dietary preference
+   * @return the food boxes, which must not be changed, or null if the listing must be fetched
+   */
+  public List<MessagingFoodBox> getIfPresent(String dietaryPreference) {
+    Entry entry = entries.get(dietaryPreference);
+    if (entry == null) {
+      return null;
+    }
+
+    long age = System.nanoTime() - entry.fetched;
+    if (age >= ttlNanos) {
+      entries.remove(dietaryPreference, entry);
+      return null;
+    }
+    if (age >= refreshNanos && entry.refreshing.compareAndSet(false, true)) {
+      refresher.execute(() -> refresh(dietaryPreference, entry));
+    }
+    return entry.foodBoxes;
+  }
+
+  /**
+   * Keeps a listing fetched from the server in place of the one kept before
+   *
+   * @param dietaryPreference the dietary preference
+   * @param foodBoxes the food boxes fetched
+   * @return the listing as kept, with any repeated box ids left out
+   */
+  public List<MessagingFoodBox> put(String dietaryPreference, List<MessagingFoodBox> foodBoxes) {
+    Set<Integer> ids = new HashSet<>();
+    List<MessagingFoodBox> listing = new ArrayList<>(foodBoxes.size());
+    for (MessagingFoodBox foodBox : foodBoxes) {
+      if (ids.add(foodBox.id)) {
+        listing.add(foodBox);
+      }
+    }
+    listing = Collections.unmodifiableList(listing);
+
+    if (ttlNanos > 0) {
+      entries.put(dietaryPreference, new Entry(listing, System.nanoTime()));
+    }
+    return listing;
+  }
+
+  /**
+   * Fetches a listing again in the background, leaving the kept one in place if that fails
+   *
+   * @param dietaryPreference the dietary preference
+   * @param entry the listing being refreshed
+   */
+  private void refresh(String dietaryPreference, Entry entry) {
+    try {
+      fetches.execute(dietaryPreference, () -> put(dietaryPreference, loader.load(dietaryPreference)));
+    } catch (IOException | RuntimeException e) {
+      // the kept listing is used until it expires, and a later use tries again
+      e.printStackTrace();
+      entry.refreshing.set(false);
+    }
+  }
+
+  /**
+   * A listing and when it was fetched
+   */
+  private static final class Entry {
+    private final List<MessagingFoodBox> foodBoxes;
+    private final long fetched;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private Entry(List<MessagingFoodBox> foodBoxes, long fetched) {
+      this.foodBoxes = foodBoxes;
+      this.fetched = fetched;
+    }
+  }
+}
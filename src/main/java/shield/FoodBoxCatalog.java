@@ -0,0 +1,138 @@
+/**
+ * Class for storing food boxes by id
+ */
+
+package shield;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import shield.ShieldingIndividualClientImp.MessagingContents;
+import shield.ShieldingIndividualClientImp.MessagingFoodBox;
+
+/**
+ * Holds the food boxes a client has been shown, indexed by box id and by item id within each
+ * box, so looking up a box or one of its items takes constant time however many are held.
+ *
+ * Boxes are held as copies, since a picked box's quantities are changed in place, grouped by the
+ * dietary preference they were listed for. Showing a dietary preference's listing replaces the
+ * boxes held for it, so the catalog never holds more than the latest listing of each. Showing the
+ * same listing again changes nothing, so changed quantities are kept until the listing itself
+ * changes.
+ */
+public class FoodBoxCatalog {
+
+  /**
+   * Private variables created:
+   *
+   * The food boxes held, by id, in the order they were shown
+   * The items of each food box held, by box id and then item id
+   * The listing last shown for each dietary preference, and the ids of the boxes held from it
+   */
+  private final Map<Integer, MessagingFoodBox> foodBoxes = new LinkedHashMap<>();
+  private final Map<Integer, Map<Integer, MessagingContents>> items = new HashMap<>();
+  private final Map<String, List<MessagingFoodBox>> listings = new HashMap<>();
+  private final Map<String, List<Integer>> listingIds = new HashMap<>();
+
+  /**
+   * Holds copies of a listing's food boxes in place of those held for the same dietary preference
+   *
+   * @param dietaryPreference the dietary preference the boxes were listed for
+   * @param listing the food boxes listed, which are not changed
+   */
+  public void show(String dietaryPreference, List<MessagingFoodBox> listing) {
+    if (listings.get(dietaryPreference) == listing) {
+      return;
+    }
+
+    List<Integer> oldIds = listingIds.remove(dietaryPreference);
+    if (oldIds != null) {
+      for (int id : oldIds) {
+        foodBoxes.remove(id);
+        items.remove(id);
+      }
+    }
+
+    List<Integer> ids = new ArrayList<>(listing.size());
+    for (MessagingFoodBox foodBox : listing) {
+      if (foodBoxes.containsKey(foodBox.id)) {
+        continue;
+      }
+      MessagingFoodBox copy = copyFoodBox(foodBox);
+      foodBoxes.put(copy.id, copy);
+
+      Map<Integer, MessagingContents> boxItems = new HashMap<>();
+      for (MessagingContents item : copy.contents) {
+        boxItems.putIfAbsent(item.id, item);
+      }
+      items.put(copy.id, boxItems);
+      ids.add(copy.id);
+    }
+    listings.put(dietaryPreference, listing);
+    listingIds.put(dietaryPreference, ids);
+  }
+
+  /**
+   * Returns a food box
+   *
+   * @param foodBoxId the food box id
+   * @return the food box, or null if none with that id is held
+   */
+  public MessagingFoodBox get(int foodBoxId) { return foodBoxes.get(foodBoxId); }
+
+  /**
+   * Returns an item in a food box
+   *
+   * @param foodBoxId the food box id
+   * @param itemId the item id
+   * @return the item, or null if the box is not held or does not contain the item
+   */
+  public MessagingContents getItem(int foodBoxId, int itemId) {
+    Map<Integer, MessagingContents> boxItems = items.get(foodBoxId);
+    return boxItems == null ? null : boxItems.get(itemId);
+  }
+
+  /**
+   * Returns the food boxes held
+   *
+   * @return the food boxes in the order they were shown
+   */
+  public Collection<MessagingFoodBox> getFoodBoxes() { return Collections.unmodifiableCollection(foodBoxes.values()); }
+
+  /**
+   * Returns the number of food boxes held
+   *
+   * @return the number of food boxes held
+   */
+  public int size() { return foodBoxes.size(); }
+
+  /**
+   * Helper for copying a food box and its contents
+   *
+   * @param foodBox the food box to copy
+   * @return a copy whose contents can be changed without affecting the original
+   */
+  private static MessagingFoodBox copyFoodBox(MessagingFoodBox foodBox) {
+    MessagingFoodBox copy = new MessagingFoodBox();
+    copy.delivered_by = foodBox.delivered_by;
+    copy.diet = foodBox.diet;
+    copy.id = foodBox.id;
+    copy.name = foodBox.name;
+    copy.contents = new ArrayList<>(foodBox.contents == null ? 0 : foodBox.contents.size());
+    if (foodBox.contents != null) {
+      for (MessagingContents item : foodBox.contents) {
+        MessagingContents itemCopy = new MessagingContents();
+        itemCopy.id = item.id;
+        itemCopy.name = item.name;
+        itemCopy.quantity = item.quantity;
+        copy.contents.add(itemCopy);
+      }
+    }
+    return copy;
+  }
+}
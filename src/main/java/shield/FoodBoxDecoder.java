@@ -0,0 +1,29 @@
+/**
+ * Class for decoding the server's list of food boxes
+ */
+
+package shield;
+
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.util.List;
+
+import shield.ShieldingIndividualClientImp.MessagingFoodBox;
+
+/**
+ * Streams a /showFoodBox response into MessagingFoodBox objects field by field
+ * using the MessagingCodecs adapters, without holding the response as a String
+ */
+public class FoodBoxDecoder implements ResponseDecoder<List<MessagingFoodBox>> {
+
+  /**
+   * Shared instance; the decoder holds no state
+   */
+  public static final FoodBoxDecoder INSTANCE = new FoodBoxDecoder();
+
+  @Override
+  public List<MessagingFoodBox> decode(JsonReader reader) throws IOException {
+    return MessagingCodecs.FOOD_BOX_LIST.read(reader);
+  }
+}
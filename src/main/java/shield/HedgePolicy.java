@@ -0,0 +1,82 @@
+/**
+ * Class for deciding when a slow read is worth sending again
+ */
+
+package shield;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * When idempotent GETs are hedged: if no reply has arrived within a percentile of the recent reply
+ * latencies of the endpoint, and at least a minimum delay, a second copy of the request is sent and
+ * whichever reply comes first is used. Nothing is hedged until enough latencies are known.
+ */
+public class HedgePolicy {
+
+  /**
+   * The policy that never hedges
+   */
+  public static final HedgePolicy OFF = new HedgePolicy(false, 95, 20, 5);
+
+  private final boolean enabled;
+  private final double percentile;
+  private final int minSamples;
+  private final long minDelayMillis;
+
+  /**
+   * Class constructor
+   *
+   * @param enabled whether reads are hedged at all
+   * @param percentile the percentile of recent latencies to wait before hedging, from 0 to 100
+   * @param minSamples how many latencies must be known before a read is hedged
+   * @param minDelayMillis the least time to wait before hedging
+   */
+  public HedgePolicy(boolean enabled, double percentile, int minSamples, long minDelayMillis) {
+    this.enabled = enabled;
+    this.percentile = percentile;
+    this.minSamples = Math.max(1, minSamples);
+    this.minDelayMillis = Math.max(0, minDelayMillis);
+  }
+
+  /**
+   * Reads the policy from client.cfg
+   *
+   * @param config the client configuration
+   * @return the policy set by the hedge.* settings
+   */
+  public static HedgePolicy fromConfig(ClientConfig config) {
+    return new HedgePolicy(
+        config.getBoolean("hedge.enabled", false),
+        config.getInt("hedge.percentile", 95),
+        config.getInt("hedge.minSamples", 20),
+        config.getLong("hedge.minDelayMillis", 5));
+  }
+
+  /**
+   * Returns whether reads are hedged
+   *
+   * @return true if reads are hedged
+   */
+  public boolean isEnabled() { return enabled; }
+
+  /**
+   * Returns how many latencies must be known before a read is hedged
+   *
+   * @return the sample count
+   */
+  public int getMinSamples() { return minSamples; }
+
+  /**
+   * Picks how long to wait for a reply before sending a second copy of a request
+   *
+   * @param latency the recent reply latencies of the endpoint
+   * @return nanoseconds to wait, or -1 if too few latencies are known to hedge
+   */
+  public long delayNanos(LatencyTracker latency) {
+    long delay = latency.percentile(percentile);
+    if (delay < 0) {
+      return -1;
+    }
+    return Math.max(delay, TimeUnit.MILLISECONDS.toNanos(minDelayMillis));
+  }
+}
@@ -0,0 +1,690 @@
+/**
+ * Class for keeping HTTP connections to the server open between requests
+ */
+
+package shield;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of persistent HTTP/1.1 connections.
+ *
+ * A connection is handed back to the pool once its response body has been read
+ * to the end, so the next request to the same host and port reuses the socket
+ * instead of opening a new one. At most poolSize idle connections are kept per
+ * host and port, and connections left idle for longer than the idle timeout are
+ * closed by a background evictor. An idle connection is checked, without waiting,
+ * before it is reused, so one the server has since closed is not sent a request
+ * that could not then be safely resent.
+ */
+public class HttpConnectionPool implements Closeable {
+
+  /**
+   * A response from the server whose body is read straight from the connection.
+   *
+   * Closing the response hands the connection back to the pool if the body was
+   * read to the end, and closes the connection otherwise.
+   */
+  public static final class Response implements Closeable {
+    private final int statusCode;
+    private final Map<String, String> headers;
+    private final InputStream body;
+
+    private Response(int statusCode, Map<String, String> headers, InputStream body) {
+      this.statusCode = statusCode;
+      this.headers = headers;
+      this.body = body;
+    }
+
+    /**
+     * Returns the HTTP status code of the response
+     *
+     * @return the HTTP status code
+     */
+    public int getStatusCode() { return statusCode; }
+
+    /**
+     * Returns the value of a response header
+     *
+     * @param name the header name, in any case
+     * @return the header value or null if the header was not sent
+     */
+    public String getHeader(String name) { return headers.get(name.toLowerCase(Locale.ROOT)); }
+
+    /**
+     * Returns the response body
+     *
+     * @return stream over the response body
+     */
+    public InputStream getBody() { return body; }
+
+    /**
+     * Reads and discards the rest of the body so the connection can be reused
+     *
+     * @throws IOException an input/output error occurred
+     */
+    public void discardBody() throws IOException {
+      byte[] buffer = new byte[4096];
+      while (body.read(buffer) != -1) {
+        // skip
+      }
+    }
+
+    @Override
+    public void close() throws IOException { body.close(); }
+  }
+
+  /**
+   * An open socket to the server together with its buffered streams
+   */
+  private static final class Connection {
+    final String route;
+    final SocketChannel channel;
+    final Socket socket;
+    final InputStream in;
+    final OutputStream out;
+    long lastUsed;
+
+    Connection(String route, SocketChannel channel) throws IOException {
+      this.route = route;
+      this.channel = channel;
+      this.socket = channel.socket();
+      this.in = new BufferedInputStream(socket.getInputStream());
+      this.out = new BufferedOutputStream(socket.getOutputStream());
+    }
+
+    /**
+     * Checks, without waiting, whether an idle connection has been closed by the server or sent anything
+     * it was not asked for, either of which means it cannot be reused
+     *
+     * @return true if the connection must not be reused
+     */
+    boolean isStale() {
+      try {
+        if (in.available() > 0) {
+          return true;
+        }
+        synchronized (channel.blockingLock()) {
+          channel.configureBlocking(false);
+          try {
+            return channel.read(ByteBuffer.allocate(1)) != 0;
+          } finally {
+            channel.configureBlocking(true);
+          }
+        }
+      } catch (IOException e) {
+        return true;
+      }
+    }
+
+    void close() {
+      try {
+        socket.close();
+      } catch (IOException e) {
+        // nothing more to do with a broken connection
+      }
+    }
+  }
+
+  /**
+   * Thrown when a reused connection turns out to have been closed by the server
+   * before the request could have been handled, in which case the request is safe to resend
+   */
+  private static final class StaleConnectionException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    StaleConnectionException(IOException cause) { super(cause); }
+  }
+
+  /**
+   * Private variables created:
+   *
+   * The most idle connections kept per host and port
+   * How long a connection may stay idle before it is closed
+   * How long to wait for a connection to open and for a response, by default (0 waits forever)
+   * The idle connections for each host and port, most recently used first
+   * The background thread closing expired idle connections
+   * Counters of connections opened and reused
+   */
+  private final int poolSize;
+  private final long idleTimeoutNanos;
+  private final int connectTimeoutMillis;
+  private final int readTimeoutMillis;
+  private final Map<String, Deque<Connection>> idle = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService evictor;
+  private final AtomicLong opened = new AtomicLong();
+  private final AtomicLong reused = new AtomicLong();
+  private volatile boolean closed;
+
+  /**
+   * Class constructor
+   *
+   * @param poolSize the most idle connections kept open per host and port
+   * @param idleTimeoutMillis how long an idle connection is kept, or 0 to keep it until the server closes it
+   */
+  public HttpConnectionPool(int poolSize, long idleTimeoutMillis) {
+    this(poolSize, idleTimeoutMillis, 0, 0);
+  }
+
+  /**
+   * Class constructor
+   *
+   * @param poolSize the most idle connections kept open per host and port
+   * @param idleTimeoutMillis how long an idle connection is kept, or 0 to keep it until the server closes it
+   * @param connectTimeoutMillis how long to wait for a connection to open, or 0 to wait forever
+   * @param readTimeoutMillis how long to wait for each read of a response by default, or 0 to wait forever
+   */
+  public HttpConnectionPool(int poolSize, long idleTimeoutMillis, int connectTimeoutMillis, int readTimeoutMillis) {
+    this.poolSize = poolSize;
+    this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+    this.connectTimeoutMillis = connectTimeoutMillis;
+    this.readTimeoutMillis = readTimeoutMillis;
+
+    if (idleTimeoutMillis > 0) {
+      evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "http-pool-evictor");
+        thread.setDaemon(true);
+        return thread;
+      });
+      long period = Math.max(idleTimeoutMillis / 2, 100);
+      evictor.scheduleAtFixedRate(this::evictIdleConnections, period, period, TimeUnit.MILLISECONDS);
+    } else {
+      evictor = null;
+    }
+  }
+
+  /**
+   * Sends a request over a pooled connection and returns once the response headers have arrived
+   *
+   * @param method the HTTP method
+   * @param url the http URL to send the request to
+   * @param headers extra request headers
+   * @param body the request body, or null for none
+   * @return the response, which must be closed by the caller
+   * @throws IOException an input/output error occurred
+   */
+  public Response execute(String method, URL url, Map<String, String> headers, byte[] body) throws IOException {
+    return execute(method, url, headers, body, body == null ? 0 : body.length);
+  }
+
+  /**
+   * Sends a request whose body is the first bodyLength bytes of a (possibly larger, reused) buffer
+   *
+   * @param method the HTTP method
+   * @param url the http URL to send the request to
+   * @param headers extra request headers
+   * @param body buffer holding the request body, or null for none
+   * @param bodyLength the number of bytes of body to send
+   * @return the response, which must be closed by the caller
+   * @throws IOException an input/output error occurred
+   */
+  public Response execute(String method, URL url, Map<String, String> headers, byte[] body, int bodyLength)
+      throws IOException {
+    return execute(method, url, headers, body, bodyLength, readTimeoutMillis);
+  }
+
+  /**
+   * Sends a request with its own read timeout, used for calls with a deadline
+   *
+   * @param method the HTTP method
+   * @param url the http URL to send the request to
+   * @param headers extra request headers
+   * @param body buffer holding the request body, or null for none
+   * @param bodyLength the number of bytes of body to send
+   * @param timeoutMillis how long to wait for each read of the response (and at most for the connection
+   *                      to open), or 0 to wait forever
+   * @return the response, which must be closed by the caller
+   * @throws IOException an input/output error occurred, including a java.net.SocketTimeoutException
+   */
+  public Response execute(String method, URL url, Map<String, String> headers, byte[] body, int bodyLength,
+                          int timeoutMillis) throws IOException {
+    return execute(method, url, headers, body, bodyLength, timeoutMillis, false);
+  }
+
+  /**
+   * Sends a request with its own read timeout, saying whether it may safely be sent twice
+   *
+   * @param method the HTTP method
+   * @param url the http URL to send the request to
+   * @param headers extra request headers
+   * @param body buffer holding the request body, or null for none
+   * @param bodyLength the number of bytes of body to send
+   * @param timeoutMillis how long to wait for each read of the response (and at most for the connection
+   *                      to open), or 0 to wait forever
+   * @param idempotent whether the request changes nothing on the server, so it is resent on a fresh
+   *                   connection if a reused one is dropped after sending it
+   * @return the response, which must be closed by the caller
+   * @throws IOException an input/output error occurred, including a java.net.SocketTimeoutException
+   */
+  public Response execute(String method, URL url, Map<String, String> headers, byte[] body, int bodyLength,
+                          int timeoutMillis, boolean idempotent) throws IOException {
+    if (closed) {
+      throw new IOException("Connection pool is closed");
+    }
+
+    String route = route(url);
+
+    // try the most recently used idle connection first, resending on a fresh one if the server already dropped it
+    // and the request cannot have been handled twice
+    Connection conn = acquireIdle(route);
+    if (conn != null) {
+      try {
+        Response response = exchange(conn, method, url, headers, body, bodyLength, timeoutMillis, true, idempotent);
+        reused.incrementAndGet();
+        return response;
+      } catch (StaleConnectionException e) {
+        conn.close();
+      } catch (IOException e) {
+        conn.close();
+        throw e;
+      }
+    }
+
+    conn = connect(url, route, timeoutMillis);
+    try {
+      return exchange(conn, method, url, headers, body, bodyLength, timeoutMillis, false, idempotent);
+    } catch (StaleConnectionException e) {
+      conn.close();
+      throw (IOException) e.getCause();
+    } catch (IOException e) {
+      conn.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the number of connections opened so far
+   *
+   * @return number of connections opened
+   */
+  public long getOpenedConnections() { return opened.get(); }
+
+  /**
+   * Returns the number of requests sent over an already open connection
+   *
+   * @return number of reused connections
+   */
+  public long getReusedConnections() { return reused.get(); }
+
+  /**
+   * Returns the number of connections currently idle in the pool
+   *
+   * @return number of idle connections
+   */
+  public int getIdleConnections() {
+    int count = 0;
+    for (Deque<Connection> connections : idle.values()) {
+      synchronized (connections) {
+        count += connections.size();
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Closes every idle connection and stops the evictor
+   */
+  @Override
+  public void close() {
+    closed = true;
+    if (evictor != null) {
+      evictor.shutdownNow();
+    }
+    for (Deque<Connection> connections : idle.values()) {
+      synchronized (connections) {
+        for (Connection conn : connections) {
+          conn.close();
+        }
+        connections.clear();
+      }
+    }
+  }
+
+  private static String route(URL url) {
+    int port = (url.getPort() == -1) ? url.getDefaultPort() : url.getPort();
+    return url.getHost().toLowerCase(Locale.ROOT) + ":" + port;
+  }
+
+  private Connection connect(URL url, String route, int timeoutMillis) throws IOException {
+    int port = (url.getPort() == -1) ? url.getDefaultPort() : url.getPort();
+    SocketChannel channel = SocketChannel.open();
+    Socket socket = channel.socket();
+    try {
+      socket.setTcpNoDelay(true);
+      socket.setKeepAlive(true);
+      int connectTimeout = connectTimeoutMillis;
+      if (timeoutMillis > 0 && (connectTimeout == 0 || timeoutMillis < connectTimeout)) {
+        connectTimeout = timeoutMillis;
+      }
+      socket.connect(new InetSocketAddress(url.getHost(), port), connectTimeout);
+      opened.incrementAndGet();
+      return new Connection(route, channel);
+    } catch (IOException e) {
+      socket.close();
+      throw e;
+    }
+  }
+
+  private Connection acquireIdle(String route) {
+    Deque<Connection> connections = idle.get(route);
+    if (connections == null) {
+      return null;
+    }
+
+    long now = System.nanoTime();
+    synchronized (connections) {
+      Connection conn;
+      while ((conn = connections.pollFirst()) != null) {
+        if (!conn.socket.isClosed() && !isExpired(conn, now) && !conn.isStale()) {
+          return conn;
+        }
+        conn.close();
+      }
+    }
+    return null;
+  }
+
+  private void release(Connection conn) {
+    if (closed) {
+      conn.close();
+      return;
+    }
+
+    conn.lastUsed = System.nanoTime();
+    Deque<Connection> connections = idle.computeIfAbsent(conn.route, route -> new ArrayDeque<>());
+    synchronized (connections) {
+      if (connections.size() < poolSize) {
+        connections.offerFirst(conn);
+        return;
+      }
+    }
+    conn.close();
+  }
+
+  private boolean isExpired(Connection conn, long now) {
+    return idleTimeoutNanos > 0 && now - conn.lastUsed > idleTimeoutNanos;
+  }
+
+  private void evictIdleConnections() {
+    long now = System.nanoTime();
+    for (Deque<Connection> connections : idle.values()) {
+      synchronized (connections) {
+        // oldest connections sit at the back of the deque
+        Iterator<Connection> it = connections.descendingIterator();
+        while (it.hasNext()) {
+          Connection conn = it.next();
+          if (!isExpired(conn, now)) {
+            break;
+          }
+          it.remove();
+          conn.close();
+        }
+      }
+    }
+  }
+
+  private Response exchange(Connection conn, String method, URL url, Map<String, String> headers,
+                            byte[] body, int bodyLength, int timeoutMillis, boolean reusedConnection,
+                            boolean idempotent) throws IOException {
+
+    // write request line, headers and body
+    try {
+      conn.socket.setSoTimeout(timeoutMillis);
+      writeRequest(conn.out, method, url, headers, body, bodyLength);
+    } catch (IOException e) {
+      if (reusedConnection) {
+        throw new StaleConnectionException(e);
+      }
+      throw e;
+    }
+
+    // wait for the first byte of the response
+    int first;
+    try {
+      first = conn.in.read();
+      if (first == -1) {
+        throw new EOFException("Server closed connection without a response");
+      }
+    } catch (SocketTimeoutException e) {
+      throw e;
+    } catch (IOException e) {
+      // the server may have handled a request it was sent before dropping the connection, so only a request
+      // the caller says changes nothing is resent; many GETs here, such as /cancelOrder, change state too
+      if (reusedConnection && idempotent) {
+        throw new StaleConnectionException(e);
+      }
+      throw e;
+    }
+
+    // read status line and headers
+    String statusLine = (char) first + readLine(conn.in);
+    String[] statusParts = statusLine.split(" ", 3);
+    if (statusParts.length < 2 || !statusParts[0].startsWith("HTTP/")) {
+      throw new IOException("Malformed HTTP status line: " + statusLine);
+    }
+    int statusCode;
+    try {
+      statusCode = Integer.parseInt(statusParts[1]);
+    } catch (NumberFormatException e) {
+      throw new IOException("Malformed HTTP status line: " + statusLine);
+    }
+
+    Map<String, String> responseHeaders = new HashMap<>();
+    String line;
+    while (!(line = readLine(conn.in)).isEmpty()) {
+      int colon = line.indexOf(':');
+      if (colon > 0) {
+        responseHeaders.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT),
+                line.substring(colon + 1).trim());
+      }
+    }
+
+    // work out whether the connection may be reused and how the body is delimited
+    String connectionHeader = responseHeaders.getOrDefault("connection", "").toLowerCase(Locale.ROOT);
+    boolean keepAlive = statusParts[0].equals("HTTP/1.0")
+            ? connectionHeader.contains("keep-alive")
+            : !connectionHeader.contains("close");
+
+    boolean chunked = responseHeaders.getOrDefault("transfer-encoding", "").toLowerCase(Locale.ROOT)
+            .contains("chunked");
+    long length = -1;
+    if (method.equals("HEAD") || statusCode == 204 || statusCode == 304 || (statusCode >= 100 && statusCode < 200)) {
+      length = 0;
+    } else if (!chunked && responseHeaders.containsKey("content-length")) {
+      try {
+        length = Long.parseLong(responseHeaders.get("content-length"));
+      } catch (NumberFormatException e) {
+        throw new IOException("Malformed Content-Length: " + responseHeaders.get("content-length"));
+      }
+    }
+    if (!chunked && length < 0) {
+      // body runs until the server closes the connection
+      keepAlive = false;
+    }
+
+    return new Response(statusCode, responseHeaders, new ResponseBody(conn, chunked, length, keepAlive));
+  }
+
+  private static void writeRequest(OutputStream out, String method, URL url, Map<String, String> headers,
+                                   byte[] body, int bodyLength) throws IOException {
+    String target = url.getFile().isEmpty() ? "/" : url.getFile().replace(" ", "%20");
+    StringBuilder head = new StringBuilder(128);
+    head.append(method).append(' ').append(target).append(" HTTP/1.1\r\n");
+    head.append("Host: ").append(url.getHost());
+    if (url.getPort() != -1) {
+      head.append(':').append(url.getPort());
+    }
+    head.append("\r\n");
+    head.append("Connection: keep-alive\r\n");
+    if (headers != null) {
+      for (Map.Entry<String, String> header : headers.entrySet()) {
+        head.append(header.getKey()).append(": ").append(header.getValue()).append("\r\n");
+      }
+    }
+    if (body != null) {
+      head.append("Content-Length: ").append(bodyLength).append("\r\n");
+    }
+    head.append("\r\n");
+
+    out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+    if (body != null) {
+      out.write(body, 0, bodyLength);
+    }
+    out.flush();
+  }
+
+  private static String readLine(InputStream in) throws IOException {
+    ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+    int b;
+    while ((b = in.read()) != -1) {
+      if (b == '\n') {
+        break;
+      }
+      if (b != '\r') {
+        line.write(b);
+      }
+    }
+    if (b == -1) {
+      throw new EOFException("Connection closed in the middle of a response");
+    }
+    return line.toString("ISO-8859-1");
+  }
+
+  /**
+   * Stream over a response body that hands its connection back to the pool once fully read
+   */
+  private final class ResponseBody extends InputStream {
+    private final Connection conn;
+    private final boolean chunked;
+    private final boolean reusable;
+    private long remaining;
+    private boolean firstChunk = true;
+    private boolean eof;
+    private boolean released;
+
+    ResponseBody(Connection conn, boolean chunked, long length, boolean reusable) {
+      this.conn = conn;
+      this.chunked = chunked;
+      this.reusable = reusable;
+      this.remaining = chunked ? 0 : length;
+      this.eof = !chunked && length == 0;
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] single = new byte[1];
+      int n = read(single, 0, 1);
+      return (n == -1) ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] buffer, int off, int len) throws IOException {
+      if (released) {
+        throw new IOException("Response body already closed");
+      }
+      if (eof) {
+        return -1;
+      }
+      if (len == 0) {
+        return 0;
+      }
+      if (chunked && remaining == 0) {
+        nextChunk();
+        if (eof) {
+          return -1;
+        }
+      }
+
+      int toRead = (remaining < 0) ? len : (int) Math.min(len, remaining);
+      int n = conn.in.read(buffer, off, toRead);
+      if (n == -1) {
+        if (remaining < 0) {
+          eof = true;
+          return -1;
+        }
+        throw new EOFException("Connection closed before the end of the response body");
+      }
+      if (remaining > 0) {
+        remaining -= n;
+        if (!chunked && remaining == 0) {
+          eof = true;
+        }
+      }
+      return n;
+    }
+
+    @Override
+    public int available() throws IOException {
+      if (released || eof) {
+        return 0;
+      }
+      int buffered = conn.in.available();
+      return (remaining < 0) ? buffered : (int) Math.min(buffered, remaining);
+    }
+
+    private void nextChunk() throws IOException {
+      if (!firstChunk) {
+        // CRLF closing the previous chunk
+        readLine(conn.in);
+      }
+      firstChunk = false;
+
+      String sizeLine = readLine(conn.in);
+      int extension = sizeLine.indexOf(';');
+      if (extension >= 0) {
+        sizeLine = sizeLine.substring(0, extension);
+      }
+      try {
+        remaining = Long.parseLong(sizeLine.trim(), 16);
+      } catch (NumberFormatException e) {
+        throw new IOException("Malformed chunk size: " + sizeLine);
+      }
+
+      if (remaining == 0) {
+        // skip trailers up to the blank line ending the body
+        while (!readLine(conn.in).isEmpty()) {
+          // skip
+        }
+        eof = true;
+      }
+    }
+
+    @Override
+    public void close() {
+      if (released) {
+        return;
+      }
+      released = true;
+      if (eof && reusable) {
+        release(conn);
+      } else {
+        conn.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,39 @@
+/**
+ * Class for HTTP replies other than 200 OK
+ */
+
+package shield;
+
+/**
+ * Thrown by ClientIO when the server answers with a status other than 200 OK
+ */
+public class HttpStatusException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final int statusCode;
+
+  /**
+   * Class constructor
+   *
+   * @param statusCode the HTTP status code received
+   */
+  public HttpStatusException(int statusCode) {
+    super("Failed with HTTP code : " + statusCode);
+    this.statusCode = statusCode;
+  }
+
+  /**
+   * Returns the HTTP status code received
+   *
+   * @return the status code
+   */
+  public int getStatusCode() { return statusCode; }
+
+  /**
+   * Returns whether the status means the server failed or was overloaded, rather than the request being wrong
+   *
+   * @return true for 5xx and 429 replies
+   */
+  public boolean isServerFailure() { return statusCode >= 500 || statusCode == 429; }
+}
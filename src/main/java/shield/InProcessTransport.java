@@ -0,0 +1,111 @@
+/**
+ * Class for reaching handlers in the same JVM without sockets
+ */
+
+package shield;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transport that calls RequestHandler objects directly, keyed by endpoint path.
+ *
+ * The scheme, host and port of each URL are ignored. Replies have their line breaks
+ * dropped as ClientIO does, and a path with no handler is answered with a 404
+ * HttpStatusException, so clients behave as they would against a real server.
+ */
+public class InProcessTransport implements Transport {
+
+  private final Map<String, RequestHandler> handlers = new ConcurrentHashMap<>();
+  private final AtomicLong requests = new AtomicLong();
+
+  /**
+   * Adds the handler for an endpoint path
+   *
+   * @param path the endpoint path, e.g. /requestStatus
+   * @param handler the handler serving it
+   * @return this transport
+   */
+  public InProcessTransport register(String path, RequestHandler handler) {
+    handlers.put(path, handler);
+    return this;
+  }
+
+  @Override
+  public String doGETRequest(String endpoint) throws RuntimeException, IOException {
+    return dispatch("GET", endpoint, null);
+  }
+
+  @Override
+  public String doPOSTRequest(String endpoint, String data) throws RuntimeException, IOException {
+    return dispatch("POST", endpoint, data);
+  }
+
+  /**
+   * Returns the number of requests dispatched so far
+   *
+   * @return number of requests
+   */
+  public long getRequestCount() { return requests.get(); }
+
+  private String dispatch(String method, String endpoint, String body) throws IOException {
+    requests.incrementAndGet();
+
+    // skip scheme, host and port
+    int start = endpoint.indexOf("://");
+    start = start < 0 ? 0 : endpoint.indexOf('/', start + 3);
+    if (start < 0) {
+      start = endpoint.length();
+    }
+    int query = endpoint.indexOf('?', start);
+    String path = query < 0 ? endpoint.substring(start) : endpoint.substring(start, query);
+
+    RequestHandler handler = handlers.get(path.isEmpty() ? "/" : path);
+    if (handler == null) {
+      throw new HttpStatusException(404);
+    }
+
+    String reply = handler.handle(method, query < 0 ? new HashMap<>() : parseQuery(endpoint.substring(query + 1)),
+        body);
+    if (reply.indexOf('\n') < 0 && reply.indexOf('\r') < 0) {
+      return reply;
+    }
+    return reply.replace("\r", "").replace("\n", "");
+  }
+
+  /**
+   * Decodes a query string into its parameters
+   *
+   * @param query the query string, without the leading ?
+   * @return the parameters by name
+   */
+  static Map<String, String> parseQuery(String query) {
+    Map<String, String> parameters = new HashMap<>();
+    for (String pair : query.split("&")) {
+      if (pair.isEmpty()) {
+        continue;
+      }
+      int equals = pair.indexOf('=');
+      if (equals < 0) {
+        parameters.put(decode(pair), "");
+      } else {
+        parameters.put(decode(pair.substring(0, equals)), decode(pair.substring(equals + 1)));
+      }
+    }
+    return parameters;
+  }
+
+  private static String decode(String text) {
+    try {
+      return URLDecoder.decode(text, "UTF-8");
+    } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+      // leave malformed escapes as they are, as a lenient server would
+      return text;
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/**
+ * Class for recording latency distributions
+ */
+
+package shield;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts latencies in HDR-style log-linear buckets, so every recorded latency is kept to about
+ * three significant digits in a fixed amount of memory however many are recorded.
+ *
+ * Values below 2048 get a bucket each; above that each doubling of the value range is split into
+ * 1024 equal buckets. Recording is lock-free and safe from any number of threads.
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 11;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT / 2;
+
+  /**
+   * Private variables created:
+   *
+   * The count of latencies in each bucket
+   * The number of latencies recorded, and the largest of them
+   */
+  private final AtomicLongArray counts;
+  private final AtomicLong totalCount = new AtomicLong();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Class constructor
+   *
+   * @param highestTrackableValue the largest latency that can be recorded; larger ones are clamped to it
+   */
+  public LatencyHistogram(long highestTrackableValue) {
+    if (highestTrackableValue < SUB_BUCKET_COUNT) {
+      highestTrackableValue = SUB_BUCKET_COUNT;
+    }
+    this.counts = new AtomicLongArray(index(highestTrackableValue) + 1);
+  }
+
+  /**
+   * Records a latency
+   *
+   * @param value the latency, which is treated as 0 if negative
+   */
+  public void record(long value) {
+    value = Math.max(0, value);
+    int index = Math.min(index(value), counts.length() - 1);
+    counts.incrementAndGet(index);
+    totalCount.incrementAndGet();
+    max.accumulateAndGet(value, Math::max);
+  }
+
+  /**
+   * Returns the number of latencies recorded
+   *
+   * @return the number of latencies recorded
+   */
+  public long getTotalCount() { return totalCount.get(); }
+
+  /**
+   * Returns the largest latency recorded
+   *
+   * @return the largest latency recorded, or 0 if none have been
+   */
+  public long getMax() { return max.get(); }
+
+  /**
+   * Returns a percentile of the recorded latencies
+   *
+   * @param percentile the percentile wanted, from 0 to 100
+   * @return the highest latency in the bucket holding the percentile, never more than the largest
+   * latency recorded, or 0 if none have been recorded
+   */
+  public long percentile(double percentile) {
+    long total = totalCount.get();
+    if (total == 0) {
+      return 0;
+    }
+
+    long wanted = Math.max(1, (long) Math.ceil(Math.min(100, percentile) / 100.0 * total));
+    long seen = 0;
+    for (int i = 0; i < counts.length(); i++) {
+      seen += counts.get(i);
+      if (seen >= wanted) {
+        return Math.min(highestEquivalentValue(i), max.get());
+      }
+    }
+    return max.get();
+  }
+
+  /**
+   * Prints the usual percentiles of the recorded latencies on one line
+   *
+   * @param out where to print
+   * @param label the name printed at the start of the line
+   * @param unitNanos the number of nanoseconds in one recorded unit, so latencies are printed in milliseconds
+   */
+  public void print(PrintStream out, String label, long unitNanos) {
+    double scale = unitNanos / 1e6;
+    out.printf("%-10s %9d  p50 %9.3f  p90 %9.3f  p99 %9.3f  p99.9 %9.3f  p99.99 %9.3f  max %9.3f ms%n",
+        label, getTotalCount(), percentile(50) * scale, percentile(90) * scale, percentile(99) * scale,
+        percentile(99.9) * scale, percentile(99.99) * scale, getMax() * scale);
+  }
+
+  /**
+   * Finds the bucket a value is counted in
+   *
+   * @param value a non-negative value
+   * @return the index of its bucket
+   */
+  private static int index(long value) {
+    int bucket = Math.max(0, 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+    int subBucket = (int) (value >>> bucket);
+    return bucket * SUB_BUCKET_HALF + subBucket;
+  }
+
+  /**
+   * Finds the largest value counted in a bucket
+   *
+   * @param index the index of the bucket
+   * @return the largest value it counts
+   */
+  private static long highestEquivalentValue(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int bucket = (index - SUB_BUCKET_HALF) / SUB_BUCKET_HALF;
+    long subBucket = index - (long) bucket * SUB_BUCKET_HALF;
+    return ((subBucket + 1) << bucket) - 1;
+  }
+}
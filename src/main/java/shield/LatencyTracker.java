@@ -0,0 +1,62 @@
+/**
+ * Class for tracking recent request latencies
+ */
+
+package shield;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the latencies of the most recent requests to an endpoint and reports percentiles of them
+ */
+public class LatencyTracker {
+
+  private final long[] samples;
+  private final int minSamples;
+  private int next;
+  private int count;
+
+  /**
+   * Class constructor
+   *
+   * @param capacity how many of the most recent latencies are kept
+   * @param minSamples how many latencies must be known before a percentile is reported
+   */
+  public LatencyTracker(int capacity, int minSamples) {
+    this.samples = new long[capacity];
+    this.minSamples = Math.max(1, minSamples);
+  }
+
+  /**
+   * Records the latency of a request
+   *
+   * @param nanos the latency in nanoseconds
+   */
+  public synchronized void record(long nanos) {
+    samples[next] = nanos;
+    next = (next + 1) % samples.length;
+    if (count < samples.length) {
+      count++;
+    }
+  }
+
+  /**
+   * Returns a percentile of the recent latencies
+   *
+   * @param percentile the percentile wanted, from 0 to 100
+   * @return the latency in nanoseconds, or -1 if too few latencies have been recorded
+   */
+  public long percentile(double percentile) {
+    long[] sorted;
+    synchronized (this) {
+      if (count < minSamples) {
+        return -1;
+      }
+      sorted = Arrays.copyOf(samples, count);
+    }
+    Arrays.sort(sorted);
+
+    int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+  }
+}
@@ -0,0 +1,452 @@
+/**
+ * Class for load testing the clients at a fixed request rate
+ */
+
+package shield;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import shield.ShieldingIndividualClientImp.MessagingContents;
+
+/**
+ * Drives simulated shielding individuals, catering companies and supermarkets through the real
+ * client classes at a fixed arrival rate, to find the rate a client JVM saturates at.
+ *
+ * The load is open-loop: request k is due at start + k / rate whether or not earlier requests
+ * have finished, and its response time is measured from when it was due rather than from when a
+ * worker got round to sending it. A client that falls behind therefore shows the queueing delay
+ * its users would see, instead of quietly sending fewer requests (coordinated omission). Service
+ * times, measured from when each request was actually sent, are reported alongside for contrast.
+ *
+ * Each arrival is given to the next simulated user in turn, which makes its next call:
+ * individuals register, place orders and request their status, catering companies register and
+ * move their orders through packed, dispatched and delivered, and supermarkets register, record
+ * orders and update them. The client's placeOrder asks for choices on standard input, so
+ * individuals send the same /placeOrder request through their client's transport and store the
+ * order with setOrder instead.
+ *
+ * Run with 'gradle loadTest', or directly with the arguments
+ * [rate] [seconds] [individuals] [caterers] [supermarkets] [threads] [endpoint],
+ * e.g. 200 30 100 10 10 64, which are also the defaults. Without an endpoint the clients talk to
+ * an in-process stand-in server on the data files in the working directory, so only the client
+ * side is measured.
+ */
+public class LoadGenerator {
+
+  private static final String[] STATUSES = {"packed", "dispatched", "delivered"};
+  private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+  /**
+   * Private variables created:
+   *
+   * The server endpoint and the transport every simulated client sends requests through
+   * The simulated users, taking arrivals in turn
+   * The number that makes this run's CHIs, names and supermarket order numbers unique
+   * The next supermarket order number
+   * Response times by operation and overall, and overall service times
+   * The number of requests sent and the number that failed
+   */
+  private final String endpoint;
+  private final Transport transport;
+  private final List<User> users = new ArrayList<>();
+  private final int salt = ThreadLocalRandom.current().nextInt(10000);
+  private final AtomicInteger nextSupermarketOrder = new AtomicInteger((salt + 1) * 100000);
+  private final Map<String, LatencyHistogram> responseTimes = new ConcurrentHashMap<>();
+  private final LatencyHistogram allResponseTimes = new LatencyHistogram(HIGHEST_TRACKABLE_NANOS);
+  private final LatencyHistogram allServiceTimes = new LatencyHistogram(HIGHEST_TRACKABLE_NANOS);
+  private final AtomicLong sent = new AtomicLong();
+  private final AtomicLong failures = new AtomicLong();
+
+  /**
+   * Class constructor
+   *
+   * @param endpoint the server endpoint to be used
+   * @param transport the transport the simulated clients send requests through
+   * @param individuals the number of shielding individuals to simulate
+   * @param caterers the number of catering companies to simulate
+   * @param supermarkets the number of supermarkets to simulate
+   */
+  public LoadGenerator(String endpoint, Transport transport, int individuals, int caterers, int supermarkets) {
+    this.endpoint = endpoint;
+    this.transport = transport;
+
+    List<Caterer> catererUsers = new ArrayList<>();
+    for (int i = 0; i < caterers; i++) {
+      catererUsers.add(new Caterer(i));
+    }
+    List<Individual> individualUsers = new ArrayList<>();
+    for (int i = 0; i < individuals; i++) {
+      individualUsers.add(new Individual(i, catererUsers.isEmpty() ? null : catererUsers.get(i % caterers)));
+    }
+    List<Supermarket> supermarketUsers = new ArrayList<>();
+    for (int i = 0; i < supermarkets; i++) {
+      supermarketUsers.add(new Supermarket(i, individualUsers));
+    }
+
+    // interleave the three kinds so each gets a steady share of the arrivals
+    int most = Math.max(individuals, Math.max(caterers, supermarkets));
+    for (int i = 0; i < most; i++) {
+      if (i < individuals) users.add(individualUsers.get(i));
+      if (i < caterers) users.add(catererUsers.get(i));
+      if (i < supermarkets) users.add(supermarketUsers.get(i));
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    double rate = args.length > 0 ? Double.parseDouble(args[0]) : 200;
+    int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+    int individuals = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+    int caterers = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+    int supermarkets = args.length > 4 ? Integer.parseInt(args[4]) : 10;
+    int threads = args.length > 5 ? Integer.parseInt(args[5]) : 64;
+
+    String endpoint;
+    Transport transport;
+    if (args.length > 6) {
+      endpoint = args[6];
+      transport = Transport.getDefault();
+    } else {
+      endpoint = "http://localhost:5000";
+      transport = new StandInService(Paths.get(".")).registerWith(new InProcessTransport());
+    }
+
+    PrintStream out = System.out;
+    out.println("Sending " + rate + " requests/s for " + seconds + "s to " + (args.length > 6 ? endpoint
+        : "an in-process stand-in") + " from " + individuals + " individuals, " + caterers + " caterers and "
+        + supermarkets + " supermarkets on " + threads + " threads");
+
+    // the clients report every call on standard output and error, which would swamp the results
+    PrintStream err = System.err;
+    PrintStream discard = new PrintStream(new OutputStream() {
+      @Override
+      public void write(int b) { }
+
+      @Override
+      public void write(byte[] b, int off, int len) { }
+    });
+    System.setOut(discard);
+    System.setErr(discard);
+    LoadGenerator generator = new LoadGenerator(endpoint, transport, individuals, caterers, supermarkets);
+    long elapsed;
+    try {
+      elapsed = generator.run(rate, TimeUnit.SECONDS.toNanos(seconds), threads);
+    } finally {
+      System.setOut(out);
+      System.setErr(err);
+    }
+
+    generator.report(out, elapsed);
+  }
+
+  /**
+   * Sends requests at a fixed rate for a while, then waits for the last of them to finish
+   *
+   * @param rate the number of requests to start each second
+   * @param durationNanos how long to keep starting requests for
+   * @param threads the number of threads sending requests
+   * @return the time from the first request being due to the last one finishing, in nanoseconds
+   */
+  public long run(double rate, long durationNanos, int threads) {
+    ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "load-generator");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    long arrivals = (long) (rate * durationNanos / 1e9);
+    long start = System.nanoTime();
+    for (long k = 0; k < arrivals && !users.isEmpty(); k++) {
+      long due = start + (long) (k * 1e9 / rate);
+      long wait;
+      while ((wait = due - System.nanoTime()) > 0) {
+        LockSupport.parkNanos(wait);
+      }
+
+      User user = users.get((int) (k % users.size()));
+      workers.execute(() -> send(user, due));
+    }
+
+    workers.shutdown();
+    try {
+      while (!workers.awaitTermination(1, TimeUnit.SECONDS)) {
+        // keep waiting, however far behind the workers are
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      workers.shutdownNow();
+    }
+    return System.nanoTime() - start;
+  }
+
+  /**
+   * Makes a user's next call and records how long it took
+   *
+   * @param user the user making the call
+   * @param due when the call should have started
+   */
+  private void send(User user, long due) {
+    String operation;
+    boolean succeeded;
+    long started;
+    long finished;
+
+    // a user makes one call at a time, so waiting for the previous one counts against this one
+    synchronized (user) {
+      started = System.nanoTime();
+      try {
+        succeeded = user.next();
+      } catch (RuntimeException e) {
+        succeeded = false;
+      }
+      finished = System.nanoTime();
+      operation = user.operation;
+    }
+
+    sent.incrementAndGet();
+    if (!succeeded) {
+      failures.incrementAndGet();
+    }
+    responseTimes.computeIfAbsent(operation, name -> new LatencyHistogram(HIGHEST_TRACKABLE_NANOS))
+        .record(finished - due);
+    allResponseTimes.record(finished - due);
+    allServiceTimes.record(finished - started);
+  }
+
+  /**
+   * Prints the throughput achieved and the latency percentiles
+   *
+   * @param out where to print
+   * @param elapsedNanos the time the run took, as returned by run
+   */
+  public void report(PrintStream out, long elapsedNanos) {
+    out.printf("%d requests in %.1fs (%.1f/s), %d failed%n", sent.get(), elapsedNanos / 1e9,
+        sent.get() / (elapsedNanos / 1e9), failures.get());
+    out.println("Response time, from when each request was due (corrected for coordinated omission):");
+    allResponseTimes.print(out, "all", 1);
+    for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(responseTimes).entrySet()) {
+      entry.getValue().print(out, entry.getKey(), 1);
+    }
+    out.println("Service time, from when each request was sent:");
+    allServiceTimes.print(out, "all", 1);
+  }
+
+  /**
+   * Returns the response times by operation
+   *
+   * @return the response time histogram of each operation made, in nanoseconds
+   */
+  public Map<String, LatencyHistogram> getResponseTimes() { return responseTimes; }
+
+  /**
+   * Returns the response times of all operations
+   *
+   * @return the response time histogram, in nanoseconds
+   */
+  public LatencyHistogram getAllResponseTimes() { return allResponseTimes; }
+
+  /**
+   * Returns the number of requests that failed
+   *
+   * @return the number of calls that returned false or threw
+   */
+  public long getFailures() { return failures.get(); }
+
+  /**
+   * A simulated user, which decides its next call from what it has done so far
+   */
+  private abstract static class User {
+
+    /**
+     * The name of the last call made, for reporting
+     */
+    String operation;
+
+    /**
+     * Makes the user's next call
+     *
+     * @return true if the call succeeded
+     */
+    abstract boolean next();
+  }
+
+  /**
+   * A shielding individual, ordering from one catering company
+   */
+  private final class Individual extends User {
+    private final ShieldingIndividualClientImp client = new ShieldingIndividualClientImp(endpoint, transport);
+    private final String CHI;
+    private final Caterer caterer;
+    private int calls;
+
+    Individual(int number, Caterer caterer) {
+      // ddMMyy followed by four digits, small enough for the client's int-based CHI check
+      this.CHI = String.format("%02d%02d%02d%04d", 1 + number % 21, 1 + number / 21 % 12,
+          number / 252 % 100, (salt + number / 25200) % 10000);
+      this.caterer = caterer;
+    }
+
+    @Override
+    boolean next() {
+      if (!client.isRegistered()) {
+        operation = "register";
+        return client.registerShieldingIndividual(CHI);
+      }
+
+      Collection<Integer> orderNumbers = client.getOrderNumbers();
+      if (orderNumbers == null || calls++ % 3 == 0) {
+        return order();
+      }
+
+      int latest = 0;
+      for (int orderNumber : orderNumbers) {
+        latest = orderNumber;
+      }
+      operation = "status";
+      return client.requestOrderStatus(latest);
+    }
+
+    /**
+     * Picks the first food box for no dietary preference and orders it from the caterer
+     */
+    private boolean order() {
+      if (caterer == null || !caterer.client.isRegistered()) {
+        operation = "browse";
+        return client.showFoodBoxes("none") != null;
+      }
+
+      operation = "order";
+      Collection<String> boxIds = client.showFoodBoxes("none");
+      if (boxIds == null || boxIds.isEmpty()) {
+        return false;
+      }
+      int boxId = Integer.parseInt(boxIds.iterator().next());
+
+      ArrayList<MessagingContents> contents = new ArrayList<>();
+      for (int itemId : client.getItemIdsForFoodBox(boxId)) {
+        MessagingContents item = new MessagingContents();
+        item.id = itemId;
+        item.name = client.getItemNameForFoodBox(itemId, boxId);
+        item.quantity = client.getItemQuantityForFoodBox(itemId, boxId);
+        contents.add(item);
+      }
+
+      String request = "/placeOrder?individual_id=" + CHI + "&catering_business_name=" + caterer.client.getName()
+          + "&catering_postcode=" + caterer.client.getPostCode();
+      try {
+        int orderNumber = Integer.parseInt(transport.doPOSTRequest(endpoint + request, new ContentsEncoder(contents)));
+        client.setOrder(orderNumber, contents, CHI, caterer.client.getName(), LocalDateTime.now(), null, null, null,
+            "ordered");
+        caterer.pending.add(new int[] {orderNumber, 0});
+        return true;
+      } catch (IOException | NumberFormatException e) {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * A catering company, moving the orders placed with it on a stage at a time
+   */
+  private final class Caterer extends User {
+    private final CateringCompanyClientImp client = new CateringCompanyClientImp(endpoint, transport);
+    private final String name;
+    private final String postCode;
+    private final Queue<int[]> pending = new ConcurrentLinkedQueue<>();
+
+    Caterer(int number) {
+      this.name = "loadcaterer" + salt + "x" + number;
+      this.postCode = "EH" + (1 + number % 17) + "_" + (1 + number % 9) + "LT";
+    }
+
+    @Override
+    boolean next() {
+      if (!client.isRegistered()) {
+        operation = "register";
+        return client.registerCateringCompany(name, postCode);
+      }
+
+      int[] order = pending.poll();
+      if (order == null) {
+        operation = "register";
+        return client.registerCateringCompany(name, postCode);
+      }
+
+      operation = "update";
+      boolean updated = client.updateOrderStatus(order[0], STATUSES[order[1]]);
+      if (++order[1] < STATUSES.length) {
+        pending.add(order);
+      }
+      return updated;
+    }
+  }
+
+  /**
+   * A supermarket, recording orders for registered individuals and updating them
+   */
+  private final class Supermarket extends User {
+    private final SupermarketClientImp client = new SupermarketClientImp(endpoint, transport);
+    private final String name;
+    private final String postCode;
+    private final List<Individual> individuals;
+    private final Queue<int[]> pending = new ConcurrentLinkedQueue<>();
+    private int calls;
+
+    Supermarket(int number, List<Individual> individuals) {
+      this.name = "loadsupermarket" + salt + "x" + number;
+      this.postCode = "EH" + (1 + number % 17) + "_" + (1 + number % 9) + "LS";
+      this.individuals = individuals;
+    }
+
+    @Override
+    boolean next() {
+      if (!client.isRegistered()) {
+        operation = "register";
+        return client.registerSupermarket(name, postCode);
+      }
+
+      int[] order = calls++ % 2 == 0 ? null : pending.poll();
+      if (order != null) {
+        operation = "update";
+        boolean updated = client.updateOrderStatus(order[0], STATUSES[order[1]]);
+        if (++order[1] < STATUSES.length) {
+          pending.add(order);
+        }
+        return updated;
+      }
+
+      Individual individual = individuals.isEmpty() ? null
+          : individuals.get(ThreadLocalRandom.current().nextInt(individuals.size()));
+      if (individual == null || !individual.client.isRegistered()) {
+        operation = "register";
+        return client.registerSupermarket(name, postCode);
+      }
+
+      operation = "order";
+      int orderNumber = nextSupermarketOrder.getAndIncrement();
+      boolean recorded = client.recordSupermarketOrder(individual.CHI, orderNumber);
+      if (recorded) {
+        pending.add(new int[] {orderNumber, 0});
+      }
+      return recorded;
+    }
+  }
+}
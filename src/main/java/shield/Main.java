@@ -1,13 +1,13 @@
-/*
- * main program
- *
- */
-
-package shield;
-
-public class Main {
-  public static void main(String[] args) {
-    System.out.println("running!");
-    return;
-  }
-}
+/*
+ * main program
+ *
+ */
+
+package shield;
+
+public class Main {
+  public static void main(String[] args) {
+    System.out.println("running!");
+    return;
+  }
+}
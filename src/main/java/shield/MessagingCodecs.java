@@ -0,0 +1,456 @@
+/**
+ * Class holding the JSON codecs for the Messaging* transmission types
+ */
+
+package shield;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import shield.ShieldingIndividualClientImp.MessagingCateringCompanies;
+import shield.ShieldingIndividualClientImp.MessagingContents;
+import shield.ShieldingIndividualClientImp.MessagingFoodBox;
+import shield.ShieldingIndividualClientImp.MessagingIndividual;
+import shield.ShieldingIndividualClientImp.MessagingOrders;
+
+/**
+ * Hand-written Gson TypeAdapters for every Messaging* class.
+ *
+ * The adapters read and write fields by name, so no reflection is used once the
+ * shared Gson instance has been built. Gson and TypeAdapter instances are
+ * immutable, so everything here can be shared between threads.
+ */
+public class MessagingCodecs {
+
+  /**
+   * Adapter for LocalDateTime fields, as ISO-8601 strings such as 2021-04-09T10:15:30.
+   * The server writes empty strings for dates not reached yet, which are read as null.
+   */
+  public static final TypeAdapter<LocalDateTime> DATE_TIME = new TypeAdapter<LocalDateTime>() {
+    @Override
+    public void write(JsonWriter out, LocalDateTime value) throws IOException {
+      out.value(value == null ? null : value.toString());
+    }
+
+    @Override
+    public LocalDateTime read(JsonReader in) throws IOException {
+      String text = readString(in);
+      if (text == null || text.isEmpty()) {
+        return null;
+      }
+      try {
+        return LocalDateTime.parse(text);
+      } catch (DateTimeParseException e) {
+        throw new IOException("Malformed date time: " + text, e);
+      }
+    }
+  };
+
+  /**
+   * Adapter for items in a food box or order
+   */
+  public static final TypeAdapter<MessagingContents> CONTENTS = new TypeAdapter<MessagingContents>() {
+    @Override
+    public void write(JsonWriter out, MessagingContents item) throws IOException {
+      if (item == null) {
+        out.nullValue();
+        return;
+      }
+      out.beginObject();
+      out.name("id").value(item.id);
+      out.name("name").value(item.name);
+      out.name("quantity").value(item.quantity);
+      out.endObject();
+    }
+
+    @Override
+    public MessagingContents read(JsonReader in) throws IOException {
+      if (in.peek() == JsonToken.NULL) {
+        in.nextNull();
+        return null;
+      }
+
+      MessagingContents item = new MessagingContents();
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case "id":
+            item.id = in.nextInt();
+            break;
+          case "name":
+            item.name = readString(in);
+            break;
+          case "quantity":
+            item.quantity = in.nextInt();
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+      return item;
+    }
+  };
+
+  /**
+   * Adapter for food boxes
+   */
+  public static final TypeAdapter<MessagingFoodBox> FOOD_BOX = new TypeAdapter<MessagingFoodBox>() {
+    @Override
+    public void write(JsonWriter out, MessagingFoodBox foodBox) throws IOException {
+      if (foodBox == null) {
+        out.nullValue();
+        return;
+      }
+      out.beginObject();
+      out.name("contents");
+      writeContents(out, foodBox.contents);
+      out.name("delivered_by").value(foodBox.delivered_by);
+      out.name("diet").value(foodBox.diet);
+      out.name("id").value(foodBox.id);
+      out.name("name").value(foodBox.name);
+      out.endObject();
+    }
+
+    @Override
+    public MessagingFoodBox read(JsonReader in) throws IOException {
+      if (in.peek() == JsonToken.NULL) {
+        in.nextNull();
+        return null;
+      }
+
+      MessagingFoodBox foodBox = new MessagingFoodBox();
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case "contents":
+            foodBox.contents = readContents(in);
+            break;
+          case "delivered_by":
+            foodBox.delivered_by = readString(in);
+            break;
+          case "diet":
+            foodBox.diet = readString(in);
+            break;
+          case "id":
+            foodBox.id = in.nextInt();
+            break;
+          case "name":
+            foodBox.name = readString(in);
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+      return foodBox;
+    }
+  };
+
+  /**
+   * Adapter for orders
+   */
+  public static final TypeAdapter<MessagingOrders> ORDERS = new TypeAdapter<MessagingOrders>() {
+    @Override
+    public void write(JsonWriter out, MessagingOrders order) throws IOException {
+      if (order == null) {
+        out.nullValue();
+        return;
+      }
+      out.beginObject();
+      out.name("id").value(order.id);
+      out.name("contents");
+      writeContents(out, order.contents);
+      out.name("chi").value(order.chi);
+      out.name("cateringId").value(order.cateringId);
+      out.name("ordered");
+      DATE_TIME.write(out, order.ordered);
+      out.name("packed");
+      DATE_TIME.write(out, order.packed);
+      out.name("dispatched");
+      DATE_TIME.write(out, order.dispatched);
+      out.name("delivered");
+      DATE_TIME.write(out, order.delivered);
+      out.name("status").value(order.status);
+      out.endObject();
+    }
+
+    @Override
+    public MessagingOrders read(JsonReader in) throws IOException {
+      if (in.peek() == JsonToken.NULL) {
+        in.nextNull();
+        return null;
+      }
+
+      MessagingOrders order = new MessagingOrders();
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case "id":
+            order.id = in.nextInt();
+            break;
+          case "contents":
+            order.contents = readContents(in);
+            break;
+          case "chi":
+            order.chi = readString(in);
+            break;
+          case "cateringId":
+            order.cateringId = readString(in);
+            break;
+          case "ordered":
+            order.ordered = DATE_TIME.read(in);
+            break;
+          case "packed":
+            order.packed = DATE_TIME.read(in);
+            break;
+          case "dispatched":
+            order.dispatched = DATE_TIME.read(in);
+            break;
+          case "delivered":
+            order.delivered = DATE_TIME.read(in);
+            break;
+          case "status":
+            order.status = readString(in);
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+      return order;
+    }
+  };
+
+  /**
+   * Adapter for catering companies
+   */
+  public static final TypeAdapter<MessagingCateringCompanies> CATERING_COMPANY =
+      new TypeAdapter<MessagingCateringCompanies>() {
+    @Override
+    public void write(JsonWriter out, MessagingCateringCompanies company) throws IOException {
+      if (company == null) {
+        out.nullValue();
+        return;
+      }
+      out.beginObject();
+      out.name("name").value(company.name);
+      out.name("postCode").value(company.postCode);
+      out.endObject();
+    }
+
+    @Override
+    public MessagingCateringCompanies read(JsonReader in) throws IOException {
+      if (in.peek() == JsonToken.NULL) {
+        in.nextNull();
+        return null;
+      }
+
+      MessagingCateringCompanies company = new MessagingCateringCompanies();
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case "name":
+            company.name = readString(in);
+            break;
+          case "postCode":
+            company.postCode = readString(in);
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+      return company;
+    }
+  };
+
+  /**
+   * Adapter for shielding individuals' personal information
+   */
+  public static final TypeAdapter<MessagingIndividual> INDIVIDUAL = new TypeAdapter<MessagingIndividual>() {
+    @Override
+    public void write(JsonWriter out, MessagingIndividual individual) throws IOException {
+      if (individual == null) {
+        out.nullValue();
+        return;
+      }
+      out.beginObject();
+      out.name("postCode").value(individual.postCode);
+      out.name("name").value(individual.name);
+      out.name("surname").value(individual.surname);
+      out.name("phoneNumber").value(individual.phoneNumber);
+      out.endObject();
+    }
+
+    @Override
+    public MessagingIndividual read(JsonReader in) throws IOException {
+      if (in.peek() == JsonToken.NULL) {
+        in.nextNull();
+        return null;
+      }
+
+      MessagingIndividual individual = new MessagingIndividual();
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case "postCode":
+            individual.postCode = readString(in);
+            break;
+          case "name":
+            individual.name = readString(in);
+            break;
+          case "surname":
+            individual.surname = readString(in);
+            break;
+          case "phoneNumber":
+            individual.phoneNumber = readString(in);
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+      return individual;
+    }
+  };
+
+  /**
+   * Adapter for the food boxes of the dummy client, whose contents are not transmitted
+   */
+  public static final TypeAdapter<DummyShieldingIndividualClientImp.MessagingFoodBox> DUMMY_FOOD_BOX =
+      new TypeAdapter<DummyShieldingIndividualClientImp.MessagingFoodBox>() {
+    @Override
+    public void write(JsonWriter out, DummyShieldingIndividualClientImp.MessagingFoodBox foodBox)
+        throws IOException {
+      if (foodBox == null) {
+        out.nullValue();
+        return;
+      }
+      out.beginObject();
+      out.name("delivered_by").value(foodBox.delivered_by);
+      out.name("diet").value(foodBox.diet);
+      out.name("id").value(foodBox.id);
+      out.name("name").value(foodBox.name);
+      out.endObject();
+    }
+
+    @Override
+    public DummyShieldingIndividualClientImp.MessagingFoodBox read(JsonReader in) throws IOException {
+      if (in.peek() == JsonToken.NULL) {
+        in.nextNull();
+        return null;
+      }
+
+      DummyShieldingIndividualClientImp.MessagingFoodBox foodBox =
+          new DummyShieldingIndividualClientImp.MessagingFoodBox();
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case "delivered_by":
+            foodBox.delivered_by = readString(in);
+            break;
+          case "diet":
+            foodBox.diet = readString(in);
+            break;
+          case "id":
+            foodBox.id = readString(in);
+            break;
+          case "name":
+            foodBox.name = readString(in);
+            break;
+          default:
+            // contents is transient in the dummy client
+            in.skipValue();
+        }
+      }
+      in.endObject();
+      return foodBox;
+    }
+  };
+
+  /**
+   * Shared Gson instance with every adapter above registered
+   */
+  public static final Gson GSON = new GsonBuilder()
+      .registerTypeAdapter(LocalDateTime.class, DATE_TIME)
+      .registerTypeAdapter(MessagingContents.class, CONTENTS)
+      .registerTypeAdapter(MessagingFoodBox.class, FOOD_BOX)
+      .registerTypeAdapter(MessagingOrders.class, ORDERS)
+      .registerTypeAdapter(MessagingCateringCompanies.class, CATERING_COMPANY)
+      .registerTypeAdapter(MessagingIndividual.class, INDIVIDUAL)
+      .registerTypeAdapter(DummyShieldingIndividualClientImp.MessagingFoodBox.class, DUMMY_FOOD_BOX)
+      .create();
+
+  /**
+   * Adapter for a list of food boxes, as returned by /showFoodBox
+   */
+  public static final TypeAdapter<List<MessagingFoodBox>> FOOD_BOX_LIST =
+      GSON.getAdapter(new TypeToken<List<MessagingFoodBox>>() {});
+
+  /**
+   * Adapter for a list of the dummy client's food boxes
+   */
+  public static final TypeAdapter<List<DummyShieldingIndividualClientImp.MessagingFoodBox>> DUMMY_FOOD_BOX_LIST =
+      GSON.getAdapter(new TypeToken<List<DummyShieldingIndividualClientImp.MessagingFoodBox>>() {});
+
+  /**
+   * Writes a list of items as a JSON array
+   *
+   * @param out the writer to write to
+   * @param contents the items, or null
+   * @throws IOException an input/output error occurred
+   */
+  public static void writeContents(JsonWriter out, List<MessagingContents> contents) throws IOException {
+    if (contents == null) {
+      out.nullValue();
+      return;
+    }
+    out.beginArray();
+    for (MessagingContents item : contents) {
+      CONTENTS.write(out, item);
+    }
+    out.endArray();
+  }
+
+  /**
+   * Reads a JSON array of items
+   *
+   * @param in the reader to read from
+   * @return the items, or null if the array was null
+   * @throws IOException an input/output error occurred or the JSON is malformed
+   */
+  public static ArrayList<MessagingContents> readContents(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+
+    ArrayList<MessagingContents> contents = new ArrayList<>();
+    in.beginArray();
+    while (in.hasNext()) {
+      contents.add(CONTENTS.read(in));
+    }
+    in.endArray();
+    return contents;
+  }
+
+  private static String readString(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    return in.nextString();
+  }
+}
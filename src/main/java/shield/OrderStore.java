@@ -0,0 +1,145 @@
+/**
+ * Class for storing orders by order number
+ */
+
+package shield;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import shield.ShieldingIndividualClientImp.MessagingOrders;
+
+/**
+ * Holds a client's orders indexed by order number, so finding one takes constant time however
+ * many are held, and iterates over them in the order they were added.
+ *
+ * Order numbers are kept as primitive ints in an open-addressing hash table whose slots point into
+ * arrays of the orders and their numbers in insertion order, so neither a lookup nor an insertion
+ * boxes an Integer. Orders are never removed, as a cancelled order keeps its status. Adding an
+ * order whose number is already held replaces the held order in its place.
+ */
+public class OrderStore implements Iterable<MessagingOrders> {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  /**
+   * Private variables created:
+   *
+   * The hash table, holding in each slot the position of an order plus one, or 0 if the slot is free
+   * The order numbers and the orders, in the order they were added
+   * The number of orders held
+   */
+  private int[] table = new int[INITIAL_CAPACITY * 2];
+  private int[] numbers = new int[INITIAL_CAPACITY];
+  private MessagingOrders[] orders = new MessagingOrders[INITIAL_CAPACITY];
+  private int size;
+
+  /**
+   * Adds an order, replacing any held with the same order number
+   *
+   * @param order the order, stored under its id
+   */
+  public void put(MessagingOrders order) {
+    int slot = slot(order.id);
+    if (table[slot] != 0) {
+      orders[table[slot] - 1] = order;
+      return;
+    }
+
+    if (size == numbers.length) {
+      grow();
+      slot = slot(order.id);
+    }
+    numbers[size] = order.id;
+    orders[size] = order;
+    size++;
+    table[slot] = size;
+  }
+
+  /**
+   * Returns an order
+   *
+   * @param orderNumber the order number
+   * @return the order, or null if none with that number is held
+   */
+  public MessagingOrders get(int orderNumber) {
+    int position = table[slot(orderNumber)];
+    return position == 0 ? null : orders[position - 1];
+  }
+
+  /**
+   * Returns the number of orders held
+   *
+   * @return the number of orders held
+   */
+  public int size() { return size; }
+
+  /**
+   * Returns the order numbers held
+   *
+   * @return a copy of the order numbers, in the order they were added
+   */
+  public int[] getOrderNumbers() { return Arrays.copyOf(numbers, size); }
+
+  /**
+   * Returns the orders held
+   *
+   * @return an iterator over the orders in the order they were added
+   */
+  @Override
+  public Iterator<MessagingOrders> iterator() {
+    return new Iterator<MessagingOrders>() {
+      private int next;
+
+      @Override
+      public boolean hasNext() { return next < size; }
+
+      @Override
+      public MessagingOrders next() {
+        if (next >= size) {
+          throw new NoSuchElementException();
+        }
+        return orders[next++];
+      }
+    };
+  }
+
+  /**
+   * Finds the slot an order number is held in, or the free slot it would be held in
+   *
+   * @param orderNumber the order number
+   * @return the slot's index in the table
+   */
+  private int slot(int orderNumber) {
+    int mask = table.length - 1;
+    int slot = mix(orderNumber) & mask;
+    while (table[slot] != 0 && numbers[table[slot] - 1] != orderNumber) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Doubles the capacity, keeping the table at most half full
+   */
+  private void grow() {
+    numbers = Arrays.copyOf(numbers, numbers.length * 2);
+    orders = Arrays.copyOf(orders, orders.length * 2);
+    table = new int[numbers.length * 2];
+    for (int i = 0; i < size; i++) {
+      table[slot(numbers[i])] = i + 1;
+    }
+  }
+
+  /**
+   * Spreads order numbers, which are usually consecutive, across the table
+   *
+   * @param orderNumber the order number
+   * @return the hash of the order number
+   */
+  private static int mix(int orderNumber) {
+    int hash = orderNumber * 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+}
@@ -0,0 +1,142 @@
+/**
+ * Class for working out distances between postcodes without the server
+ */
+
+package shield;
+
+/**
+ * Places Edinburgh postcodes on the grid the server measures distances on, so the distance between
+ * two postcodes can be worked out in-process instead of asking /distance.
+ *
+ * The server's distance is not geographic: it is 10 per step between postcode districts plus one
+ * per step between each character of the inward code, scaled so the largest possible distance is
+ * the diameter of Edinburgh. A postcode of the usual form, such as EH7_5QQ, is therefore a point
+ * whose coordinates are its district, sector digit and two unit letters, packed into a single int,
+ * and the distance between two points is the scaled sum of the differences of their coordinates.
+ * Postcodes of any other form, which the server measures in ways that are not a distance between
+ * points, cannot be located and must still be sent to the server.
+ */
+public class PostcodeLocator {
+
+  /**
+   * A postcode that cannot be located
+   */
+  public static final int UNKNOWN = -1;
+
+  /**
+   * The diameter of Edinburgh in metres, and the largest cost between two postcodes the server allows for
+   */
+  private static final double EDINBURGH_DIAMETER = 18334;
+  private static final int MAX_COST = 99 * 10 + 25 * 2 + 9;
+
+  /**
+   * The largest district that can be packed, well past any Edinburgh has
+   */
+  private static final int MAX_DISTRICT = (1 << 14) - 1;
+
+  private PostcodeLocator() {}
+
+  /**
+   * Finds where a postcode is
+   *
+   * @param postCode a postcode such as EH7_5QQ, with the unit letters in either case
+   * @return the packed position of the postcode, or UNKNOWN if it is not of the usual form
+   */
+  public static int locate(String postCode) {
+    if (postCode == null || postCode.length() < 7 || !postCode.startsWith("EH")) {
+      return UNKNOWN;
+    }
+
+    // district digits up to the underscore
+    int underscore = postCode.indexOf('_', 2);
+    if (underscore < 3 || postCode.length() != underscore + 4) {
+      return UNKNOWN;
+    }
+    int district = 0;
+    for (int i = 2; i < underscore; i++) {
+      char c = postCode.charAt(i);
+      if (c < '0' || c > '9' || district > MAX_DISTRICT / 10) {
+        return UNKNOWN;
+      }
+      district = district * 10 + (c - '0');
+    }
+    if (district > MAX_DISTRICT) {
+      return UNKNOWN;
+    }
+
+    // inward code of a sector digit and two unit letters
+    int sector = postCode.charAt(underscore + 1) - '0';
+    int unit1 = letter(postCode.charAt(underscore + 2));
+    int unit2 = letter(postCode.charAt(underscore + 3));
+    if (sector < 0 || sector > 9 || unit1 < 0 || unit2 < 0) {
+      return UNKNOWN;
+    }
+
+    return district << 14 | sector << 10 | unit1 << 5 | unit2;
+  }
+
+  /**
+   * Returns the district of a located postcode
+   *
+   * @param position the packed position of a postcode
+   * @return its district, such as 7 for EH7_5QQ
+   */
+  public static int district(int position) { return position >>> 14; }
+
+  /**
+   * Returns the cost the server gives between two located postcodes
+   *
+   * @param position1 the packed position of one postcode
+   * @param position2 the packed position of another postcode
+   * @return 10 per district between them plus one per step between each character of their inward codes
+   */
+  public static int cost(int position1, int position2) {
+    return 10 * Math.abs((position1 >>> 14) - (position2 >>> 14))
+        + Math.abs((position1 >>> 10 & 0xF) - (position2 >>> 10 & 0xF))
+        + Math.abs((position1 >>> 5 & 0x1F) - (position2 >>> 5 & 0x1F))
+        + Math.abs((position1 & 0x1F) - (position2 & 0x1F));
+  }
+
+  /**
+   * Returns the distance between two located postcodes
+   *
+   * @param position1 the packed position of one postcode
+   * @param position2 the packed position of another postcode
+   * @return the distance, the same as the server gives for the two postcodes
+   */
+  public static float distance(int position1, int position2) {
+    return (float) (EDINBURGH_DIAMETER * cost(position1, position2) / MAX_COST);
+  }
+
+  /**
+   * Returns the distance between two postcodes if both can be located
+   *
+   * @param postCode1 post code of one location
+   * @param postCode2 post code of another location
+   * @return the distance, the same as the server gives, or -1 if either postcode cannot be located
+   */
+  public static float distance(String postCode1, String postCode2) {
+    int position1 = locate(postCode1);
+    int position2 = locate(postCode2);
+    if (position1 == UNKNOWN || position2 == UNKNOWN) {
+      return -1;
+    }
+    return distance(position1, position2);
+  }
+
+  /**
+   * Helper for reading a unit letter
+   *
+   * @param c the character
+   * @return the letter's position in the alphabet from 0, or -1 if it is not a letter
+   */
+  private static int letter(char c) {
+    if (c >= 'a' && c <= 'z') {
+      return c - 'a';
+    }
+    if (c >= 'A' && c <= 'Z') {
+      return c - 'A';
+    }
+    return -1;
+  }
+}
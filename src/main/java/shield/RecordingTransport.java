@@ -0,0 +1,277 @@
+/**
+ * Class for recording the requests another transport makes
+ */
+
+package shield;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Passes requests on to another transport and appends each request and its outcome, with its
+ * timing, to a JSONL file as a TrafficRecord, for ReplayTransport to serve later.
+ *
+ * Records are queued by the requesting threads and written by a single background thread in
+ * batches, with one flush per batch, so recording adds little to each request. If the writer falls
+ * far behind, requesters wait up to a second for it before dropping their record, and once the
+ * writer fails every later record is dropped, so a broken recording never holds up requests or
+ * closing; getDroppedRecords counts the records lost. Decoded replies are recorded as text, so
+ * requests with a decoder read the whole reply before decoding it.
+ */
+public class RecordingTransport implements Transport, Closeable {
+
+  private static final int MAX_QUEUED = 65536;
+  private static final int MAX_BATCH = 512;
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final long MAX_WAIT_MILLIS = 1000;
+  private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
+
+  /**
+   * Queued after the last record to stop the writer; compared by identity
+   */
+  private static final String END = new String("");
+
+  private final Transport delegate;
+  private final Writer writer;
+  private final BlockingQueue<String> queue = new LinkedBlockingQueue<>(MAX_QUEUED);
+  private final Thread recorder;
+  private final AtomicLong dropped = new AtomicLong();
+  private volatile boolean closed;
+  private volatile boolean writerStopped;
+
+  /**
+   * Class constructor, opening the recording for appending
+   *
+   * @param delegate the transport requests are passed on to
+   * @param file the JSONL file records are appended to, created if missing
+   * @throws IOException the file could not be opened
+   */
+  public RecordingTransport(Transport delegate, Path file) throws IOException {
+    this(delegate, new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file, StandardOpenOption.CREATE,
+        StandardOpenOption.APPEND), StandardCharsets.UTF_8), BUFFER_SIZE));
+  }
+
+  /**
+   * Class constructor, recording to a writer
+   *
+   * @param delegate the transport requests are passed on to
+   * @param writer the writer JSONL records are written to, closed when this is
+   */
+  RecordingTransport(Transport delegate, Writer writer) {
+    this.delegate = delegate;
+    this.writer = writer;
+    recorder = new Thread(this::writeRecords, "traffic-recorder");
+    recorder.setDaemon(true);
+    recorder.start();
+  }
+
+  @Override
+  public String doGETRequest(String endpoint) throws RuntimeException, IOException {
+    return exchange("GET", endpoint, null, () -> delegate.doGETRequest(endpoint));
+  }
+
+  @Override
+  public String doIdempotentGETRequest(String endpoint) throws RuntimeException, IOException {
+    return exchange("GET", endpoint, null, () -> delegate.doIdempotentGETRequest(endpoint));
+  }
+
+  @Override
+  public <T> T doIdempotentGETRequest(String endpoint, ResponseDecoder<T> decoder)
+      throws RuntimeException, IOException {
+    return decode(doIdempotentGETRequest(endpoint), decoder);
+  }
+
+  @Override
+  public String doPOSTRequest(String endpoint, String data) throws RuntimeException, IOException {
+    return exchange("POST", endpoint, data, () -> delegate.doPOSTRequest(endpoint, data));
+  }
+
+  @Override
+  public CompletableFuture<String> doGETRequestAsync(String endpoint) {
+    return exchangeAsync("GET", endpoint, null, delegate::doGETRequestAsync);
+  }
+
+  @Override
+  public <T> CompletableFuture<T> doGETRequestAsync(String endpoint, ResponseDecoder<T> decoder) {
+    return doGETRequestAsync(endpoint).thenApply(response -> {
+      try {
+        return decode(response, decoder);
+      } catch (IOException e) {
+        throw new CompletionException(e);
+      }
+    });
+  }
+
+  @Override
+  public CompletableFuture<String> doPOSTRequestAsync(String endpoint, String data) {
+    return exchangeAsync("POST", endpoint, data, url -> delegate.doPOSTRequestAsync(url, data));
+  }
+
+  /**
+   * Returns the number of records dropped because the writer fell too far behind or failed
+   *
+   * @return the number of records not written
+   */
+  public long getDroppedRecords() { return dropped.get(); }
+
+  /**
+   * Writes out every record made so far and closes the file; later requests are passed on unrecorded
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      // wait a while for room behind the records still queued, then drop them to make room
+      while (recorder.isAlive() && !queue.offer(END, MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+        List<String> unwritten = new ArrayList<>();
+        queue.drainTo(unwritten);
+        dropped.addAndGet(unwritten.size());
+      }
+      recorder.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    // let go of anything a request queued after the end, or that a failed writer left behind
+    queue.clear();
+    try {
+      writer.close();
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
+  private String exchange(String method, String endpoint, String body, SingleFlight.Call<String> call)
+      throws IOException {
+    long timestamp = System.currentTimeMillis();
+    long start = System.nanoTime();
+    try {
+      String response = call.call();
+      record(method, endpoint, body, timestamp, start, response, null);
+      return response;
+    } catch (IOException | RuntimeException e) {
+      record(method, endpoint, body, timestamp, start, null, e);
+      throw e;
+    }
+  }
+
+  private interface AsyncCall {
+    CompletableFuture<String> call(String endpoint);
+  }
+
+  private CompletableFuture<String> exchangeAsync(String method, String endpoint, String body, AsyncCall call) {
+    long timestamp = System.currentTimeMillis();
+    long start = System.nanoTime();
+    return call.call(endpoint).whenComplete((response, failure) ->
+        record(method, endpoint, body, timestamp, start, response, failure));
+  }
+
+  private void record(String method, String endpoint, String body, long timestamp, long start, String response,
+                      Throwable failure) {
+    if (closed) {
+      return;
+    }
+    if (writerStopped) {
+      dropped.incrementAndGet();
+      return;
+    }
+
+    TrafficRecord record = new TrafficRecord();
+    record.timestamp = timestamp;
+    record.method = method;
+    record.endpoint = endpoint;
+    record.body = body;
+    record.durationMicros = (System.nanoTime() - start) / 1000;
+
+    if (failure instanceof CompletionException && failure.getCause() != null) {
+      failure = failure.getCause();
+    }
+    if (failure == null) {
+      record.status = 200;
+      record.response = response;
+    } else if (failure instanceof HttpStatusException) {
+      record.status = ((HttpStatusException) failure).getStatusCode();
+    } else {
+      record.error = failure.getMessage() == null ? failure.getClass().getName() : failure.getMessage();
+    }
+
+    String line = GSON.toJson(record);
+    try {
+      if (!queue.offer(line, MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+        dropped.incrementAndGet();
+      } else if (writerStopped && queue.remove(line)) {
+        // the writer stopped while this was being queued
+        dropped.incrementAndGet();
+      }
+    } catch (InterruptedException e) {
+      dropped.incrementAndGet();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Writes queued records in batches until closed or the writer fails; runs on the recorder thread
+   */
+  private void writeRecords() {
+    List<String> batch = new ArrayList<>(MAX_BATCH);
+    try {
+      while (true) {
+        batch.add(queue.take());
+        queue.drainTo(batch, MAX_BATCH - 1);
+        for (String line : batch) {
+          if (line == END) {
+            writer.flush();
+            return;
+          }
+          writer.write(line);
+          writer.write('\n');
+        }
+        writer.flush();
+        batch.clear();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IOException e) {
+      e.printStackTrace();
+
+      // nothing more will be written, so stop records queueing and count the ones lost
+      writerStopped = true;
+      queue.drainTo(batch);
+      for (String line : batch) {
+        if (line != END) {
+          dropped.incrementAndGet();
+        }
+      }
+    } finally {
+      writerStopped = true;
+    }
+  }
+
+  private static <T> T decode(String response, ResponseDecoder<T> decoder) throws IOException {
+    JsonReader reader = new JsonReader(new StringReader(response));
+    reader.setLenient(true);
+    return decoder.decode(reader);
+  }
+}
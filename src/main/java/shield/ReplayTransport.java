@@ -0,0 +1,107 @@
+/**
+ * Class for serving recorded traffic in place of the server
+ */
+
+package shield;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Answers requests from a recording made by RecordingTransport, without any server.
+ *
+ * Requests are matched on method, path, query and body, ignoring the host, so a recording of one
+ * server can be replayed against any endpoint. A request recorded several times is answered with
+ * each recorded outcome in turn, then with the last one for any further repeats, so replays are
+ * deterministic. Recorded failures are reproduced: HTTP errors as HttpStatusException and lost
+ * replies as IOException. A request that was never recorded fails with an IOException.
+ */
+public class ReplayTransport implements Transport {
+
+  /**
+   * The recorded outcomes of one request, and how many times it has been replayed
+   */
+  private static final class Recording {
+    final List<TrafficRecord> records = new ArrayList<>();
+    final AtomicInteger replayed = new AtomicInteger();
+  }
+
+  private final Map<String, Recording> recordings = new HashMap<>();
+
+  /**
+   * Class constructor, loading a recording
+   *
+   * @param file the JSONL file written by RecordingTransport
+   * @throws IOException the file could not be read or a line is not a record
+   */
+  public ReplayTransport(Path file) throws IOException {
+    Gson gson = new Gson();
+    int lineNumber = 0;
+    for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+      lineNumber++;
+      if (line.trim().isEmpty()) {
+        continue;
+      }
+      TrafficRecord record;
+      try {
+        record = gson.fromJson(line, TrafficRecord.class);
+      } catch (JsonParseException e) {
+        throw new IOException("Malformed record on line " + lineNumber + " of " + file, e);
+      }
+      if (record == null || record.method == null || record.endpoint == null) {
+        throw new IOException("Incomplete record on line " + lineNumber + " of " + file);
+      }
+      recordings.computeIfAbsent(key(record.method, record.endpoint, record.body), key -> new Recording())
+          .records.add(record);
+    }
+  }
+
+  @Override
+  public String doGETRequest(String endpoint) throws RuntimeException, IOException {
+    return replay("GET", endpoint, null);
+  }
+
+  @Override
+  public String doPOSTRequest(String endpoint, String data) throws RuntimeException, IOException {
+    return replay("POST", endpoint, data);
+  }
+
+  /**
+   * Returns the number of distinct requests recorded
+   *
+   * @return number of distinct requests
+   */
+  public int getRecordedRequests() { return recordings.size(); }
+
+  private String replay(String method, String endpoint, String body) throws IOException {
+    Recording recording = recordings.get(key(method, endpoint, body));
+    if (recording == null) {
+      throw new IOException("No recorded response for " + method + " " + TrafficRecord.target(endpoint));
+    }
+
+    int replayed = recording.replayed.getAndIncrement();
+    TrafficRecord record = recording.records.get(Math.min(replayed, recording.records.size() - 1));
+    if (record.status == 200) {
+      return record.response;
+    }
+    if (record.status > 0) {
+      throw new HttpStatusException(record.status);
+    }
+    throw new IOException(record.error);
+  }
+
+  private static String key(String method, String endpoint, String body) {
+    String key = method + " " + TrafficRecord.target(endpoint);
+    return body == null ? key : key + "\n" + body;
+  }
+}
@@ -0,0 +1,21 @@
+/**
+ * Interface for writing a request body straight to the connection
+ */
+
+package shield;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a request body as bytes, so callers need not build the body as a String first
+ */
+public interface RequestBody {
+  /**
+   * Writes the body to the given stream
+   *
+   * @param out the stream to write the body to
+   * @throws IOException an input/output error occurred
+   */
+  public void writeTo(OutputStream out) throws IOException;
+}
@@ -0,0 +1,25 @@
+/**
+ * Interface for serving one server endpoint
+ */
+
+package shield;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Serves the requests for one endpoint path, e.g. /requestStatus
+ */
+public interface RequestHandler {
+  /**
+   * Handles a request and returns the body of the reply
+   *
+   * @param method the HTTP method, GET or POST
+   * @param parameters the decoded query parameters
+   * @param body the request body, or null for a GET
+   * @return the body of the reply
+   * @throws IOException an input/output error occurred
+   * @throws HttpStatusException the request should be answered with a status other than 200 OK
+   */
+  public String handle(String method, Map<String, String> parameters, String body) throws IOException;
+}
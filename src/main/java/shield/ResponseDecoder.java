@@ -0,0 +1,26 @@
+/**
+ * Interface for decoding a server response as it is read from the connection
+ */
+
+package shield;
+
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+
+/**
+ * Decodes a JSON response body while its bytes arrive, instead of buffering the
+ * whole body into a String first.
+ *
+ * @param <T> the decoded type
+ */
+public interface ResponseDecoder<T> {
+  /**
+   * Returns the value read from the response body
+   *
+   * @param reader reader positioned at the start of the response body
+   * @return the decoded value
+   * @throws IOException an input/output error occurred or the body is not valid JSON
+   */
+  public T decode(JsonReader reader) throws IOException;
+}
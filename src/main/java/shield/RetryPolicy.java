@@ -0,0 +1,80 @@
+/**
+ * Class for deciding when and how long to wait before retrying a request
+ */
+
+package shield;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bounded retries with jittered exponential backoff, for requests that are safe to repeat.
+ *
+ * The wait before retry n (counting from 1) is a random time between 0 and
+ * min(maxBackoffMillis, baseBackoffMillis * 2^(n-1)), so clients retrying after the same
+ * failure spread out instead of hitting the server together.
+ */
+public class RetryPolicy {
+
+  private final int maxAttempts;
+  private final long baseBackoffMillis;
+  private final long maxBackoffMillis;
+
+  /**
+   * Class constructor
+   *
+   * @param maxAttempts the most attempts made in total, including the first
+   * @param baseBackoffMillis the upper bound of the wait before the first retry
+   * @param maxBackoffMillis the largest upper bound of any wait
+   */
+  public RetryPolicy(int maxAttempts, long baseBackoffMillis, long maxBackoffMillis) {
+    this.maxAttempts = Math.max(1, maxAttempts);
+    this.baseBackoffMillis = baseBackoffMillis;
+    this.maxBackoffMillis = maxBackoffMillis;
+  }
+
+  /**
+   * Returns the most attempts made in total
+   *
+   * @return the attempt limit
+   */
+  public int getMaxAttempts() { return maxAttempts; }
+
+  /**
+   * Picks how long to wait before a retry
+   *
+   * @param retry the retry about to be made, counting from 1
+   * @return milliseconds to wait
+   */
+  public long backoffMillis(int retry) {
+    long bound = baseBackoffMillis;
+    for (int i = 1; i < retry && bound < maxBackoffMillis; i++) {
+      bound *= 2;
+    }
+    bound = Math.min(bound, maxBackoffMillis);
+    return bound <= 0 ? 0 : ThreadLocalRandom.current().nextLong(bound + 1);
+  }
+
+  /**
+   * Returns whether a failure may go away if the request is repeated
+   *
+   * @param failure the failure of the last attempt
+   * @return true for input/output errors (including timeouts) and server-side HTTP errors, but not for
+   *         an open circuit breaker or an interrupted caller
+   */
+  public static boolean isRetryable(Exception failure) {
+    if (failure instanceof CircuitOpenException) {
+      return false;
+    }
+    if (failure instanceof InterruptedIOException && !(failure instanceof SocketTimeoutException)) {
+      // the caller was interrupted, so stop rather than try again
+      return false;
+    }
+    if (failure instanceof HttpStatusException) {
+      return ((HttpStatusException) failure).isServerFailure();
+    }
+    return failure instanceof IOException;
+  }
+}
@@ -1,90 +1,148 @@
-/**
- * Interface for the communication endpoints of an application for a shielding
- * individual.
- *
- * These endpoints represent the communication endpoints to the server
- *
- * @author
- *
- */
-
-package shield;
-
-import java.util.Collection;
-
-public interface ShieldingIndividualClientEndpoints {
-  // **UPDATE2** COMMENT ONLY - CHANGES ON THE SERVER RETURN
-  /**
-   * Returns true if the operation occurred correctly.
-   *
-   * This method returns true if the operation occurred correctly (this includes
-   * re-registrations) and false if input incorrect (null or CHI number not
-   * respecting this format:
-   * https://datadictionary.nhs.uk/attributes/community_health_index_number.html)
-   * or any of the data retrieved from the server for the shielding individual is
-   * null.
-   *
-   * @param CHI CHI number of the shiedling individual
-   * @return true if the operation occurred correctly
-   */
-  public boolean registerShieldingIndividual(String CHI);
-
-  // **UPDATE** javadoc comment fix
-  /**
-   * Returns collection of food box ids if the operation occurred correctly
-   *
-   * @param dietaryPreference the dietary preference
-   * @return collection of food box ids
-   */
-  public Collection<String> showFoodBoxes(String dietaryPreference);
-
-  // **UPDATE2** REMOVED PARAMETER
-  /**
-   * Returns true if the operation occurred correctly
-   *
-   * @return true if the operation occurred correctly
-   */
-  public boolean placeOrder();
-
-  /**
-   * Returns true if the operation occurred correctly
-   *
-   * @param orderNumber the order number
-   * @return true if the operation occurred correctly
-   */
-  public boolean editOrder(int orderNumber);
-
-  /**
-   * Returns true if the operation occurred correctly
-   *
-   * @param orderNumber the order number
-   * @return true if the operation occurred correctly
-   */
-  public boolean cancelOrder(int orderNumber);
-
-  /**
-   * Returns true if the operation occurred correctly
-   *
-   * @param orderNumber the order number
-   * @return true if the operation occurred correctly
-   */
-  public boolean requestOrderStatus(int orderNumber);
-
-  // **UPDATE**
-  /**
-   * Returns collection of catering companies and their locations
-   *
-   * @return collection of catering companies and their locations
-   */
-  public Collection<String> getCateringCompanies();
-
-  // **UPDATE**
-  /**
-   * Returns the distance between two locations based on their post codes
-   *
-   * @param postCode1 post code of one location
-   * @param postCode2 post code of another location
-   * @return the distance as a float between the two locations
-   */
-  public float getDistance(String postCode1, String postCode2);
-}
\ No newline at end of file
+/**
+ * Interface for the communication endpoints of an application for a shielding
+ * individual.
+ *
+ * These endpoints represent the communication endpoints to the server
+ *
+ * @author
+ *
+ */
+
+package shield;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+public interface ShieldingIndividualClientEndpoints {
+  // **UPDATE2** COMMENT ONLY - CHANGES ON THE SERVER RETURN
+  /**
+   * Returns true if the operation occurred correctly.
+   *
+   * This method returns true if the operation occurred correctly (this includes
+   * re-registrations) and false if input incorrect (null or CHI number not
+   * respecting this format:
+   * https://datadictionary.nhs.uk/attributes/community_health_index_number.html)
+   * or any of the data retrieved from the server for the shielding individual is
+   * null.
+   *
+   * @param CHI CHI number of the shiedling individual
+   * @return true if the operation occurred correctly
+   */
+  public boolean registerShieldingIndividual(String CHI);
+
+  // **UPDATE** javadoc comment fix
+  /**
+   * Returns collection of food box ids if the operation occurred correctly
+   *
+   * @param dietaryPreference the dietary preference
+   * @return collection of food box ids
+   */
+  public Collection<String> showFoodBoxes(String dietaryPreference);
+
+  // **UPDATE2** REMOVED PARAMETER
+  /**
+   * Returns true if the operation occurred correctly
+   *
+   * @return true if the operation occurred correctly
+   */
+  public boolean placeOrder();
+
+  /**
+   * Returns true if the operation occurred correctly
+   *
+   * @param orderNumber the order number
+   * @return true if the operation occurred correctly
+   */
+  public boolean editOrder(int orderNumber);
+
+  /**
+   * Returns true if the operation occurred correctly
+   *
+   * @param orderNumber the order number
+   * @return true if the operation occurred correctly
+   */
+  public boolean cancelOrder(int orderNumber);
+
+  /**
+   * Returns true if the operation occurred correctly
+   *
+   * @param orderNumber the order number
+   * @return true if the operation occurred correctly
+   */
+  public boolean requestOrderStatus(int orderNumber);
+
+  // **UPDATE**
+  /**
+   * Returns collection of catering companies and their locations
+   *
+   * @return collection of catering companies and their locations
+   */
+  public Collection<String> getCateringCompanies();
+
+  // **UPDATE**
+  /**
+   * Returns the distance between two locations based on their post codes
+   *
+   * @param postCode1 post code of one location
+   * @param postCode2 post code of another location
+   * @return the distance as a float between the two locations
+   */
+  public float getDistance(String postCode1, String postCode2);
+
+  // placeOrder and editOrder read the order contents from the console, so they
+  // have no asynchronous variant
+
+  /**
+   * Asynchronous registerShieldingIndividual; the returned future completes once
+   * the server has answered
+   *
+   * @param CHI CHI number of the shiedling individual
+   * @return future completed with true if the operation occurred correctly
+   */
+  public CompletableFuture<Boolean> registerShieldingIndividualAsync(String CHI);
+
+  /**
+   * Asynchronous showFoodBoxes; the returned future completes once the server
+   * has answered
+   *
+   * @param dietaryPreference the dietary preference
+   * @return future completed with the collection of food box ids
+   */
+  public CompletableFuture<Collection<String>> showFoodBoxesAsync(String dietaryPreference);
+
+  /**
+   * Asynchronous cancelOrder; the returned future completes once the server has
+   * answered
+   *
+   * @param orderNumber the order number
+   * @return future completed with true if the operation occurred correctly
+   */
+  public CompletableFuture<Boolean> cancelOrderAsync(int orderNumber);
+
+  /**
+   * Asynchronous requestOrderStatus; the returned future completes once the
+   * server has answered
+   *
+   * @param orderNumber the order number
+   * @return future completed with true if the operation occurred correctly
+   */
+  public CompletableFuture<Boolean> requestOrderStatusAsync(int orderNumber);
+
+  /**
+   * Asynchronous getCateringCompanies; the returned future completes once the
+   * server has answered
+   *
+   * @return future completed with the collection of catering companies
+   */
+  public CompletableFuture<Collection<String>> getCateringCompaniesAsync();
+
+  /**
+   * Asynchronous getDistance; the returned future completes once the server has
+   * answered
+   *
+   * @param postCode1 post code of one location
+   * @param postCode2 post code of another location
+   * @return future completed with the distance between the two locations
+   */
+  public CompletableFuture<Float> getDistanceAsync(String postCode1, String postCode2);
+}
@@ -0,0 +1,104 @@
+/**
+ * Class for collapsing identical concurrent calls into one
+ */
+
+package shield;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets concurrent callers asking for the same key share one call.
+ *
+ * The first caller for a key makes the call; anyone asking for the same key before it
+ * finishes waits for and receives the same result (or exception) instead of making their own.
+ * Once the call finishes the key is forgotten, so results are never reused afterwards. Since
+ * the result object is shared between the callers, they must not modify it.
+ */
+public class SingleFlight {
+
+  /**
+   * A call that may fail with an IOException
+   *
+   * @param <T> the result type
+   */
+  public interface Call<T> {
+    public T call() throws IOException;
+  }
+
+  private final ConcurrentHashMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+  private final AtomicLong executed = new AtomicLong();
+  private final AtomicLong collapsed = new AtomicLong();
+
+  /**
+   * Makes the call, or waits for the identical call already in flight
+   *
+   * @param key identifies the call, compared with equals
+   * @param call the call to make if none is in flight for the key
+   * @param <T> the result type
+   * @return the result of the call
+   * @throws IOException the call failed with an IOException, or the wait was interrupted
+   * @throws RuntimeException the call failed with a RuntimeException
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T execute(Object key, Call<T> call) throws IOException {
+    CompletableFuture<Object> ours = new CompletableFuture<>();
+    CompletableFuture<Object> theirs = inFlight.putIfAbsent(key, ours);
+
+    if (theirs != null) {
+      collapsed.incrementAndGet();
+      return (T) await(theirs);
+    }
+
+    executed.incrementAndGet();
+    try {
+      T result = call.call();
+      ours.complete(result);
+      return result;
+    } catch (IOException | RuntimeException | Error e) {
+      ours.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, ours);
+    }
+  }
+
+  /**
+   * Returns the number of calls actually made
+   *
+   * @return number of calls made
+   */
+  public long getExecutedCalls() { return executed.get(); }
+
+  /**
+   * Returns the number of callers that shared a call already in flight instead of making their own
+   *
+   * @return number of collapsed calls
+   */
+  public long getCollapsedCalls() { return collapsed.get(); }
+
+  private static Object await(CompletableFuture<Object> call) throws IOException {
+    try {
+      return call.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for an identical call");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IOException(cause);
+    }
+  }
+}
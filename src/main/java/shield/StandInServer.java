@@ -0,0 +1,616 @@
+/**
+ * Class for running the stand-in SEPP server over HTTP
+ */
+
+package shield;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves a StandInService over HTTP/1.1 with keep-alive, from a single Selector event loop.
+ *
+ * The event loop thread accepts connections and does all socket reads and writes, so an idle
+ * connection costs no thread and little memory and tens of thousands can be held open at once.
+ * Requests are read through one shared direct buffer and handed to a small pool of worker
+ * threads, whose replies are encoded into pooled direct buffers and written back by the event
+ * loop. Food box listings never change, so their complete responses are encoded once into
+ * read-only direct buffers and written straight from the event loop without involving a worker
+ * or copying. Each connection has at most one request in progress; pipelined requests wait.
+ *
+ * Run with 'gradle standIn', or directly with the arguments [port] [data directory] [threads],
+ * e.g. 5000 . 4, which are also the defaults apart from threads, which defaults to one per
+ * processor. Clients then reach it at client.cfg's http://localhost:5000 with no Python needed.
+ */
+public class StandInServer implements AutoCloseable {
+
+  private static final int READ_BUFFER_SIZE = 64 * 1024;
+  private static final int RESPONSE_BUFFER_SIZE = 8 * 1024;
+  private static final int MAX_POOLED_BUFFERS = 1024;
+  private static final int MAX_REQUEST_SIZE = 1024 * 1024;
+  private static final int BACKLOG = 4096;
+
+  /**
+   * Private variables created:
+   *
+   * The service answering requests and its handlers by path
+   * The listening channel and the selector the event loop waits on
+   * The event loop thread and the workers running the handlers
+   * The direct buffer every read goes through, used only by the event loop
+   * Work handed back to the event loop by the workers
+   * Direct buffers for encoding replies into, and how many are pooled
+   * The complete food box responses by dietary preference, used only by the event loop
+   * Whether the server is still running
+   */
+  private final StandInService service;
+  private final Map<String, RequestHandler> handlers;
+  private final ServerSocketChannel serverChannel;
+  private final Selector selector;
+  private final Thread eventLoop;
+  private final ExecutorService workers;
+  private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+  private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+  private final Queue<ByteBuffer> responseBuffers = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pooledBuffers = new AtomicInteger();
+  private final Map<String, ByteBuffer> foodBoxResponses = new HashMap<>();
+  private volatile boolean running = true;
+
+  /**
+   * Class constructor, starting the server
+   *
+   * @param service the service answering requests
+   * @param port the port to listen on, or 0 for any free port
+   * @param threads the number of worker threads
+   * @throws IOException the port could not be bound
+   */
+  public StandInServer(StandInService service, int port, int threads) throws IOException {
+    this(service, Collections.emptyMap(), port, threads);
+  }
+
+  /**
+   * Class constructor, starting the server with some endpoints answered by other handlers
+   *
+   * @param service the service answering requests
+   * @param overrides handlers by path used instead of the service's own, e.g. to make an endpoint slow
+   * @param port the port to listen on, or 0 for any free port
+   * @param threads the number of worker threads
+   * @throws IOException the port could not be bound
+   */
+  StandInServer(StandInService service, Map<String, RequestHandler> overrides, int port, int threads)
+      throws IOException {
+    this.service = service;
+    handlers = new HashMap<>(service.getHandlers());
+    handlers.putAll(overrides);
+
+    selector = Selector.open();
+    serverChannel = ServerSocketChannel.open();
+    serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+    serverChannel.bind(new InetSocketAddress(port), BACKLOG);
+    serverChannel.configureBlocking(false);
+    serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+    workers = Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "stand-in-worker");
+      thread.setDaemon(true);
+      return thread;
+    });
+    eventLoop = new Thread(this::run, "stand-in-selector");
+    eventLoop.setDaemon(true);
+    eventLoop.start();
+  }
+
+  /**
+   * Returns the port the server listens on
+   *
+   * @return the port
+   */
+  public int getPort() { return serverChannel.socket().getLocalPort(); }
+
+  /**
+   * Stops the server, closing every connection and abandoning requests in progress
+   */
+  @Override
+  public void close() {
+    running = false;
+    selector.wakeup();
+    try {
+      eventLoop.join(5000);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    workers.shutdownNow();
+  }
+
+  public static void main(String[] args) throws IOException {
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+    String dataDirectory = args.length > 1 ? args[1] : ".";
+    int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+    StandInService service = new StandInService(Paths.get(dataDirectory));
+    StandInServer server = new StandInServer(service, port, threads);
+    System.out.println("Stand-in SEPP server listening on http://localhost:" + server.getPort()
+        + " with " + threads + " workers, data from " + Paths.get(dataDirectory).toAbsolutePath().normalize());
+
+    // the server's threads are daemons, so keep the JVM alive until it is killed
+    try {
+      Thread.currentThread().join();
+    } catch (InterruptedException e) {
+      server.close();
+    }
+  }
+
+  /**
+   * The event loop: accepts, reads and writes until the server is closed
+   */
+  private void run() {
+    while (running) {
+      try {
+        selector.select();
+      } catch (IOException e) {
+        e.printStackTrace();
+        break;
+      }
+
+      Runnable task;
+      while ((task = tasks.poll()) != null) {
+        task.run();
+      }
+
+      Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+      while (keys.hasNext()) {
+        SelectionKey key = keys.next();
+        keys.remove();
+        if (key.isAcceptable()) {
+          try {
+            accept();
+          } catch (IOException e) {
+            // e.g. out of file descriptors; keep serving the connections already open
+            e.printStackTrace();
+          }
+          continue;
+        }
+        try {
+          Connection connection = (Connection) key.attachment();
+          if (key.isReadable()) {
+            read(connection);
+          }
+          if (key.isValid() && key.isWritable()) {
+            write(connection);
+          }
+        } catch (IOException | CancelledKeyException e) {
+          closeChannel(key);
+        }
+      }
+    }
+
+    for (SelectionKey key : selector.keys()) {
+      closeChannel(key);
+    }
+    try {
+      selector.close();
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
+  private void accept() throws IOException {
+    SocketChannel channel;
+    while ((channel = serverChannel.accept()) != null) {
+      channel.configureBlocking(false);
+      channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+      SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+      key.attach(new Connection(channel, key));
+    }
+  }
+
+  private void read(Connection connection) throws IOException {
+    readBuffer.clear();
+    if (connection.channel.read(readBuffer) < 0) {
+      closeChannel(connection.key);
+      return;
+    }
+    readBuffer.flip();
+
+    if (connection.pending == null) {
+      // usually a whole request arrives in one read and is parsed straight from the shared buffer
+      process(connection, readBuffer);
+    } else {
+      connection.append(readBuffer);
+      process(connection, connection.pending);
+    }
+  }
+
+  /**
+   * Dispatches the next complete request in the input, keeping any bytes after it for later
+   */
+  private void process(Connection connection, ByteBuffer input) throws IOException {
+    Request request;
+    try {
+      request = Request.parse(input);
+      if (request == null && input.remaining() > MAX_REQUEST_SIZE) {
+        throw new HttpStatusException(413);
+      }
+    } catch (HttpStatusException e) {
+      connection.pending = null;
+      connection.closeAfterWrite = true;
+      connection.key.interestOps(0);
+      send(connection, encode(e.getStatusCode(), e.getMessage().getBytes(StandardCharsets.UTF_8), false), true);
+      return;
+    }
+
+    if (input == connection.pending) {
+      if (!input.hasRemaining()) {
+        connection.pending = null;
+      }
+    } else if (input.hasRemaining()) {
+      connection.append(input);
+    }
+
+    if (request != null) {
+      dispatch(connection, request);
+    }
+  }
+
+  private void dispatch(Connection connection, Request request) throws IOException {
+    connection.busy = true;
+    connection.closeAfterWrite = !request.keepAlive;
+    connection.key.interestOps(0);
+
+    ByteBuffer cached = cachedResponse(request);
+    if (cached != null) {
+      send(connection, cached.duplicate(), false);
+      return;
+    }
+
+    try {
+      workers.execute(() -> {
+        ByteBuffer response = respond(request);
+        tasks.add(() -> {
+          try {
+            send(connection, response, true);
+          } catch (IOException | CancelledKeyException e) {
+            closeChannel(connection.key);
+          }
+        });
+        selector.wakeup();
+      });
+    } catch (RejectedExecutionException e) {
+      // the server is closing
+      closeChannel(connection.key);
+    }
+  }
+
+  /**
+   * Returns the unchanging response to a request, or null if it must be handled by a worker
+   */
+  private ByteBuffer cachedResponse(Request request) {
+    if (!request.keepAlive || !request.method.equals("GET") || !request.path.equals("/showFoodBox")) {
+      return null;
+    }
+
+    String diet = request.parameters.getOrDefault("dietaryPreference", "");
+    ByteBuffer response = foodBoxResponses.get(diet);
+    if (response == null) {
+      String reply = service.getFoodBoxReply(diet);
+      if (reply == null) {
+        return null;
+      }
+      ByteBuffer encoded = encode(200, reply.getBytes(StandardCharsets.UTF_8), true);
+      response = ByteBuffer.allocateDirect(encoded.remaining()).put(encoded);
+      release(encoded);
+      response.flip();
+      response = response.asReadOnlyBuffer();
+      foodBoxResponses.put(diet, response);
+    }
+    return response;
+  }
+
+  /**
+   * Runs a request's handler and encodes its reply; called on a worker thread
+   */
+  private ByteBuffer respond(Request request) {
+    int status = 200;
+    String reply;
+    try {
+      RequestHandler handler = handlers.get(request.path);
+      if (handler == null) {
+        throw new HttpStatusException(404);
+      }
+
+      String body = null;
+      if (request.body != null) {
+        try (InputStream in = ContentEncoding.decode(new ByteArrayInputStream(request.body), request.contentEncoding)) {
+          body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+      }
+      reply = handler.handle(request.method, request.parameters, body);
+    } catch (HttpStatusException e) {
+      status = e.getStatusCode();
+      reply = e.getMessage();
+    } catch (Exception e) {
+      e.printStackTrace();
+      status = 500;
+      reply = "Internal Server Error";
+    }
+    return encode(status, reply.getBytes(StandardCharsets.UTF_8), request.keepAlive);
+  }
+
+  private void send(Connection connection, ByteBuffer response, boolean pooled) throws IOException {
+    if (!connection.channel.isOpen()) {
+      if (pooled) {
+        release(response);
+      }
+      return;
+    }
+    connection.output = response;
+    connection.pooledOutput = pooled;
+    write(connection);
+  }
+
+  private void write(Connection connection) throws IOException {
+    connection.channel.write(connection.output);
+    if (connection.output.hasRemaining()) {
+      connection.key.interestOps(SelectionKey.OP_WRITE);
+      return;
+    }
+
+    if (connection.pooledOutput) {
+      release(connection.output);
+    }
+    connection.output = null;
+    connection.busy = false;
+
+    if (connection.closeAfterWrite) {
+      closeChannel(connection.key);
+      return;
+    }
+    if (connection.pending != null) {
+      process(connection, connection.pending);
+    }
+    if (!connection.busy && connection.key.isValid()) {
+      connection.key.interestOps(SelectionKey.OP_READ);
+    }
+  }
+
+  /**
+   * Encodes a complete response, into a pooled direct buffer when it fits in one
+   */
+  private ByteBuffer encode(int status, byte[] body, boolean keepAlive) {
+    byte[] head = ("HTTP/1.1 " + status + " " + reason(status) + "\r\n"
+        + "Content-Type: text/html; charset=utf-8\r\n"
+        + "Content-Length: " + body.length + "\r\n"
+        + (keepAlive ? "" : "Connection: close\r\n")
+        + "\r\n").getBytes(StandardCharsets.ISO_8859_1);
+
+    ByteBuffer buffer;
+    if (head.length + body.length <= RESPONSE_BUFFER_SIZE) {
+      buffer = responseBuffers.poll();
+      if (buffer == null) {
+        buffer = ByteBuffer.allocateDirect(RESPONSE_BUFFER_SIZE);
+      } else {
+        pooledBuffers.decrementAndGet();
+        buffer.clear();
+      }
+    } else {
+      buffer = ByteBuffer.allocate(head.length + body.length);
+    }
+    buffer.put(head).put(body).flip();
+    return buffer;
+  }
+
+  private void release(ByteBuffer buffer) {
+    if (buffer.isDirect() && buffer.capacity() == RESPONSE_BUFFER_SIZE) {
+      if (pooledBuffers.incrementAndGet() <= MAX_POOLED_BUFFERS) {
+        responseBuffers.offer(buffer);
+      } else {
+        pooledBuffers.decrementAndGet();
+      }
+    }
+  }
+
+  private static void closeChannel(SelectionKey key) {
+    key.cancel();
+    try {
+      key.channel().close();
+    } catch (IOException e) {
+      // nothing more to do with it
+    }
+  }
+
+  private static String reason(int status) {
+    switch (status) {
+      case 200:
+        return "OK";
+      case 400:
+        return "Bad Request";
+      case 404:
+        return "Not Found";
+      case 405:
+        return "Method Not Allowed";
+      case 411:
+        return "Length Required";
+      case 413:
+        return "Payload Too Large";
+      default:
+        return status >= 500 ? "Internal Server Error" : "Error";
+    }
+  }
+
+  /**
+   * A client connection and the request it has in progress; used only by the event loop
+   */
+  private static final class Connection {
+
+    final SocketChannel channel;
+    final SelectionKey key;
+    ByteBuffer pending;
+    ByteBuffer output;
+    boolean pooledOutput;
+    boolean busy;
+    boolean closeAfterWrite;
+
+    Connection(SocketChannel channel, SelectionKey key) {
+      this.channel = channel;
+      this.key = key;
+    }
+
+    /**
+     * Keeps bytes received beyond the last complete request
+     */
+    void append(ByteBuffer data) {
+      if (pending == null) {
+        pending = ByteBuffer.allocate(Math.max(1024, data.remaining()));
+        pending.flip();
+      }
+      pending.compact();
+      if (pending.remaining() < data.remaining()) {
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + data.remaining()));
+        pending.flip();
+        larger.put(pending);
+        pending = larger;
+      }
+      pending.put(data);
+      pending.flip();
+    }
+  }
+
+  /**
+   * A parsed HTTP request
+   */
+  private static final class Request {
+
+    final String method;
+    final String path;
+    final Map<String, String> parameters;
+    final byte[] body;
+    final String contentEncoding;
+    final boolean keepAlive;
+
+    private Request(String method, String path, Map<String, String> parameters, byte[] body,
+                    String contentEncoding, boolean keepAlive) {
+      this.method = method;
+      this.path = path;
+      this.parameters = parameters;
+      this.body = body;
+      this.contentEncoding = contentEncoding;
+      this.keepAlive = keepAlive;
+    }
+
+    /**
+     * Parses the request at the input's position, moving past it
+     *
+     * @param input the bytes received
+     * @return the request, or null if it has not all arrived yet, leaving the position unchanged
+     * @throws HttpStatusException the request is malformed or unsupported
+     */
+    static Request parse(ByteBuffer input) {
+      int start = input.position();
+      int limit = input.limit();
+      int headEnd = -1;
+      for (int i = start; i + 3 < limit; i++) {
+        if (input.get(i) == '\r' && input.get(i + 1) == '\n' && input.get(i + 2) == '\r' && input.get(i + 3) == '\n') {
+          headEnd = i;
+          break;
+        }
+      }
+      if (headEnd < 0) {
+        return null;
+      }
+
+      char[] chars = new char[headEnd - start];
+      for (int i = 0; i < chars.length; i++) {
+        chars[i] = (char) (input.get(start + i) & 0xff);
+      }
+      String[] lines = new String(chars).split("\r\n");
+      String[] requestLine = lines[0].split(" ");
+      if (requestLine.length != 3) {
+        throw new HttpStatusException(400);
+      }
+
+      int contentLength = 0;
+      String contentEncoding = null;
+      String connection = "";
+      for (int i = 1; i < lines.length; i++) {
+        int colon = lines[i].indexOf(':');
+        if (colon <= 0) {
+          throw new HttpStatusException(400);
+        }
+        String value = lines[i].substring(colon + 1).trim();
+        switch (lines[i].substring(0, colon).trim().toLowerCase(Locale.ROOT)) {
+          case "content-length":
+            try {
+              contentLength = Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+              throw new HttpStatusException(400);
+            }
+            break;
+          case "content-encoding":
+            contentEncoding = value;
+            break;
+          case "connection":
+            connection = value;
+            break;
+          case "transfer-encoding":
+            // clients always send a Content-Length, so chunked bodies are not supported
+            if (!value.equalsIgnoreCase("identity")) {
+              throw new HttpStatusException(411);
+            }
+            break;
+          default:
+            break;
+        }
+      }
+      if (contentLength < 0) {
+        throw new HttpStatusException(400);
+      }
+      if (contentLength > MAX_REQUEST_SIZE) {
+        throw new HttpStatusException(413);
+      }
+
+      int bodyStart = headEnd + 4;
+      if (limit - bodyStart < contentLength) {
+        return null;
+      }
+      byte[] body = null;
+      if (contentLength > 0 || requestLine[0].equals("POST")) {
+        body = new byte[contentLength];
+        ByteBuffer view = input.duplicate();
+        view.position(bodyStart);
+        view.get(body);
+      }
+      input.position(bodyStart + contentLength);
+
+      boolean keepAlive = requestLine[2].equals("HTTP/1.1")
+          ? !connection.equalsIgnoreCase("close")
+          : connection.equalsIgnoreCase("keep-alive");
+
+      String target = requestLine[1];
+      int query = target.indexOf('?');
+      String path = query < 0 ? target : target.substring(0, query);
+      Map<String, String> parameters = query < 0 ? new HashMap<>() : InProcessTransport.parseQuery(target.substring(query + 1));
+      return new Request(requestLine[0], path, parameters, body, contentEncoding, keepAlive);
+    }
+  }
+}
@@ -0,0 +1,555 @@
+/**
+ * Class for the state and endpoints of the stand-in SEPP server
+ */
+
+package shield;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves every endpoint of the SEPP server (server.py) from memory.
+ *
+ * State is loaded once from the server's data files (shielding_individuals.txt, providers.txt,
+ * supermarkets.txt, stock.txt, food_boxes.txt, orders.csv and supermarket_orders.csv) and is
+ * never written back, so load tests leave the files untouched. Replies match the Python server's,
+ * including its quirks such as order ids counting the header line of orders.csv. Endpoints are
+ * safe to call from many threads at once; only registering a provider takes a lock shared by
+ * requests, while order updates lock just the order concerned.
+ */
+public class StandInService {
+
+  /**
+   * Delivery statuses, as numbered by the server
+   */
+  private static final int PLACED = 0;
+  private static final int PACKED = 1;
+  private static final int DISPATCHED = 2;
+  private static final int DELIVERED = 3;
+  private static final int CANCELLED = 4;
+
+  private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+  private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
+
+  /**
+   * Private variables created:
+   *
+   * The registered individuals' details by CHI
+   * The registered catering companies and supermarkets
+   * The catering and supermarket orders by order id
+   * The id the next catering order gets
+   * The price of each stock item by item id
+   * The number of items an order records a quantity for
+   * The /showFoodBox replies by dietary preference, "" giving every box
+   * The endpoint handlers by path
+   */
+  private final Map<String, String[]> individuals = new ConcurrentHashMap<>();
+  private final Providers caterers;
+  private final Providers supermarkets;
+  private final Map<String, Order> orders = new ConcurrentHashMap<>();
+  private final Map<String, Order> supermarketOrders = new ConcurrentHashMap<>();
+  private final AtomicInteger nextOrderId;
+  private final Map<Integer, Double> prices = new HashMap<>();
+  private final int itemCount;
+  private final Map<String, String> foodBoxReplies = new HashMap<>();
+  private final Map<String, RequestHandler> handlers = new LinkedHashMap<>();
+
+  /**
+   * Class constructor, loading the state from the data files
+   *
+   * @param dataDirectory the directory holding the server's data files
+   * @throws IOException a data file could not be read
+   */
+  public StandInService(Path dataDirectory) throws IOException {
+    for (String line : readLines(dataDirectory.resolve("shielding_individuals.txt"))) {
+      if (!line.isEmpty()) {
+        String[] fields = line.split(",", -1);
+        individuals.put(fields[0], fields);
+      }
+    }
+
+    caterers = new Providers(readLines(dataDirectory.resolve("providers.txt")));
+    supermarkets = new Providers(readLines(dataDirectory.resolve("supermarkets.txt")));
+
+    List<String> stock = readLines(dataDirectory.resolve("stock.txt"));
+    for (String line : stock.subList(Math.min(1, stock.size()), stock.size())) {
+      String[] fields = line.split(",");
+      if (fields.length > 2) {
+        prices.put(Integer.parseInt(fields[0].trim()), Double.parseDouble(fields[2].trim()));
+      }
+    }
+
+    // the header names order_id, one column per item and seven trailing columns
+    List<String> orderLines = readLines(dataDirectory.resolve("orders.csv"));
+    itemCount = orderLines.isEmpty() ? prices.size() : orderLines.get(0).split(",").length - 8;
+    for (String line : orderLines.subList(Math.min(1, orderLines.size()), orderLines.size())) {
+      String[] fields = line.split(",", -1);
+      if (fields.length >= itemCount + 8) {
+        int[] quantities = new int[itemCount + 1];
+        for (int i = 1; i <= itemCount; i++) {
+          quantities[i] = Integer.parseInt(fields[i].trim());
+        }
+        orders.put(fields[0], new Order(quantities, fields));
+      }
+    }
+    nextOrderId = new AtomicInteger(orderLines.size() + 1);
+
+    for (String line : readLines(dataDirectory.resolve("supermarket_orders.csv"))) {
+      String[] fields = line.split(",", -1);
+      if (fields.length >= 8) {
+        supermarketOrders.put(fields[0], new Order(null, fields));
+      }
+    }
+
+    loadFoodBoxes(new String(Files.readAllBytes(dataDirectory.resolve("food_boxes.txt")), StandardCharsets.UTF_8));
+
+    handlers.put("/", (method, parameters, body) -> "");
+    handlers.put("/registerShieldingIndividual", get(this::registerShieldingIndividual));
+    handlers.put("/registerCateringCompany", get(parameters -> register(caterers, parameters)));
+    handlers.put("/registerSupermarket", get(parameters -> register(supermarkets, parameters)));
+    handlers.put("/showFoodBox", get(this::showFoodBox));
+    handlers.put("/placeOrder", this::placeOrder);
+    handlers.put("/editOrder", this::editOrder);
+    handlers.put("/cancelOrder", get(this::cancelOrder));
+    handlers.put("/requestStatus", get(this::requestStatus));
+    handlers.put("/updateOrderStatus", get(parameters -> updateOrderStatus(orders, parameters)));
+    handlers.put("/getCaterers", get(parameters -> caterers.reply));
+    handlers.put("/distance", get(this::distance));
+    handlers.put("/recordSupermarketOrder", get(this::recordSupermarketOrder));
+    handlers.put("/updateSupermarketOrderStatus", get(parameters -> updateOrderStatus(supermarketOrders, parameters)));
+  }
+
+  /**
+   * Returns the endpoint handlers by path
+   *
+   * @return unmodifiable map of handlers
+   */
+  public Map<String, RequestHandler> getHandlers() { return Collections.unmodifiableMap(handlers); }
+
+  /**
+   * Registers every endpoint with an in-process transport
+   *
+   * @param transport the transport to serve
+   * @return the transport
+   */
+  public InProcessTransport registerWith(InProcessTransport transport) {
+    handlers.forEach(transport::register);
+    return transport;
+  }
+
+  /**
+   * Returns the /showFoodBox reply for a dietary preference, which never changes
+   *
+   * @param dietaryPreference the diet, or "" for every food box
+   * @return the JSON list of food boxes, or null if no food box has the diet
+   */
+  public String getFoodBoxReply(String dietaryPreference) { return foodBoxReplies.get(dietaryPreference); }
+
+  /**
+   * A GET-only endpoint reading just the query parameters
+   */
+  private interface QueryHandler {
+    String handle(Map<String, String> parameters) throws IOException;
+  }
+
+  private static RequestHandler get(QueryHandler handler) {
+    return (method, parameters, body) -> {
+      if (!method.equals("GET")) {
+        throw new HttpStatusException(405);
+      }
+      return handler.handle(parameters);
+    };
+  }
+
+  private String registerShieldingIndividual(Map<String, String> parameters) {
+    String CHI = parameters.get("CHI");
+    if (CHI == null) {
+      return "must specify CHI";
+    }
+
+    // made-up details, as the server's stand-in for the PHS lookup does
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    String[] details = {
+        "EH" + random.nextInt(1, 18) + " " + random.nextInt(1, 10) + randomLetters(2, 2).toUpperCase(),
+        randomLetters(5, 9), randomLetters(5, 9), randomDigits(11)};
+
+    String[] record = {CHI, details[0], details[1], details[2], details[3]};
+    if (individuals.putIfAbsent(CHI, record) != null) {
+      return "already registered";
+    }
+    return GSON.toJson(details);
+  }
+
+  private static String register(Providers providers, Map<String, String> parameters) {
+    String name = parameters.get("business_name");
+    String postcode = parameters.get("postcode");
+    if (name == null || postcode == null) {
+      return "must specify provider_id";
+    }
+    return providers.register(name, postcode) ? "registered new" : "already registered";
+  }
+
+  private String showFoodBox(Map<String, String> parameters) {
+    String reply = foodBoxReplies.get(parameters.getOrDefault("dietaryPreference", ""));
+    return reply == null ? "[]" : reply;
+  }
+
+  private String placeOrder(String method, Map<String, String> parameters, String body) throws IOException {
+    if (!method.equals("POST")) {
+      throw new HttpStatusException(405);
+    }
+
+    String individualId = parameters.get("individual_id");
+    String catererId = caterers.id(parameters.get("catering_business_name"), parameters.get("catering_postcode"));
+    if (individualId == null || !individuals.containsKey(individualId) || catererId == null) {
+      return "must provide individual_id and catering_id. The individual and the catering must be registered "
+          + "before placing an order";
+    }
+
+    int[] quantities = readContents(body);
+    String id = String.valueOf(nextOrderId.getAndIncrement());
+    orders.put(id, new Order(quantities, individualId, catererId));
+    return id;
+  }
+
+  private String editOrder(String method, Map<String, String> parameters, String body) throws IOException {
+    if (!method.equals("POST")) {
+      throw new HttpStatusException(405);
+    }
+
+    String id = parameters.get("order_id");
+    if (id == null) {
+      return "must provide order_id";
+    }
+
+    int[] quantities = readContents(body);
+    Order order = orders.get(id);
+    if (order == null) {
+      return "False";
+    }
+
+    synchronized (order) {
+      if (order.status != PLACED) {
+        return "False";
+      }
+      // an edit may only take items away
+      for (int i = 1; i <= itemCount; i++) {
+        if (quantities[i] > order.quantities[i]) {
+          return "False";
+        }
+      }
+      order.quantities = quantities;
+    }
+    return "True";
+  }
+
+  private String cancelOrder(Map<String, String> parameters) {
+    String id = parameters.get("order_id");
+    if (id == null) {
+      return "must provide order_id";
+    }
+
+    Order order = orders.get(id);
+    if (order == null) {
+      return "False";
+    }
+    synchronized (order) {
+      if (order.status == DISPATCHED || order.status == DELIVERED || order.status == CANCELLED) {
+        return "False";
+      }
+      order.status = CANCELLED;
+    }
+    return "True";
+  }
+
+  private String requestStatus(Map<String, String> parameters) {
+    String id = parameters.get("order_id");
+    if (id == null) {
+      // the server has no reply for this case
+      throw new HttpStatusException(500);
+    }
+
+    Order order = orders.get(id);
+    if (order == null) {
+      return "-1";
+    }
+    synchronized (order) {
+      return String.valueOf(order.status);
+    }
+  }
+
+  private static String updateOrderStatus(Map<String, Order> orders, Map<String, String> parameters) {
+    String id = parameters.get("order_id");
+    String newStatus = parameters.get("newStatus");
+    if (id == null || newStatus == null) {
+      return "must provide order_id and newStatus";
+    }
+
+    int status;
+    switch (newStatus.toLowerCase()) {
+      case "packed":
+        status = PACKED;
+        break;
+      case "dispatched":
+        status = DISPATCHED;
+        break;
+      case "delivered":
+        status = DELIVERED;
+        break;
+      default:
+        return "can either deliver, pack, or dispatch the order";
+    }
+
+    Order order = orders.get(id);
+    if (order == null) {
+      return "False";
+    }
+    synchronized (order) {
+      if (status <= order.status) {
+        return "False";
+      }
+      order.status = status;
+      String now = ZonedDateTime.now(ZoneOffset.UTC).format(TIMESTAMP);
+      if (status == PACKED) {
+        order.packed = now;
+      } else if (status == DISPATCHED) {
+        order.dispatched = now;
+      } else {
+        order.delivered = now;
+      }
+    }
+    return "True";
+  }
+
+  private String recordSupermarketOrder(Map<String, String> parameters) {
+    String orderNumber = parameters.get("order_number");
+    String individualId = parameters.get("individual_id");
+    String supermarketId = supermarkets.id(parameters.get("supermarket_business_name"),
+        parameters.get("supermarket_postcode"));
+    if (orderNumber == null || individualId == null || !individuals.containsKey(individualId)
+        || supermarketId == null) {
+      return "require individual_id, order_number, supermarket_business_name, and supermarket_postcode. "
+          + "The individual must be registered and the supermarket must be registered";
+    }
+
+    Order order = new Order(null, individualId, supermarketId);
+    return supermarketOrders.putIfAbsent(orderNumber, order) == null ? "True" : "False";
+  }
+
+  private String distance(Map<String, String> parameters) {
+    String postcode1 = parameters.get("postcode1");
+    String postcode2 = parameters.get("postcode2");
+    if (postcode1 == null || postcode2 == null) {
+      throw new HttpStatusException(500);
+    }
+
+    try {
+      String[] parts1 = postcode1.replaceFirst("EH", "").split("_");
+      String[] parts2 = postcode2.replaceFirst("EH", "").split("_");
+
+      int cost = 10 * Math.abs(Integer.parseInt(parts1[0]) - Integer.parseInt(parts2[0]));
+      for (int i = 0; i < parts1[1].length(); i++) {
+        char c1 = Character.toLowerCase(parts1[1].charAt(i));
+        char c2 = Character.toLowerCase(parts2[1].charAt(i));
+        if (c1 >= 'a' && c1 <= 'z' && c2 >= 'a' && c2 <= 'z') {
+          cost += Math.abs(c1 - c2);
+        } else if (c1 >= '0' && c1 <= '9' && c2 >= '0' && c2 <= '9') {
+          cost += Math.abs(c1 - c2);
+        }
+      }
+
+      // the diameter of Edinburgh in metres over the largest possible cost
+      return String.valueOf(18334.0 * cost / (99 * 10 + 25 * 2 + 9));
+    } catch (NumberFormatException | IndexOutOfBoundsException e) {
+      throw new HttpStatusException(500);
+    }
+  }
+
+  /**
+   * Reads the quantity ordered of each item from an order's contents
+   *
+   * @param body the JSON order contents
+   * @return the quantities indexed by item id
+   */
+  private int[] readContents(String body) {
+    if (body == null) {
+      throw new HttpStatusException(400);
+    }
+
+    int[] quantities = new int[itemCount + 1];
+    try {
+      JsonArray contents = new JsonParser().parse(body).getAsJsonObject().getAsJsonArray("contents");
+      for (JsonElement element : contents) {
+        JsonObject item = element.getAsJsonObject();
+        int id = item.get("id").getAsInt();
+        if (!prices.containsKey(id)) {
+          // the server fails looking up the item's price
+          throw new HttpStatusException(500);
+        }
+        if (id >= 1 && id <= itemCount) {
+          quantities[id] += item.get("quantity").getAsInt();
+        }
+      }
+    } catch (JsonParseException | IllegalStateException | NullPointerException | ClassCastException
+        | NumberFormatException e) {
+      throw new HttpStatusException(400);
+    }
+    return quantities;
+  }
+
+  /**
+   * Prepares the /showFoodBox replies, with keys sorted as the server's JSON encoder does
+   */
+  private void loadFoodBoxes(String json) {
+    List<Object> all = new ArrayList<>();
+    Map<String, List<Object>> byDiet = new HashMap<>();
+    for (JsonElement box : new JsonParser().parse(json).getAsJsonArray()) {
+      Object sorted = sortKeys(box);
+      all.add(sorted);
+      byDiet.computeIfAbsent(box.getAsJsonObject().get("diet").getAsString(), diet -> new ArrayList<>()).add(sorted);
+    }
+
+    foodBoxReplies.put("", GSON.toJson(all));
+    byDiet.forEach((diet, boxes) -> foodBoxReplies.put(diet, GSON.toJson(boxes)));
+  }
+
+  private static Object sortKeys(JsonElement element) {
+    if (element.isJsonObject()) {
+      Map<String, Object> sorted = new TreeMap<>();
+      element.getAsJsonObject().entrySet().forEach(e -> sorted.put(e.getKey(), sortKeys(e.getValue())));
+      return sorted;
+    }
+    if (element.isJsonArray()) {
+      List<Object> list = new ArrayList<>();
+      element.getAsJsonArray().forEach(e -> list.add(sortKeys(e)));
+      return list;
+    }
+    return element;
+  }
+
+  private static String randomLetters(int min, int max) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    char[] letters = new char[random.nextInt(min, max + 1)];
+    for (int i = 0; i < letters.length; i++) {
+      letters[i] = (char) ('a' + random.nextInt(26));
+    }
+    return new String(letters);
+  }
+
+  private static String randomDigits(int count) {
+    // the server draws each "digit" from 0 to 10 inclusive
+    StringBuilder digits = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      digits.append(ThreadLocalRandom.current().nextInt(11));
+    }
+    return digits.toString();
+  }
+
+  private static List<String> readLines(Path file) throws IOException {
+    if (!Files.exists(file)) {
+      return new ArrayList<>();
+    }
+    return Files.readAllLines(file, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * The registered catering companies or supermarkets, one "id,name,postcode" line each
+   */
+  private static final class Providers {
+
+    private final List<String> lines;
+    private final Map<String, String> ids = new HashMap<>();
+    private volatile String reply;
+
+    Providers(List<String> lines) {
+      this.lines = lines;
+      for (String line : lines) {
+        String[] fields = line.split(",");
+        if (fields.length > 2) {
+          ids.putIfAbsent(fields[1] + "," + fields[2], fields[0]);
+        }
+      }
+      reply = GSON.toJson(lines);
+    }
+
+    synchronized boolean register(String name, String postcode) {
+      if (ids.containsKey(name + "," + postcode)) {
+        return false;
+      }
+      // the id is the number of lines before this one, blank ones included
+      String id = String.valueOf(lines.size());
+      lines.add(id + "," + name + "," + postcode);
+      ids.put(name + "," + postcode, id);
+      reply = GSON.toJson(lines);
+      return true;
+    }
+
+    synchronized String id(String name, String postcode) {
+      return name == null || postcode == null ? null : ids.get(name + "," + postcode);
+    }
+  }
+
+  /**
+   * A catering or supermarket order; fields other than the parties are guarded by the order's lock
+   */
+  private static final class Order {
+
+    int[] quantities;
+    final String individualId;
+    final String providerId;
+    final String ordered;
+    String packed;
+    String dispatched;
+    String delivered;
+    int status;
+
+    Order(int[] quantities, String individualId, String providerId) {
+      this.quantities = quantities;
+      this.individualId = individualId;
+      this.providerId = providerId;
+      this.ordered = ZonedDateTime.now(ZoneOffset.UTC).format(TIMESTAMP);
+      this.packed = "";
+      this.dispatched = "";
+      this.delivered = "";
+      this.status = PLACED;
+    }
+
+    /**
+     * Loads an order from its CSV fields, whose last seven are the same for both kinds of order
+     */
+    Order(int[] quantities, String[] fields) {
+      int n = fields.length;
+      this.quantities = quantities;
+      this.individualId = fields[n - 7];
+      this.providerId = fields[n - 6];
+      this.ordered = fields[n - 5];
+      this.packed = fields[n - 4];
+      this.dispatched = fields[n - 3];
+      this.delivered = fields[n - 2];
+      this.status = Integer.parseInt(fields[n - 1].trim());
+    }
+  }
+}
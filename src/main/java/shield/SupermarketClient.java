@@ -1,11 +1,11 @@
-/**
- *
- */
-
-package shield;
-
-public interface SupermarketClient extends SupermarketClientEndpoints {
-  public boolean isRegistered();
-  public String getName();
-  public String getPostCode();
-}
+/**
+ *
+ */
+
+package shield;
+
+public interface SupermarketClient extends SupermarketClientEndpoints {
+  public boolean isRegistered();
+  public String getName();
+  public String getPostCode();
+}
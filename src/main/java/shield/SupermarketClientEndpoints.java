@@ -1,57 +1,102 @@
-/**
- * Interface for the communication endpoints of an application for a
- * supermarket.
- *
- * These endpoints represent the communication endpoints to the server
- *
- * @author
- *
- *//**
- * Interface for the communication endpoints of an application for a
- * supermarket.
- *
- * These endpoints represent the communication endpoints to the server
- *
- * @author
- *
- */
-
-package shield;
-
-public interface SupermarketClientEndpoints {
-  /**
-   * Returns true if the operation occurred correctly
-   *
-   * @param name name of the business
-   * @param postCode post code of the business
-   * @return true if the operation occurred correctly
-   */
-  public boolean registerSupermarket(String name, String postCode);
-
-  // **UPDATE2** ADDED METHOD
-  /**
-   * Returns true if the operation occurred correctly.
-   *
-   * Note that there is a dedicated server endpoint for implementing this called
-   * recordSupermarketOrder
-   *
-   * @param CHI CHI number of the shiedling individual associated with this order
-   * @param orderNumber the order number
-   * @return true if the operation occurred correctly
-   */
-  public boolean recordSupermarketOrder(String CHI, int orderNumber);
-
-  // **UPDATE2** COMMENT ONLY
-  // **UPDATE**
-  /**
-   * Returns true if the operation occurred correctly.
-   *
-   * Note that there is a dedicated server endpoint for implementing this called
-   * updateSupermarketOrderStatus
-   *
-   * @param orderNumber the order number
-   * @param status status of the order for the requested number
-   * @return true if the operation occurred correctly
-   */
-  public boolean updateOrderStatus(int orderNumber, String status);
-}
\ No newline at end of file
+/**
+ * Interface for the communication endpoints of an application for a
+ * supermarket.
+ *
+ * These endpoints represent the communication endpoints to the server
+ *
+ * @author
+ *
+ *//**
+ * Interface for the communication endpoints of an application for a
+ * supermarket.
+ *
+ * These endpoints represent the communication endpoints to the server
+ *
+ * @author
+ *
+ */
+
+package shield;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+public interface SupermarketClientEndpoints {
+  /**
+   * Returns true if the operation occurred correctly
+   *
+   * @param name name of the business
+   * @param postCode post code of the business
+   * @return true if the operation occurred correctly
+   */
+  public boolean registerSupermarket(String name, String postCode);
+
+  // **UPDATE2** ADDED METHOD
+  /**
+   * Returns true if the operation occurred correctly.
+   *
+   * Note that there is a dedicated server endpoint for implementing this called
+   * recordSupermarketOrder
+   *
+   * @param CHI CHI number of the shiedling individual associated with this order
+   * @param orderNumber the order number
+   * @return true if the operation occurred correctly
+   */
+  public boolean recordSupermarketOrder(String CHI, int orderNumber);
+
+  /**
+   * Returns true if every order was recorded.
+   *
+   * Calls recordSupermarketOrder for each order number, concurrently when
+   * fan-out is enabled in client.cfg
+   *
+   * @param CHI CHI number of the shiedling individual associated with these orders
+   * @param orderNumbers the order numbers
+   * @return true if every order was recorded
+   */
+  public boolean recordSupermarketOrders(String CHI, Collection<Integer> orderNumbers);
+
+  // **UPDATE2** COMMENT ONLY
+  // **UPDATE**
+  /**
+   * Returns true if the operation occurred correctly.
+   *
+   * Note that there is a dedicated server endpoint for implementing this called
+   * updateSupermarketOrderStatus
+   *
+   * @param orderNumber the order number
+   * @param status status of the order for the requested number
+   * @return true if the operation occurred correctly
+   */
+  public boolean updateOrderStatus(int orderNumber, String status);
+
+  /**
+   * Asynchronous registerSupermarket; the returned future completes once the
+   * server has answered
+   *
+   * @param name name of the business
+   * @param postCode post code of the business
+   * @return future completed with true if the operation occurred correctly
+   */
+  public CompletableFuture<Boolean> registerSupermarketAsync(String name, String postCode);
+
+  /**
+   * Asynchronous recordSupermarketOrder; the returned future completes once the
+   * server has answered
+   *
+   * @param CHI CHI number of the shiedling individual associated with this order
+   * @param orderNumber the order number
+   * @return future completed with true if the operation occurred correctly
+   */
+  public CompletableFuture<Boolean> recordSupermarketOrderAsync(String CHI, int orderNumber);
+
+  /**
+   * Asynchronous updateOrderStatus; the returned future completes once the
+   * server has answered
+   *
+   * @param orderNumber the order number
+   * @param status status of the order for the requested number
+   * @return future completed with true if the operation occurred correctly
+   */
+  public CompletableFuture<Boolean> updateOrderStatusAsync(int orderNumber, String status);
+}
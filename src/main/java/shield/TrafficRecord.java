@@ -0,0 +1,47 @@
+/**
+ * Class for one recorded request and its outcome
+ */
+
+package shield;
+
+/**
+ * One line of a traffic recording, written by RecordingTransport and served by ReplayTransport
+ */
+final class TrafficRecord {
+
+  /**
+   * Fields recorded, null ones being left out of the file:
+   *
+   * When the request was sent, in milliseconds since the epoch
+   * The HTTP method, GET or POST
+   * The endpoint URL requested
+   * The request body, for a POST
+   * 200 for a reply, the HTTP status of a failed request, or 0 if no reply was received
+   * The reply, for a status of 200
+   * What went wrong, for a status of 0
+   * How long the request took, in microseconds
+   */
+  long timestamp;
+  String method;
+  String endpoint;
+  String body;
+  int status;
+  String response;
+  String error;
+  long durationMicros;
+
+  /**
+   * Returns the path and query of an endpoint URL, leaving out the scheme, host and port
+   *
+   * @param endpoint the endpoint URL
+   * @return the request target, e.g. /requestStatus?order_id=1
+   */
+  static String target(String endpoint) {
+    int start = endpoint.indexOf("://");
+    if (start < 0) {
+      return endpoint;
+    }
+    start = endpoint.indexOf('/', start + 3);
+    return start < 0 ? "/" : endpoint.substring(start);
+  }
+}
@@ -0,0 +1,163 @@
+/**
+ * Interface for how the clients reach the server
+ */
+
+package shield;
+
+import com.google.gson.stream.JsonReader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends the clients' requests to the server and returns its replies.
+ *
+ * Only doGETRequest(String) and doPOSTRequest(String, String) must be implemented; the
+ * other methods default to building on those, with the asynchronous ones running on the
+ * calling thread.
+ */
+public interface Transport {
+
+  /**
+   * Returns the transport clients use when not given one: ClientIO, unless client.cfg sets
+   * replay.file to answer from a recording instead, or record.file to record every request
+   *
+   * @return the default transport
+   */
+  public static Transport getDefault() { return ClientIOTransport.DEFAULT; }
+
+  /**
+   * Performs a GET request and returns the endpoint's reply
+   *
+   * @param endpoint a URL giving location of an endpoint
+   * @return the endpoint's response
+   * @throws IOException an input/output error occurred
+   * @throws RuntimeException a protocol processing error occurred
+   */
+  public String doGETRequest(String endpoint) throws RuntimeException, IOException;
+
+  /**
+   * Performs a POST request and returns the endpoint's reply
+   *
+   * @param endpoint a URL giving location of an endpoint
+   * @param data the data to post to the endpoint as string
+   * @return the endpoint's response
+   * @throws IOException an input/output error occurred
+   * @throws RuntimeException a protocol processing error occurred
+   */
+  public String doPOSTRequest(String endpoint, String data) throws RuntimeException, IOException;
+
+  /**
+   * Performs a GET request and decodes the endpoint's JSON reply
+   *
+   * @param endpoint a URL giving location of an endpoint
+   * @param decoder decoder reading the reply
+   * @param <T> the decoded type
+   * @return the decoded response
+   * @throws IOException an input/output error occurred or the reply is not valid JSON
+   * @throws RuntimeException a protocol processing error occurred
+   */
+  public default <T> T doGETRequest(String endpoint, ResponseDecoder<T> decoder)
+      throws RuntimeException, IOException {
+    JsonReader reader = new JsonReader(new StringReader(doGETRequest(endpoint)));
+    reader.setLenient(true);
+    return decoder.decode(reader);
+  }
+
+  /**
+   * Performs a GET request that only reads from the server, so may be repeated or shared
+   *
+   * @param endpoint a URL giving location of an endpoint
+   * @return the endpoint's response
+   * @throws IOException an input/output error occurred
+   * @throws RuntimeException a protocol processing error occurred
+   */
+  public default String doIdempotentGETRequest(String endpoint) throws RuntimeException, IOException {
+    return doGETRequest(endpoint);
+  }
+
+  /**
+   * Performs a GET request that only reads from the server, so may be repeated or shared, and decodes the
+   * endpoint's JSON reply. The decoded object may be shared with other callers so must not be modified
+   *
+   * @param endpoint a URL giving location of an endpoint
+   * @param decoder decoder reading the reply
+   * @param <T> the decoded type
+   * @return the decoded response
+   * @throws IOException an input/output error occurred or the reply is not valid JSON
+   * @throws RuntimeException a protocol processing error occurred
+   */
+  public default <T> T doIdempotentGETRequest(String endpoint, ResponseDecoder<T> decoder)
+      throws RuntimeException, IOException {
+    return doGETRequest(endpoint, decoder);
+  }
+
+  /**
+   * Performs a POST request whose body is written as bytes
+   *
+   * @param endpoint a URL giving location of an endpoint
+   * @param data writer of the data to post to the endpoint
+   * @return the endpoint's response
+   * @throws IOException an input/output error occurred
+   * @throws RuntimeException a protocol processing error occurred
+   */
+  public default String doPOSTRequest(String endpoint, RequestBody data) throws RuntimeException, IOException {
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    data.writeTo(body);
+    return doPOSTRequest(endpoint, new String(body.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Performs a GET request without blocking the calling thread
+   *
+   * @param endpoint a URL giving location of an endpoint
+   * @return future completed with the endpoint's response, or exceptionally as for doGETRequest
+   */
+  public default CompletableFuture<String> doGETRequestAsync(String endpoint) {
+    CompletableFuture<String> future = new CompletableFuture<>();
+    try {
+      future.complete(doGETRequest(endpoint));
+    } catch (IOException | RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * Performs a GET request without blocking the calling thread and decodes the JSON reply
+   *
+   * @param endpoint a URL giving location of an endpoint
+   * @param decoder decoder reading the reply
+   * @param <T> the decoded type
+   * @return future completed with the decoded response, or exceptionally as for doGETRequest
+   */
+  public default <T> CompletableFuture<T> doGETRequestAsync(String endpoint, ResponseDecoder<T> decoder) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    try {
+      future.complete(doGETRequest(endpoint, decoder));
+    } catch (IOException | RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * Performs a POST request without blocking the calling thread
+   *
+   * @param endpoint a URL giving location of an endpoint
+   * @param data the data to post to the endpoint as string
+   * @return future completed with the endpoint's response, or exceptionally as for doPOSTRequest
+   */
+  public default CompletableFuture<String> doPOSTRequestAsync(String endpoint, String data) {
+    CompletableFuture<String> future = new CompletableFuture<>();
+    try {
+      future.complete(doPOSTRequest(endpoint, data));
+    } catch (IOException | RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+}
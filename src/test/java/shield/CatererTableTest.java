@@ -0,0 +1,67 @@
+/**
+ * Class for caterer table unit tests
+ */
+
+package shield;
+
+import org.junit.jupiter.api.*;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * tests for CatererTable
+ */
+public class CatererTableTest {
+
+    /**
+     * test each record's id, name and postcode are read, and incomplete records left out
+     */
+    @Test
+    public void testParse() {
+        CatererTable table = CatererTable.parse(
+            " [\"\", \"1,Catering1,EH56ED\",\"x,Fish, Chips & Co,EH7_5QQ\" ,\"no commas\",\"3,Catering3,EH108XY\"]\n");
+
+        assertEquals(3, table.size());
+        assertEquals(Arrays.asList("Catering1", "Fish, Chips & Co", "Catering3"), table.getNames());
+        assertEquals(1, table.getId(0));
+        assertEquals(-1, table.getId(1));
+        assertEquals("EH56ED", table.getPostCode(0));
+        assertEquals("EH7_5QQ", table.getPostCode(1));
+        assertEquals("EH108XY", table.getPostCode(2));
+        assertEquals(2, table.indexOfName("Catering3"));
+        assertEquals(-1, table.indexOfName("Catering2"));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.getName(3));
+    }
+
+    /**
+     * test records with JSON escapes are decoded
+     */
+    @Test
+    public void testEscapes() {
+        CatererTable table = CatererTable.parse("[\"7,Caf\\u00e9 \\\"Nord\\\" \\\\ Co,EH1_1AA\"]");
+        assertEquals(1, table.size());
+        assertEquals(7, table.getId(0));
+        assertEquals("Café \"Nord\" \\ Co", table.getName(0));
+        assertEquals("EH1_1AA", table.getPostCode(0));
+    }
+
+    /**
+     * test empty and malformed replies, and comparing tables
+     */
+    @Test
+    public void testEmptyMalformedAndSame() {
+        assertSame(CatererTable.EMPTY, CatererTable.parse("[]"));
+        assertSame(CatererTable.EMPTY, CatererTable.parse("[\"\"]"));
+        for (String reply : new String[] {"", "[", "[\"1,a,b\"", "[\"1,a,b\",]", "[1]", "[\"1,a,b\"] x", "{}"}) {
+            assertThrows(IllegalArgumentException.class, () -> CatererTable.parse(reply), reply);
+        }
+
+        CatererTable table = CatererTable.parse("[\"1,a,EH1_1AA\",\"2,b,EH2_2BB\"]");
+        assertTrue(table.hasSameCompanies(CatererTable.parse("[ \"1,a,EH1_1AA\", \"2,b,EH2_2BB\" ]")));
+        assertFalse(table.hasSameCompanies(CatererTable.parse("[\"1,a,EH1_1AA\",\"2,b,EH2_2BC\"]")));
+        assertFalse(table.hasSameCompanies(CatererTable.parse("[\"1,a,EH1_1AA\"]")));
+        assertFalse(table.hasSameCompanies(CatererTable.EMPTY));
+    }
+}
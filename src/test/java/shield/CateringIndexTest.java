@@ -0,0 +1,116 @@
+/**
+ * Class for catering index unit tests
+ */
+
+package shield;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * tests for CateringIndex, and for the client's ranking of catering companies with it
+ */
+public class CateringIndexTest {
+
+    /**
+     * test the index finds the same companies, in the same order, as measuring every company
+     */
+    @Test
+    public void testSameAsMeasuringEveryCompany() {
+        Random random = new Random(1);
+        StringBuilder reply = new StringBuilder("[");
+        for (int i = 0; i < 500; i++) {
+            reply.append(i == 0 ? "\"" : ",\"").append(i).append(",caterer,")
+                .append(i % 50 == 0 ? "EH7_5Q1" : TestPostcodes.randomPostCode(random, 30, false)).append('"');
+        }
+        CatererTable companies = CatererTable.parse(reply.append(']').toString());
+        CateringIndex index = new CateringIndex(companies);
+        assertArrayEquals(new int[] {0, 50, 100, 150, 200, 250, 300, 350, 400, 450}, index.getUnlocated());
+
+        for (int query = 0; query < 100; query++) {
+            int position = PostcodeLocator.locate(TestPostcodes.randomPostCode(random, 30, false));
+            Integer[] expected = new Integer[companies.size()];
+            for (int i = 0; i < expected.length; i++) {
+                expected[i] = i;
+            }
+            expected = Arrays.stream(expected).filter(i -> index.getPosition(i) != PostcodeLocator.UNKNOWN)
+                .sorted(Comparator.comparingInt((Integer i) -> PostcodeLocator.cost(position, index.getPosition(i)))
+                    .thenComparingInt(i -> i))
+                .toArray(Integer[]::new);
+
+            for (int k : new int[] {1, 5, 1000}) {
+                int[] nearest = index.nearest(position, k);
+                assertEquals(Math.min(k, expected.length), nearest.length);
+                for (int i = 0; i < nearest.length; i++) {
+                    assertEquals((int) expected[i], nearest[i]);
+                }
+            }
+        }
+        assertEquals(0, index.nearest(PostcodeLocator.locate("EH1_1AA"), 0).length);
+        assertEquals(0, new CateringIndex(CatererTable.EMPTY).nearest(PostcodeLocator.locate("EH1_1AA"), 3).length);
+    }
+
+    /**
+     * test the client ranks companies that cannot be located among those that can, and unknown ones last
+     */
+    @Test
+    public void testClientNearestCateringCompanies() throws IOException {
+        StandInService service = new StandInService(Paths.get("."));
+        InProcessTransport transport = service.registerWith(new InProcessTransport());
+        transport.register("/getCaterers", (method, parameters, body) ->
+            "[\"1,nine,EH9_1AA\",\"2,digit,EH7_5Q2\",\"3,seven,EH7_5QA\",\"4,nowhere,XX\",\"5,another,EH7_5QA\"]");
+
+        ShieldingIndividualClientImp client = new ShieldingIndividualClientImp("http://localhost:5000", transport);
+        assertEquals(new ArrayList<>(), client.getNearestCateringCompanies("EH7_5QQ", 3));
+        client.getCateringCompanies();
+
+        assertEquals(Arrays.asList("digit", "seven", "another"), client.getNearestCateringCompanies("EH7_5QQ", 3));
+        assertEquals(Arrays.asList("digit", "seven", "another", "nine", "nowhere"),
+            client.getNearestCateringCompanies("EH7_5QQ", 10));
+        assertEquals(Arrays.asList("nine"), client.getNearestCateringCompanies("EH9_1AB", 1));
+        assertEquals(new ArrayList<>(), client.getNearestCateringCompanies("EH7_5QQ", 0));
+        assertEquals(new ArrayList<>(), client.getNearestCateringCompanies(null, 3));
+    }
+
+    /**
+     * test the distances to companies that cannot be located are asked for once per postcode measured from,
+     * however many companies are wanted and however often
+     */
+    @Test
+    public void testUnlocatedDistancesAskedOnce() throws IOException {
+        StandInService service = new StandInService(Paths.get("."));
+        InProcessTransport transport = service.registerWith(new InProcessTransport());
+        AtomicInteger distanceRequests = new AtomicInteger();
+        transport.register("/distance", (method, parameters, body) -> {
+            distanceRequests.incrementAndGet();
+            return parameters.get("postcode2").endsWith("1") ? "1.0" : "900.0";
+        });
+        transport.register("/getCaterers", (method, parameters, body) ->
+            "[\"1,near,EH7_5QA\",\"2,far,EH9_9ZZ\",\"3,odd,EH4_4Z1\",\"4,odder,EH4_4Z2\",\"5,odd twin,EH4_4Z1\"]");
+
+        ShieldingIndividualClientImp client = new ShieldingIndividualClientImp("http://localhost:5000", transport);
+        client.getCateringCompanies();
+
+        assertEquals(Arrays.asList("odd"), client.getNearestCateringCompanies("EH7_5QQ", 1));
+        assertEquals(2, distanceRequests.get());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Arrays.asList("odd"), client.getNearestCateringCompanies("EH7_5QQ", 1));
+        }
+        assertEquals(Arrays.asList("odd", "odd twin", "near"), client.getNearestCateringCompanies("EH7_5QQ", 3));
+        assertEquals(2, distanceRequests.get());
+
+        assertEquals(Arrays.asList("odd", "odd twin", "near", "odder"),
+            client.getNearestCateringCompanies("EH7_5QB", 4));
+        assertEquals(Arrays.asList("odd"), client.getNearestCateringCompanies("EH7_5QB", 1));
+        assertEquals(4, distanceRequests.get());
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Class for circuit breaker and retry policy unit tests
+ */
+
+package shield;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * tests for CircuitBreaker and RetryPolicy
+ */
+public class CircuitBreakerTest {
+
+    /**
+     * test the breaker opens after enough failures in a row and closes after a successful trial
+     */
+    @Test
+    public void testOpenAndRecover() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(3, 100);
+
+        breaker.recordFailure();
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+
+        Thread.sleep(150);
+        assertTrue(breaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        // only one trial at a time
+        assertFalse(breaker.allowRequest());
+
+        breaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+    }
+
+    /**
+     * test a failed trial opens the breaker again
+     */
+    @Test
+    public void testFailedTrial() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(1, 50);
+        breaker.recordFailure();
+        Thread.sleep(80);
+
+        assertTrue(breaker.allowRequest());
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+    }
+
+    /**
+     * test an abandoned trial lets the next request be the trial
+     */
+    @Test
+    public void testAbandonedTrial() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(1, 50);
+        breaker.recordFailure();
+        Thread.sleep(80);
+
+        assertTrue(breaker.allowRequest());
+        breaker.recordAbandoned();
+        assertTrue(breaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+
+    /**
+     * test backoff stays within its jittered exponential bounds
+     */
+    @Test
+    public void testBackoffBounds() {
+        RetryPolicy policy = new RetryPolicy(5, 100, 350);
+        for (int i = 0; i < 200; i++) {
+            assertTrue(policy.backoffMillis(1) <= 100);
+            assertTrue(policy.backoffMillis(2) <= 200);
+            assertTrue(policy.backoffMillis(3) <= 350);
+            assertTrue(policy.backoffMillis(30) <= 350);
+            assertTrue(policy.backoffMillis(1) >= 0);
+        }
+        assertEquals(1, new RetryPolicy(0, 100, 100).getMaxAttempts());
+    }
+
+    /**
+     * test which failures are retried
+     */
+    @Test
+    public void testRetryable() {
+        assertTrue(RetryPolicy.isRetryable(new IOException("connection reset")));
+        assertTrue(RetryPolicy.isRetryable(new SocketTimeoutException()));
+        assertTrue(RetryPolicy.isRetryable(new HttpStatusException(503)));
+        assertFalse(RetryPolicy.isRetryable(new HttpStatusException(404)));
+        assertFalse(RetryPolicy.isRetryable(new InterruptedIOException()));
+        assertFalse(RetryPolicy.isRetryable(new CircuitOpenException("/distance")));
+        assertFalse(RetryPolicy.isRetryable(new IllegalStateException()));
+    }
+}
@@ -0,0 +1,410 @@
+/**
+ * Class for ClientIO unit tests
+ */
+
+package shield;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+import javax.net.ssl.SSLSession;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * tests for ClientIO, run against a local in-JVM http server
+ */
+public class ClientIOTest {
+    private final static String FOOD_BOXES = "[\n {\"contents\":[{\"id\":1,\"name\":\"cucumbers\",\"quantity\":1}," +
+            "{\"id\":2,\"name\":\"tomatoes\",\"quantity\":2}],\"delivered_by\":\"catering\",\"diet\":\"none\"," +
+            "\"id\":1,\"name\":\"box a\"},\n {\"id\":4,\"diet\":\"vegan\",\"extra\":[1,{\"a\":null}]," +
+            "\"contents\":[]}\n]\n";
+
+    private HttpServer server;
+    private String endpoint;
+    private final AtomicInteger flakyCalls = new AtomicInteger();
+    private final AtomicInteger downCalls = new AtomicInteger();
+
+    @BeforeEach
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/echo", exchange -> {
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+            if (body.length == 0) {
+                body = exchange.getRequestURI().getQuery().getBytes(StandardCharsets.UTF_8);
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.createContext("/showFoodBox", exchange -> {
+            byte[] body = FOOD_BOXES.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.createContext("/gzip", exchange -> {
+            String accepted = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (accepted == null || !accepted.contains("gzip")) {
+                replyWithStatus(exchange, 406);
+                return;
+            }
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(FOOD_BOXES.getBytes(StandardCharsets.UTF_8));
+            }
+            byte[] body = compressed.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.createContext("/flaky", exchange -> {
+            if (flakyCalls.incrementAndGet() <= 2) {
+                replyWithStatus(exchange, 503);
+                return;
+            }
+            byte[] body = "0".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.createContext("/down", exchange -> {
+            downCalls.incrementAndGet();
+            replyWithStatus(exchange, 503);
+        });
+        server.createContext("/missing", exchange -> {
+            replyWithStatus(exchange, 404);
+        });
+        server.start();
+        endpoint = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    public void teardown() {
+        server.stop(0);
+    }
+
+    /**
+     * test a GET and a POST round trip
+     */
+    @Test
+    public void testRoundTrip() throws IOException {
+        assertEquals("order_id=1", ClientIO.doGETRequest(endpoint + "/echo?order_id=1"));
+        assertEquals("{\"contents\":[]}", ClientIO.doPOSTRequest(endpoint + "/echo?x=1", "{\"contents\":[]}"));
+    }
+
+    /**
+     * test a body written as bytes is posted in full, including one larger than the reused buffer
+     */
+    @Test
+    public void testRequestBodyPost() throws IOException {
+        ShieldingIndividualClientImp client = new ShieldingIndividualClientImp(null);
+        assertEquals("{\"contents\":[{\"id\":1,\"name\":\"cucumbers\",\"quantity\":20}]}",
+                ClientIO.doPOSTRequest(endpoint + "/echo?x=1", new ContentsEncoder(client.setContents(1, "cucumbers", 20))));
+
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            large.append('a');
+        }
+        assertEquals(large.toString(),
+                ClientIO.doPOSTRequest(endpoint + "/echo?x=1", out -> out.write(large.toString().getBytes())));
+        assertEquals("[]", ClientIO.doPOSTRequest(endpoint + "/echo?x=1", out -> out.write("[]".getBytes())));
+    }
+
+    /**
+     * test line breaks in a response are dropped
+     */
+    @Test
+    public void testLineBreaksDropped() throws IOException {
+        assertEquals("[1,2]", ClientIO.doPOSTRequest(endpoint + "/echo?x=1", "[1,\n2]\n"));
+        assertEquals("[1,2]", ClientIO.doPOSTRequestAsync(endpoint + "/echo?x=1", "[1,\r\n2]").join());
+    }
+
+    /**
+     * test a non 200 response is reported as a RuntimeException
+     */
+    @Test
+    public void testErrorStatus() {
+        assertThrows(RuntimeException.class, () -> ClientIO.doGETRequest(endpoint + "/missing"));
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> ClientIO.doGETRequestAsync(endpoint + "/missing").join());
+        assertTrue(e.getCause().getMessage().contains("404"));
+    }
+
+    /**
+     * test many asynchronous requests can be in flight at once
+     */
+    @Test
+    public void testAsyncRequests() {
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            futures.add(ClientIO.doGETRequestAsync(endpoint + "/echo?order_id=" + i));
+        }
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals("order_id=" + i, futures.get(i).join());
+        }
+    }
+
+    /**
+     * test food boxes are decoded straight from the response stream
+     */
+    @Test
+    public void testStreamingFoodBoxDecode() throws IOException {
+        List<ShieldingIndividualClientImp.MessagingFoodBox> boxes =
+                ClientIO.doGETRequest(endpoint + "/showFoodBox?dietaryPreference=none", FoodBoxDecoder.INSTANCE);
+
+        assertEquals(2, boxes.size());
+        assertEquals("box a", boxes.get(0).name);
+        assertEquals(2, boxes.get(0).contents.size());
+        assertEquals("tomatoes", boxes.get(0).contents.get(1).name);
+        assertEquals(2, boxes.get(0).contents.get(1).quantity);
+        assertEquals(4, boxes.get(1).id);
+        assertEquals("vegan", boxes.get(1).diet);
+        assertTrue(boxes.get(1).contents.isEmpty());
+
+        List<ShieldingIndividualClientImp.MessagingFoodBox> asyncBoxes =
+                ClientIO.doGETRequestAsync(endpoint + "/showFoodBox", FoodBoxDecoder.INSTANCE).join();
+        assertEquals(2, asyncBoxes.size());
+    }
+
+    /**
+     * test gzip replies are decompressed on every path and the connection is still reused
+     */
+    @Test
+    public void testGzipResponse() throws IOException {
+        String expected = FOOD_BOXES.replace("\n", "");
+        assertEquals(expected, ClientIO.doGETRequest(endpoint + "/gzip"));
+
+        long reusedBefore = ClientIO.getConnectionPool().getReusedConnections();
+        assertEquals(expected, ClientIO.doGETRequest(endpoint + "/gzip"));
+        if (!ClientIO.usesHttpClient()) {
+            assertEquals(reusedBefore + 1, ClientIO.getConnectionPool().getReusedConnections());
+        }
+
+        assertEquals(expected, ClientIO.doPOSTRequest(endpoint + "/gzip", "{}"));
+        assertEquals(expected, ClientIO.doGETRequestAsync(endpoint + "/gzip").join());
+        assertEquals(2, ClientIO.doGETRequest(endpoint + "/gzip", FoodBoxDecoder.INSTANCE).size());
+        assertEquals(2, ClientIO.doGETRequestAsync(endpoint + "/gzip", FoodBoxDecoder.INSTANCE).join().size());
+    }
+
+    /**
+     * test idempotent GETs are retried after server errors but plain GETs are not
+     */
+    @Test
+    public void testIdempotentGETRetried() throws IOException {
+        HttpStatusException e = assertThrows(HttpStatusException.class,
+                () -> ClientIO.doGETRequest(endpoint + "/flaky?order_id=1"));
+        assertEquals(503, e.getStatusCode());
+        assertEquals(1, flakyCalls.get());
+
+        assertEquals("0", ClientIO.doIdempotentGETRequest(endpoint + "/flaky?order_id=1"));
+        assertEquals(3, flakyCalls.get());
+    }
+
+    /**
+     * test an endpoint that keeps failing is no longer called until its breaker lets a trial through
+     */
+    @Test
+    public void testCircuitBreakerOpens() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            assertThrows(HttpStatusException.class, () -> ClientIO.doGETRequest(endpoint + "/down"));
+        }
+        assertEquals(5, downCalls.get());
+
+        assertThrows(CircuitOpenException.class, () -> ClientIO.doGETRequest(endpoint + "/down?x=1"));
+        assertThrows(CircuitOpenException.class, () -> ClientIO.doIdempotentGETRequest(endpoint + "/down"));
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> ClientIO.doGETRequestAsync(endpoint + "/down").join());
+        assertTrue(e.getCause() instanceof CircuitOpenException);
+        assertEquals(5, downCalls.get());
+
+        // other endpoints of the same server are unaffected
+        assertEquals("order_id=1", ClientIO.doGETRequest(endpoint + "/echo?order_id=1"));
+    }
+
+    /**
+     * test a read that stalls past the usual latency of its endpoint is sent again, and the faster reply used
+     */
+    @Test
+    public void testSlowReadHedged() throws Exception {
+        StandInService service = new StandInService(Paths.get("."));
+        RequestHandler requestStatus = service.getHandlers().get("/requestStatus");
+        AtomicInteger calls = new AtomicInteger();
+        AtomicBoolean stallNext = new AtomicBoolean();
+        CountDownLatch release = new CountDownLatch(1);
+        RequestHandler stalling = (method, parameters, body) -> {
+            calls.incrementAndGet();
+            if (stallNext.getAndSet(false)) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return requestStatus.handle(method, parameters, body);
+        };
+
+        HedgePolicy previous = ClientIO.setHedgePolicy(new HedgePolicy(true, 95, 5, 50));
+        try (StandInServer standIn = new StandInServer(service,
+                Collections.singletonMap("/requestStatus", stalling), 0, 4)) {
+            String url = "http://localhost:" + standIn.getPort() + "/requestStatus?order_id=100000";
+
+            // nothing is hedged until enough reply times are known
+            long hedges = ClientIO.getHedgedRequests();
+            for (int i = 0; i < 5; i++) {
+                assertEquals("-1", ClientIO.doIdempotentGETRequest(url));
+            }
+            assertEquals(5, calls.get());
+            assertEquals(hedges, ClientIO.getHedgedRequests());
+
+            stallNext.set(true);
+            long start = System.nanoTime();
+            assertEquals("-1", ClientIO.doIdempotentGETRequest(url));
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue(elapsedMillis >= 50 && elapsedMillis < 5000, String.valueOf(elapsedMillis));
+            assertEquals(7, calls.get());
+            assertEquals(hedges + 1, ClientIO.getHedgedRequests());
+        } finally {
+            release.countDown();
+            ClientIO.setHedgePolicy(previous);
+        }
+    }
+
+    /**
+     * test the wait before hedging is the latency percentile, but never below the least delay
+     */
+    @Test
+    public void testHedgeDelay() {
+        HedgePolicy policy = new HedgePolicy(true, 50, 3, 5);
+        LatencyTracker latency = new LatencyTracker(16, 3);
+        latency.record(TimeUnit.MILLISECONDS.toNanos(20));
+        latency.record(TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals(-1, policy.delayNanos(latency));
+
+        latency.record(TimeUnit.MILLISECONDS.toNanos(2));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(5), policy.delayNanos(latency));
+        latency.record(TimeUnit.MILLISECONDS.toNanos(30));
+        latency.record(TimeUnit.MILLISECONDS.toNanos(40));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(20), policy.delayNanos(latency));
+    }
+
+    /**
+     * test a hedged request that stalls and loses has its reply body closed when the reply finally arrives
+     */
+    @Test
+    public void testLosingHedgeLegClosed() throws Exception {
+        ClientIO.ResponseReader<InputStream, String> reader = response -> {
+            try (InputStream in = response.body()) {
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        };
+        CompletableFuture<HttpResponse<InputStream>> stalled = new CompletableFuture<>();
+        CompletableFuture<HttpResponse<InputStream>> answered = new CompletableFuture<>();
+        CompletableFuture<String> loser = ClientIO.readHedgeLeg(stalled, reader);
+        CompletableFuture<String> winner = ClientIO.readHedgeLeg(answered, reader);
+
+        TrackedStream winning = new TrackedStream("1");
+        answered.complete(response(winning));
+        assertEquals("1", winner.get());
+        assertTrue(winning.closed);
+
+        // the stalled leg is given up on, then its headers arrive
+        loser.cancel(true);
+        TrackedStream losing = new TrackedStream("2");
+        stalled.complete(response(losing));
+        assertTrue(losing.closed);
+        assertEquals(1, losing.available());
+        assertTrue(loser.isCancelled());
+    }
+
+    /**
+     * Helper for failing a request with a short body, as a reply without one makes the test server close the
+     * connection straight after, which a plain GET reusing it could then not safely be resent after
+     */
+    private static void replyWithStatus(HttpExchange exchange, int status) throws IOException {
+        byte[] body = String.valueOf(status).getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    /**
+     * A reply body that remembers being closed
+     */
+    private static class TrackedStream extends ByteArrayInputStream {
+        volatile boolean closed;
+
+        TrackedStream(String body) {
+            super(body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static HttpResponse<InputStream> response(InputStream body) {
+        return new HttpResponse<InputStream>() {
+            @Override
+            public int statusCode() { return 200; }
+
+            @Override
+            public HttpRequest request() { return HttpRequest.newBuilder(uri()).build(); }
+
+            @Override
+            public Optional<HttpResponse<InputStream>> previousResponse() { return Optional.empty(); }
+
+            @Override
+            public HttpHeaders headers() { return HttpHeaders.of(Collections.emptyMap(), (name, value) -> true); }
+
+            @Override
+            public InputStream body() { return body; }
+
+            @Override
+            public Optional<SSLSession> sslSession() { return Optional.empty(); }
+
+            @Override
+            public URI uri() { return URI.create("http://localhost/requestStatus"); }
+
+            @Override
+            public HttpClient.Version version() { return HttpClient.Version.HTTP_1_1; }
+        };
+    }
+}
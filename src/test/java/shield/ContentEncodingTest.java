@@ -0,0 +1,72 @@
+/**
+ * Class for content encoding unit tests
+ */
+
+package shield;
+
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * tests for ContentEncoding
+ */
+public class ContentEncodingTest {
+    private final static String BODY = "{\"contents\":[{\"id\":1,\"name\":\"cucumbers\",\"quantity\":20}]}";
+
+    private String read(InputStream in) throws IOException {
+        try (InputStream body = in) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private byte[] deflate(boolean raw) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, raw);
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(out, deflater)) {
+            deflate.write(BODY.getBytes(StandardCharsets.UTF_8));
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+
+    /**
+     * test a gzipped request body decodes back to the original
+     */
+    @Test
+    public void testGzipRoundTrip() throws IOException {
+        byte[] data = BODY.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        ContentEncoding.gzip(data, data.length, compressed);
+
+        assertEquals(BODY, read(ContentEncoding.decode(new ByteArrayInputStream(compressed.toByteArray()), "gzip")));
+    }
+
+    /**
+     * test deflate bodies decode whether or not they are zlib wrapped
+     */
+    @Test
+    public void testDeflate() throws IOException {
+        assertEquals(BODY, read(ContentEncoding.decode(new ByteArrayInputStream(deflate(false)), "deflate")));
+        assertEquals(BODY, read(ContentEncoding.decode(new ByteArrayInputStream(deflate(true)), "Deflate")));
+    }
+
+    /**
+     * test uncompressed bodies are passed through and unknown encodings rejected
+     */
+    @Test
+    public void testIdentityAndUnsupported() throws IOException {
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        assertSame(body, ContentEncoding.decode(body, null));
+        assertSame(body, ContentEncoding.decode(body, "identity"));
+        assertThrows(IOException.class, () -> ContentEncoding.decode(body, "br"));
+    }
+}
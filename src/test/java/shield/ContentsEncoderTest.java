@@ -0,0 +1,59 @@
+/**
+ * Class for order contents encoder unit tests
+ */
+
+package shield;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * tests for ContentsEncoder
+ */
+public class ContentsEncoderTest {
+
+    private String encode(List<ShieldingIndividualClientImp.MessagingContents> contents) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ContentsEncoder(contents).writeTo(out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * test contents are encoded as the JSON body the server expects
+     */
+    @Test
+    public void testEncodeContents() throws IOException {
+        ShieldingIndividualClientImp client = new ShieldingIndividualClientImp(null);
+        ArrayList<ShieldingIndividualClientImp.MessagingContents> contents = client.setContents(1, "cucumbers", 20);
+        contents.addAll(client.setContents(-12, "tomatoes", 0));
+
+        assertEquals("{\"contents\":[{\"id\":1,\"name\":\"cucumbers\",\"quantity\":20}," +
+                "{\"id\":-12,\"name\":\"tomatoes\",\"quantity\":0}]}", encode(contents));
+        assertEquals("{\"contents\":[]}", encode(new ArrayList<>()));
+    }
+
+    /**
+     * test item names are escaped and written as UTF-8
+     */
+    @Test
+    public void testEncodeEscapedNames() throws IOException {
+        String name = "say \"hi\"\\\n crème brûlée € 🥒";
+        String json = encode(new ShieldingIndividualClientImp(null).setContents(3, name, 1));
+
+        JsonObject parsed = new JsonParser().parse(json).getAsJsonObject();
+        JsonArray items = parsed.getAsJsonArray("contents");
+        assertEquals(1, items.size());
+        assertEquals(name, items.get(0).getAsJsonObject().get("name").getAsString());
+        assertEquals(3, items.get(0).getAsJsonObject().get("id").getAsInt());
+    }
+}
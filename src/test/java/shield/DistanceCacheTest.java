@@ -0,0 +1,89 @@
+/**
+ * Class for distance cache unit tests
+ */
+
+package shield;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * tests for DistanceCache, and for its use in finding the closest catering company
+ */
+public class DistanceCacheTest {
+
+    /**
+     * test a pair is found whichever way round and whatever the case of its postcodes
+     */
+    @Test
+    public void testSymmetric() {
+        DistanceCache cache = new DistanceCache(10);
+        assertEquals(-1, cache.get("EH1_1AA", "EH2_2BB"));
+
+        cache.put("EH1_1AA", "EH2_2BB", 3.5f);
+        assertEquals(3.5f, cache.get("EH1_1AA", "EH2_2BB"));
+        assertEquals(3.5f, cache.get("eh2_2bb", " EH1_1AA"));
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * test failed lookups are not kept and the cache never holds more than its size
+     */
+    @Test
+    public void testBounds() {
+        DistanceCache cache = new DistanceCache(2);
+        cache.put("EH1_1AA", "EH2_2BB", -1);
+        assertEquals(0, cache.size());
+
+        cache.put("EH1_1AA", "EH2_2BB", 1);
+        cache.put("EH1_1AA", "EH3_3CC", 2);
+        cache.put("EH1_1AA", "EH4_4DD", 3);
+        assertTrue(cache.size() <= 2);
+        assertEquals(3, cache.get("EH4_4DD", "EH1_1AA"));
+
+        DistanceCache off = new DistanceCache(0);
+        off.put("EH1_1AA", "EH2_2BB", 1);
+        assertEquals(-1, off.get("EH1_1AA", "EH2_2BB"));
+    }
+
+    /**
+     * test the closest catering company is found with one distance request per postcode and reused until
+     * the list of companies changes
+     */
+    @Test
+    public void testClosestCateringCompanyReused() throws IOException {
+        StandInService service = new StandInService(Paths.get("."));
+        InProcessTransport transport = service.registerWith(new InProcessTransport());
+        AtomicInteger distanceRequests = new AtomicInteger();
+        RequestHandler distance = service.getHandlers().get("/distance");
+        transport.register("/distance", (method, parameters, body) -> {
+            distanceRequests.incrementAndGet();
+            return distance.handle(method, parameters, body);
+        });
+        transport.register("/registerShieldingIndividual", (method, parameters, body) ->
+            "[EH7_5QQ,ann,smith,01234567890]");
+        String[] caterers = {"[\"1,near,EH7_4AA\",\"2,far,EH99_1ZZ\",\"3,also near,EH7_4AA\"]"};
+        transport.register("/getCaterers", (method, parameters, body) -> caterers[0]);
+
+        ShieldingIndividualClientImp client = new ShieldingIndividualClientImp("http://localhost:5000", transport);
+        client.registerShieldingIndividual("0101011234");
+        client.getCateringCompanies();
+
+        String closest = client.getClosestCateringCompany();
+        int requests = distanceRequests.get();
+        assertTrue(requests <= 2, String.valueOf(requests));
+        assertEquals(closest, client.getClosestCateringCompany());
+        client.getCateringCompanies();
+        assertEquals(closest, client.getClosestCateringCompany());
+        assertEquals(requests, distanceRequests.get());
+
+        caterers[0] = "[\"2,far,EH99_1ZZ\"]";
+        client.getCateringCompanies();
+        assertEquals("far", client.getClosestCateringCompany());
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * Class for distance file unit tests
+ */
+
+package shield;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * tests for DistanceFile, and for its use by DistanceCache
+ */
+public class DistanceFileTest {
+
+    private Path path;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        path = Files.createTempFile("distances", ".bin");
+        Files.delete(path);
+    }
+
+    @AfterEach
+    public void teardown() {
+        // a mapped file cannot be deleted on some systems until it is unmapped, so leave it for the JVM's exit
+        path.toFile().deleteOnExit();
+    }
+
+    /**
+     * test distances kept are read back, including by a file opened afterwards
+     */
+    @Test
+    public void testReopened() throws IOException {
+        try (DistanceFile file = new DistanceFile(path, 64)) {
+            assertEquals(-1, file.get("EH1_1AA\nEH2_2BB"));
+            file.put("EH1_1AA\nEH2_2BB", 3.5f);
+            file.put("EH1_1AA\nEH3_3CC", -1);
+            file.put("EH1_1AA\nEH2_2BB", 4.5f);
+            file.put("EH1_1AA\n" + new String(new char[40]).replace('\0', 'X'), 1);
+            assertEquals(3.5f, file.get("EH1_1AA\nEH2_2BB"));
+        }
+
+        try (DistanceFile file = new DistanceFile(path, 1024)) {
+            assertEquals(64, file.getSlots());
+            assertEquals(3.5f, file.get("EH1_1AA\nEH2_2BB"));
+            assertEquals(-1, file.get("EH1_1AA\nEH3_3CC"));
+            assertEquals(-1, file.get("EH1_1AA\n" + new String(new char[40]).replace('\0', 'X')));
+        }
+    }
+
+    /**
+     * test a full file keeps what it holds and takes no more, and other files are refused
+     */
+    @Test
+    public void testFullAndForeign() throws IOException {
+        try (DistanceFile file = new DistanceFile(path, 4)) {
+            for (int i = 0; i < 5; i++) {
+                file.put("EH1_1AA\nEH" + i + "_1AA", i);
+            }
+            int kept = 0;
+            for (int i = 0; i < 5; i++) {
+                kept += file.get("EH1_1AA\nEH" + i + "_1AA") == i ? 1 : 0;
+            }
+            assertEquals(4, kept);
+        }
+
+        Path foreign = Files.createTempFile("distances", ".txt");
+        Files.write(foreign, "not distances at all".getBytes(StandardCharsets.US_ASCII));
+        assertThrows(IOException.class, () -> new DistanceFile(foreign, 4));
+        Files.delete(foreign);
+    }
+
+    /**
+     * test distances kept by several writers at once, each with the file open separately, are all kept
+     */
+    @Test
+    public void testConcurrentWriters() throws Exception {
+        List<Thread> threads = new ArrayList<>();
+        List<DistanceFile> files = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            DistanceFile file = new DistanceFile(path, 4096);
+            files.add(file);
+            int writer = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    try {
+                        file.put("EH1_1AA\nEH" + (i % 50) + "_" + (writer + i / 50) + "AA", i % 50);
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (DistanceFile file : files) {
+            file.close();
+        }
+
+        try (DistanceFile file = new DistanceFile(path, 4096)) {
+            for (int writer = 0; writer < 4; writer++) {
+                for (int i = 0; i < 500; i++) {
+                    assertEquals(i % 50, file.get("EH1_1AA\nEH" + (i % 50) + "_" + (writer + i / 50) + "AA"));
+                }
+            }
+        }
+    }
+
+    /**
+     * test a distance cache reads pairs kept by another cache using the same file
+     */
+    @Test
+    public void testSharedByCaches() throws IOException {
+        try (DistanceFile first = new DistanceFile(path, 64); DistanceFile second = new DistanceFile(path, 64)) {
+            new DistanceCache(10, first).put("eh2_2bb", "EH1_1AA", 7);
+
+            DistanceCache cache = new DistanceCache(10, second);
+            assertEquals(7, cache.get("EH1_1AA", "EH2_2BB"));
+            assertEquals(1, cache.size());
+            assertEquals(-1, cache.get("EH1_1AA", "EH3_3CC"));
+        }
+    }
+}
@@ -1,52 +1,52 @@
-/**
- *
- */
-
-package shield;
-
-
-import org.junit.jupiter.api.*;
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
-
-import java.util.Collection;
-import java.util.Properties;
-import java.time.LocalDateTime;
-import java.io.InputStream;
-
-/**
- *
- */
-
-public class DummyShieldingIndividualClientTest {
-  private final static String clientPropsFilename = "client.cfg";
-
-  private Properties clientProps;
-  private ShieldingIndividualClient client;
-
-  private Properties loadProperties(String propsFilename) {
-    ClassLoader loader = Thread.currentThread().getContextClassLoader();
-    Properties props = new Properties();
-
-    try {
-      InputStream propsStream = loader.getResourceAsStream(propsFilename);
-      props.load(propsStream);
-    } catch (Exception e) {
-      e.printStackTrace();
-    }
-
-    return props;
-  }
-
-  @BeforeEach
-  public void setup() {
-    clientProps = loadProperties(clientPropsFilename);
-
-    client = new DummyShieldingIndividualClientImp(clientProps.getProperty("endpoint"));
-  }
-
-  @Test
-  public void testShowFoodBoxes() {
-    assertEquals(client.showFoodBoxes("none").size(), 3);
-  }
-}
\ No newline at end of file
+/**
+ *
+ */
+
+package shield;
+
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collection;
+import java.util.Properties;
+import java.time.LocalDateTime;
+import java.io.InputStream;
+
+/**
+ *
+ */
+
+public class DummyShieldingIndividualClientTest {
+  private final static String clientPropsFilename = "client.cfg";
+
+  private Properties clientProps;
+  private ShieldingIndividualClient client;
+
+  private Properties loadProperties(String propsFilename) {
+    ClassLoader loader = Thread.currentThread().getContextClassLoader();
+    Properties props = new Properties();
+
+    try {
+      InputStream propsStream = loader.getResourceAsStream(propsFilename);
+      props.load(propsStream);
+    } catch (Exception e) {
+      e.printStackTrace();
+    }
+
+    return props;
+  }
+
+  @BeforeEach
+  public void setup() {
+    clientProps = loadProperties(clientPropsFilename);
+
+    client = new DummyShieldingIndividualClientImp(clientProps.getProperty("endpoint"));
+  }
+
+  @Test
+  public void testShowFoodBoxes() {
+    assertEquals(client.showFoodBoxes("none").size(), 3);
+  }
+}
@@ -0,0 +1,167 @@
+/**
+ * Class for fan-out unit tests
+ */
+
+package shield;
+
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * tests for FanOut, and for the client calls that fan out through it
+ */
+public class FanOutTest {
+    private ExecutorService pool;
+
+    @BeforeEach
+    public void setup() {
+        pool = FanOut.createPlatformExecutor(3);
+    }
+
+    @AfterEach
+    public void teardown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * test without an executor the work runs in order on the calling thread
+     */
+    @Test
+    public void testSequential() {
+        List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> results = FanOut.map(null, Arrays.asList(1, 2, 3, 4), i -> {
+            threads.add(Thread.currentThread());
+            return i * 10;
+        });
+
+        assertEquals(Arrays.asList(10, 20, 30, 40), results);
+        for (Thread thread : threads) {
+            assertSame(Thread.currentThread(), thread);
+        }
+    }
+
+    /**
+     * test on a pool the results keep the order of the inputs, and no more calls run at once than the pool has
+     * threads
+     */
+    @Test
+    public void testConcurrentKeepsOrderAndBound() {
+        List<Integer> inputs = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            inputs.add(i);
+        }
+        Random random = new Random(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger mostRunning = new AtomicInteger();
+
+        List<String> results = FanOut.map(pool, inputs, i -> {
+            mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(random.nextInt(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return "result " + i;
+        });
+
+        for (int i = 0; i < inputs.size(); i++) {
+            assertEquals("result " + i, results.get(i));
+        }
+        assertTrue(mostRunning.get() > 1, String.valueOf(mostRunning.get()));
+        assertTrue(mostRunning.get() <= 3, String.valueOf(mostRunning.get()));
+    }
+
+    /**
+     * test an exception thrown by the work reaches the caller unchanged in both modes
+     */
+    @Test
+    public void testExceptionPropagated() {
+        List<Integer> inputs = Arrays.asList(1, 2, 3);
+        IllegalStateException sequential = assertThrows(IllegalStateException.class,
+                () -> FanOut.map(null, inputs, FanOutTest::failOnTwo));
+        assertEquals("2", sequential.getMessage());
+
+        IllegalStateException concurrent = assertThrows(IllegalStateException.class,
+                () -> FanOut.map(pool, inputs, FanOutTest::failOnTwo));
+        assertEquals("2", concurrent.getMessage());
+    }
+
+    /**
+     * test a fan-out over one or no inputs still returns a result for each
+     */
+    @Test
+    public void testFewInputs() {
+        assertEquals(Collections.emptyList(), FanOut.map(pool, Collections.<Integer>emptyList(), i -> i));
+        assertEquals(Collections.singletonList(2), FanOut.map(pool, Collections.singletonList(1), i -> i + 1));
+    }
+
+    /**
+     * test refreshing order statuses asks for every order and stores each status
+     */
+    @Test
+    public void testRefreshOrderStatuses() {
+        InProcessTransport transport = new InProcessTransport();
+        AtomicInteger requests = new AtomicInteger();
+        transport.register("/requestStatus", (method, parameters, body) -> {
+            requests.incrementAndGet();
+            return parameters.get("order_id").equals("4") ? "-1" : "2";
+        });
+
+        ShieldingIndividualClientImp client = new ShieldingIndividualClientImp("http://localhost:5000", transport);
+        for (int id = 1; id <= 3; id++) {
+            client.setOrder(id, new ArrayList<>(), "0101011234", "1", LocalDateTime.now(), null, null, null,
+                    "none");
+        }
+        assertTrue(client.refreshOrderStatuses());
+        assertEquals(3, requests.get());
+        for (int id = 1; id <= 3; id++) {
+            assertEquals("dispatched", client.getStatusForOrder(id));
+        }
+
+        client.setOrder(4, new ArrayList<>(), "0101011234", "1", LocalDateTime.now(), null, null, null, "none");
+        assertFalse(client.refreshOrderStatuses());
+        assertEquals(7, requests.get());
+        assertEquals("dispatched", client.getStatusForOrder(1));
+    }
+
+    /**
+     * test recording many supermarket orders records every one and reports any the server refuses
+     */
+    @Test
+    public void testRecordSupermarketOrders() {
+        InProcessTransport transport = new InProcessTransport();
+        List<String> recorded = Collections.synchronizedList(new ArrayList<>());
+        transport.register("/registerSupermarket", (method, parameters, body) -> "registered new");
+        transport.register("/recordSupermarketOrder", (method, parameters, body) -> {
+            recorded.add(parameters.get("order_number"));
+            return parameters.get("order_number").equals("13") ? "False" : "True";
+        });
+
+        SupermarketClientImp client = new SupermarketClientImp("http://localhost:5000", transport);
+        assertTrue(client.registerSupermarket("Supermarket1", "EH6_4TU"));
+        assertTrue(client.recordSupermarketOrders("0101011234", Arrays.asList(10, 11, 12)));
+        assertEquals(3, recorded.size());
+        assertTrue(recorded.containsAll(Arrays.asList("10", "11", "12")));
+
+        assertFalse(client.recordSupermarketOrders("0101011234", Arrays.asList(12, 13, 14)));
+        assertEquals(6, recorded.size());
+    }
+
+    private static Integer failOnTwo(Integer i) {
+        if (i == 2) {
+            throw new IllegalStateException("2");
+        }
+        return i;
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Class for food box cache unit tests
+ */
+
+package shield;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import shield.ShieldingIndividualClientImp.MessagingFoodBox;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * tests for FoodBoxCache
+ */
+public class FoodBoxCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private List<MessagingFoodBox> load(String dietaryPreference) {
+        loads.incrementAndGet();
+        List<MessagingFoodBox> foodBoxes = new ArrayList<>();
+        for (int id : new int[] {1, 2, 1}) {
+            MessagingFoodBox foodBox = new MessagingFoodBox();
+            foodBox.id = id;
+            foodBox.diet = dietaryPreference;
+            foodBoxes.add(foodBox);
+        }
+        return foodBoxes;
+    }
+
+    /**
+     * test a listing is fetched once per dietary preference and kept without repeated box ids
+     */
+    @Test
+    public void testKeepsListingPerDiet() throws IOException {
+        FoodBoxCache cache = new FoodBoxCache(60000, 60000, this::load);
+
+        List<MessagingFoodBox> none = cache.get("none");
+        assertEquals(2, none.size());
+        assertSame(none, cache.get("none"));
+        assertEquals(1, loads.get());
+
+        assertEquals("vegan", cache.get("vegan").get(0).diet);
+        assertEquals(2, loads.get());
+        assertThrows(UnsupportedOperationException.class, () -> none.add(new MessagingFoodBox()));
+    }
+
+    /**
+     * test an expired listing is fetched again and a ttl of 0 turns caching off
+     */
+    @Test
+    public void testExpiry() throws Exception {
+        FoodBoxCache cache = new FoodBoxCache(50, 50, this::load);
+        List<MessagingFoodBox> first = cache.get("none");
+        Thread.sleep(80);
+        assertNull(cache.getIfPresent("none"));
+        assertNotSame(first, cache.get("none"));
+        assertEquals(2, loads.get());
+
+        FoodBoxCache uncached = new FoodBoxCache(0, 0, this::load);
+        uncached.get("none");
+        uncached.get("none");
+        assertEquals(4, loads.get());
+    }
+
+    /**
+     * test a listing past its refresh age is still used while it is fetched again in the background
+     */
+    @Test
+    public void testBackgroundRefresh() throws Exception {
+        FoodBoxCache cache = new FoodBoxCache(60000, 20, this::load);
+        List<MessagingFoodBox> first = cache.get("none");
+        Thread.sleep(40);
+
+        assertSame(first, cache.get("none"));
+        for (int i = 0; i < 100 && loads.get() < 2; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, loads.get());
+        for (int i = 0; i < 100 && cache.getIfPresent("none") == first; i++) {
+            Thread.sleep(10);
+        }
+        assertNotSame(first, cache.getIfPresent("none"));
+        assertEquals(Arrays.asList(1, 2), Arrays.asList(cache.get("none").get(0).id, cache.get("none").get(1).id));
+    }
+}
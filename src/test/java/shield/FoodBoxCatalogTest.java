@@ -0,0 +1,94 @@
+/**
+ * Class for food box catalog unit tests
+ */
+
+package shield;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import shield.ShieldingIndividualClientImp.MessagingContents;
+import shield.ShieldingIndividualClientImp.MessagingFoodBox;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * tests for FoodBoxCatalog
+ */
+public class FoodBoxCatalogTest {
+
+    private static MessagingFoodBox foodBox(int id, String diet, int... itemIds) {
+        MessagingFoodBox foodBox = new MessagingFoodBox();
+        foodBox.id = id;
+        foodBox.diet = diet;
+        foodBox.contents = new ArrayList<>();
+        for (int itemId : itemIds) {
+            MessagingContents item = new MessagingContents();
+            item.id = itemId;
+            item.name = "item" + itemId;
+            item.quantity = itemId * 10;
+            foodBox.contents.add(item);
+        }
+        return foodBox;
+    }
+
+    /**
+     * test boxes and their items are found by id
+     */
+    @Test
+    public void testLookup() {
+        FoodBoxCatalog catalog = new FoodBoxCatalog();
+        catalog.show("vegan", Arrays.asList(foodBox(3, "vegan", 1, 2)));
+        catalog.show("none", Arrays.asList(foodBox(1, "none", 2, 5)));
+
+        assertEquals(2, catalog.size());
+        assertEquals("none", catalog.get(1).diet);
+        assertNull(catalog.get(2));
+        assertEquals("item5", catalog.getItem(1, 5).name);
+        assertEquals(20, catalog.getItem(3, 2).quantity);
+        assertNull(catalog.getItem(3, 5));
+        assertNull(catalog.getItem(2, 1));
+
+        Iterator<MessagingFoodBox> foodBoxes = catalog.getFoodBoxes().iterator();
+        assertEquals(3, foodBoxes.next().id);
+        assertEquals(1, foodBoxes.next().id);
+        assertFalse(foodBoxes.hasNext());
+    }
+
+    /**
+     * test boxes are held as copies, which showing the same listing again leaves alone
+     */
+    @Test
+    public void testSameListingKeepsChanges() {
+        FoodBoxCatalog catalog = new FoodBoxCatalog();
+        List<MessagingFoodBox> listing = Arrays.asList(foodBox(1, "none", 1));
+        catalog.show("none", listing);
+        catalog.getItem(1, 1).quantity = 4;
+
+        assertEquals(10, listing.get(0).contents.get(0).quantity);
+        catalog.show("none", listing);
+        assertEquals(4, catalog.getItem(1, 1).quantity);
+        assertEquals(4, catalog.get(1).contents.get(0).quantity);
+    }
+
+    /**
+     * test a new listing replaces the boxes held for its dietary preference only
+     */
+    @Test
+    public void testNewListingReplaces() {
+        FoodBoxCatalog catalog = new FoodBoxCatalog();
+        catalog.show("none", Arrays.asList(foodBox(1, "none", 1), foodBox(2, "none", 1)));
+        catalog.show("vegan", Arrays.asList(foodBox(3, "vegan", 1)));
+        catalog.getItem(1, 1).quantity = 4;
+
+        catalog.show("none", Arrays.asList(foodBox(1, "none", 1)));
+        assertEquals(2, catalog.size());
+        assertNull(catalog.get(2));
+        assertEquals(10, catalog.getItem(1, 1).quantity);
+        assertNotNull(catalog.get(3));
+    }
+}
@@ -0,0 +1,263 @@
+/**
+ * Class for connection pool unit tests
+ */
+
+package shield;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.*;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URL;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * tests for HttpConnectionPool, run against a local in-JVM http server
+ */
+public class HttpConnectionPoolTest {
+    private HttpServer server;
+    private String endpoint;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/fixed", exchange -> {
+            byte[] body = "True".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.createContext("/chunked", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write("[1,".getBytes(StandardCharsets.UTF_8));
+                os.flush();
+                os.write("2]".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/empty", exchange -> {
+            // a reply without a body, after which the test server closes the connection
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        endpoint = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    public void teardown() {
+        server.stop(0);
+    }
+
+    private String read(HttpConnectionPool.Response response) throws IOException {
+        InputStream body = response.getBody();
+        StringBuilder text = new StringBuilder();
+        int b;
+        while ((b = body.read()) != -1) {
+            text.append((char) b);
+        }
+        return text.toString();
+    }
+
+    /**
+     * test sequential requests share a single connection
+     */
+    @Test
+    public void testConnectionReused() throws IOException {
+        HttpConnectionPool pool = new HttpConnectionPool(4, 30000);
+
+        for (int i = 0; i < 5; i++) {
+            try (HttpConnectionPool.Response response = pool.execute("GET", new URL(endpoint + "/fixed"), null, null)) {
+                assertEquals(200, response.getStatusCode());
+                assertEquals("True", read(response));
+            }
+        }
+
+        assertEquals(1, pool.getOpenedConnections());
+        assertEquals(4, pool.getReusedConnections());
+        pool.close();
+    }
+
+    /**
+     * test chunked bodies are decoded and the connection still returned
+     */
+    @Test
+    public void testChunkedResponse() throws IOException {
+        HttpConnectionPool pool = new HttpConnectionPool(4, 30000);
+
+        for (int i = 0; i < 2; i++) {
+            try (HttpConnectionPool.Response response = pool.execute("POST", new URL(endpoint + "/chunked"), null,
+                    "{}".getBytes(StandardCharsets.UTF_8))) {
+                assertEquals("[1,2]", read(response));
+            }
+        }
+
+        assertEquals(1, pool.getOpenedConnections());
+        pool.close();
+    }
+
+    /**
+     * test idle connections are closed once the idle timeout passes
+     */
+    @Test
+    public void testIdleConnectionEvicted() throws Exception {
+        HttpConnectionPool pool = new HttpConnectionPool(4, 200);
+
+        try (HttpConnectionPool.Response response = pool.execute("GET", new URL(endpoint + "/fixed"), null, null)) {
+            read(response);
+        }
+        assertEquals(1, pool.getIdleConnections());
+
+        Thread.sleep(600);
+        assertEquals(0, pool.getIdleConnections());
+        pool.close();
+    }
+
+    /**
+     * test a request gives up once its read timeout passes
+     */
+    @Test
+    public void testReadTimeout() throws IOException {
+        HttpConnectionPool pool = new HttpConnectionPool(4, 30000, 1000, 100);
+
+        long start = System.nanoTime();
+        assertThrows(SocketTimeoutException.class, () -> pool.execute("GET", new URL(endpoint + "/slow"), null, null));
+        assertTrue(System.nanoTime() - start < 900_000_000L);
+
+        // the timed out connection is not reused
+        try (HttpConnectionPool.Response response = pool.execute("GET", new URL(endpoint + "/fixed"), null, null, 0, 0)) {
+            assertEquals("True", read(response));
+        }
+        assertEquals(0, pool.getReusedConnections());
+        pool.close();
+    }
+
+    /**
+     * test an idle connection the server has since closed is not reused, so a plain GET after it still succeeds
+     */
+    @Test
+    public void testClosedIdleConnectionNotReused() throws Exception {
+        HttpConnectionPool pool = new HttpConnectionPool(4, 30000);
+        URL url = new URL(endpoint + "/empty");
+
+        for (int i = 0; i < 3; i++) {
+            try (HttpConnectionPool.Response response = pool.execute("GET", url, null, null, 0, 1000, false)) {
+                assertEquals(200, response.getStatusCode());
+                read(response);
+            }
+            Thread.sleep(100);
+        }
+        assertEquals(3, pool.getOpenedConnections());
+        assertEquals(0, pool.getReusedConnections());
+        pool.close();
+    }
+
+    /**
+     * test an idempotent GET is resent when a reused connection is dropped after sending it, but a plain GET
+     * or a POST is not, as the server may already have handled it
+     */
+    @Test
+    public void testOnlyIdempotentResentOnDroppedConnection() throws Exception {
+        String[] cases = {"idempotent GET", "GET", "POST"};
+        for (String request : cases) {
+            String method = request.endsWith("POST") ? "POST" : "GET";
+            boolean idempotent = request.startsWith("idempotent");
+            AtomicInteger requests = new AtomicInteger();
+            try (ServerSocket dropping = new ServerSocket(0)) {
+                // answers every request except the second, which it reads and then drops the connection on
+                Thread serverThread = new Thread(() -> {
+                    try {
+                        while (true) {
+                            try (Socket socket = dropping.accept()) {
+                                InputStream in = new BufferedInputStream(socket.getInputStream());
+                                OutputStream out = socket.getOutputStream();
+                                while (readRequest(in)) {
+                                    if (requests.incrementAndGet() == 2) {
+                                        break;
+                                    }
+                                    out.write("HTTP/1.1 200 OK\r\nContent-Length: 4\r\n\r\nTrue"
+                                        .getBytes(StandardCharsets.US_ASCII));
+                                    out.flush();
+                                }
+                            }
+                        }
+                    } catch (IOException e) {
+                        // the server socket was closed
+                    }
+                });
+                serverThread.start();
+
+                URL url = new URL("http://localhost:" + dropping.getLocalPort() + "/cancelOrder?order_id=1");
+                byte[] body = method.equals("POST") ? "[]".getBytes(StandardCharsets.UTF_8) : null;
+                int length = body == null ? 0 : body.length;
+                HttpConnectionPool pool = new HttpConnectionPool(4, 30000, 1000, 1000);
+                try (HttpConnectionPool.Response response =
+                         pool.execute(method, url, null, body, length, 1000, idempotent)) {
+                    assertEquals("True", read(response));
+                }
+
+                if (idempotent) {
+                    try (HttpConnectionPool.Response response =
+                             pool.execute(method, url, null, body, length, 1000, true)) {
+                        assertEquals("True", read(response));
+                    }
+                    assertEquals(3, requests.get(), request);
+                } else {
+                    assertThrows(IOException.class, () -> pool.execute(method, url, null, body, length, 1000, false),
+                        request);
+                    assertEquals(2, requests.get(), request);
+                }
+                pool.close();
+            }
+        }
+    }
+
+    /**
+     * Helper for reading a request's head and body from a raw connection
+     *
+     * @param in the connection's input
+     * @return false if the connection was closed before a request
+     */
+    private static boolean readRequest(InputStream in) throws IOException {
+        StringBuilder head = new StringBuilder();
+        int b;
+        while (!head.toString().endsWith("\r\n\r\n")) {
+            if ((b = in.read()) == -1) {
+                return false;
+            }
+            head.append((char) b);
+        }
+        int length = 0;
+        for (String line : head.toString().split("\r\n")) {
+            if (line.toLowerCase().startsWith("content-length:")) {
+                length = Integer.parseInt(line.substring(15).trim());
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            in.read();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Class for in-process transport unit tests
+ */
+
+package shield;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * tests for InProcessTransport
+ */
+public class InProcessTransportTest {
+    private final static String endpoint = "http://localhost:5000";
+
+    private InProcessTransport transport;
+    private List<Map<String, String>> received;
+
+    @BeforeEach
+    public void setup() {
+        received = new ArrayList<>();
+        transport = new InProcessTransport()
+            .register("/registerCateringCompany", (method, parameters, body) -> {
+                received.add(parameters);
+                return "registered new";
+            })
+            .register("/updateOrderStatus", (method, parameters, body) -> {
+                received.add(parameters);
+                return "True\n";
+            })
+            .register("/echo", (method, parameters, body) -> method + " " + body);
+    }
+
+    /**
+     * Tests that a client using the transport reaches the registered handlers
+     */
+    @Test
+    public void testClientUsesHandlers() {
+        CateringCompanyClient client = new CateringCompanyClientImp(endpoint, transport);
+
+        assertTrue(client.registerCateringCompany("Tasty%20Meals", "EH11_2DR"));
+        assertTrue(client.isRegistered());
+        assertTrue(client.updateOrderStatus(7, "packed"));
+
+        assertEquals(2, transport.getRequestCount());
+        assertEquals("Tasty Meals", received.get(0).get("business_name"));
+        assertEquals("EH11_2DR", received.get(0).get("postcode"));
+        assertEquals("7", received.get(1).get("order_id"));
+        assertEquals("packed", received.get(1).get("newStatus"));
+    }
+
+    /**
+     * Tests that the method and body reach the handler
+     */
+    @Test
+    public void testPostBody() throws IOException {
+        assertEquals("POST {\"contents\":[]}", transport.doPOSTRequest(endpoint + "/echo", "{\"contents\":[]}"));
+        assertEquals("GET null", transport.doGETRequest("/echo?x=1"));
+    }
+
+    /**
+     * Tests that an unknown path is answered like a server without it
+     */
+    @Test
+    public void testUnknownPath() {
+        HttpStatusException e = assertThrows(HttpStatusException.class,
+            () -> transport.doGETRequest(endpoint + "/missing"));
+        assertEquals(404, e.getStatusCode());
+
+        SupermarketClient client = new SupermarketClientImp(endpoint, transport);
+        assertFalse(client.registerSupermarket("Shop", "EH11_2DR"));
+    }
+}
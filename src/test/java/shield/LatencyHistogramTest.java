@@ -0,0 +1,71 @@
+/**
+ * Class for latency histogram unit tests
+ */
+
+package shield;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * tests for LatencyHistogram
+ */
+public class LatencyHistogramTest {
+
+    /**
+     * test an empty histogram reports zeros
+     */
+    @Test
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram(1000000);
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.percentile(99));
+        assertEquals(0, histogram.getMax());
+    }
+
+    /**
+     * test small values are counted exactly
+     */
+    @Test
+    public void testExactBelowTwoThousand() {
+        LatencyHistogram histogram = new LatencyHistogram(1000000);
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        assertEquals(1000, histogram.getTotalCount());
+        assertEquals(500, histogram.percentile(50));
+        assertEquals(990, histogram.percentile(99));
+        assertEquals(1000, histogram.percentile(100));
+    }
+
+    /**
+     * test large values are kept to about three significant digits
+     */
+    @Test
+    public void testPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram(60_000_000_000L);
+        for (long i = 1; i <= 10000; i++) {
+            histogram.record(i * 1_000_000);
+        }
+        assertEquals(10_000_000_000L, histogram.getMax());
+        long median = histogram.percentile(50);
+        assertTrue(Math.abs(median - 5_000_000_000L) <= 5_000_000L, String.valueOf(median));
+        long p999 = histogram.percentile(99.9);
+        assertTrue(Math.abs(p999 - 9_990_000_000L) <= 9_990_000L, String.valueOf(p999));
+        assertEquals(10_000_000_000L, histogram.percentile(100));
+    }
+
+    /**
+     * test values above the highest trackable value are clamped, and negative ones are counted as zero
+     */
+    @Test
+    public void testOutOfRange() {
+        LatencyHistogram histogram = new LatencyHistogram(10000);
+        histogram.record(-5);
+        histogram.record(1_000_000_000L);
+        assertEquals(2, histogram.getTotalCount());
+        assertEquals(0, histogram.percentile(50));
+        assertTrue(histogram.percentile(100) >= 10000);
+    }
+}
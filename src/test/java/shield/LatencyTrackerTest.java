@@ -0,0 +1,58 @@
+/**
+ * Class for latency tracker unit tests
+ */
+
+package shield;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * tests for LatencyTracker
+ */
+public class LatencyTrackerTest {
+
+    /**
+     * test no percentile is given until enough latencies are known
+     */
+    @Test
+    public void testMinSamples() {
+        LatencyTracker tracker = new LatencyTracker(10, 3);
+        tracker.record(5);
+        tracker.record(7);
+        assertEquals(-1, tracker.percentile(50));
+        tracker.record(6);
+        assertEquals(6, tracker.percentile(50));
+    }
+
+    /**
+     * test percentiles of the recorded latencies
+     */
+    @Test
+    public void testPercentiles() {
+        LatencyTracker tracker = new LatencyTracker(100, 1);
+        for (int i = 100; i >= 1; i--) {
+            tracker.record(i);
+        }
+        assertEquals(50, tracker.percentile(50));
+        assertEquals(95, tracker.percentile(95));
+        assertEquals(100, tracker.percentile(100));
+        assertEquals(1, tracker.percentile(0));
+    }
+
+    /**
+     * test only the most recent latencies are kept
+     */
+    @Test
+    public void testOldestDropped() {
+        LatencyTracker tracker = new LatencyTracker(4, 1);
+        for (int i = 0; i < 4; i++) {
+            tracker.record(1000);
+        }
+        for (int i = 0; i < 4; i++) {
+            tracker.record(10);
+        }
+        assertEquals(10, tracker.percentile(100));
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * Class for load generator unit tests
+ */
+
+package shield;
+
+import org.junit.jupiter.api.*;
+
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * tests for LoadGenerator, run against the stand-in server in process
+ */
+public class LoadGeneratorTest {
+
+    /**
+     * test every kind of call is made at the requested rate without failures
+     */
+    @Test
+    public void testInProcessRun() throws Exception {
+        Transport transport = new StandInService(Paths.get(".")).registerWith(new InProcessTransport());
+        LoadGenerator generator = new LoadGenerator("http://localhost:5000", transport, 6, 2, 2);
+
+        generator.run(400, TimeUnit.SECONDS.toNanos(1), 4);
+
+        assertEquals(400, generator.getAllResponseTimes().getTotalCount());
+        assertEquals(0, generator.getFailures());
+        for (String operation : new String[] {"register", "order", "status", "update"}) {
+            assertTrue(generator.getResponseTimes().containsKey(operation), operation);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Class for JSON codec unit tests
+ */
+
+package shield;
+
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * tests for MessagingCodecs
+ */
+public class MessagingCodecsTest {
+
+    /**
+     * test an order survives a round trip, including its dates
+     */
+    @Test
+    public void testOrderRoundTrip() {
+        ShieldingIndividualClientImp.MessagingOrders order = new ShieldingIndividualClientImp.MessagingOrders();
+        order.id = 7;
+        order.contents = new ShieldingIndividualClientImp(null).setContents(1, "cucumbers", 20);
+        order.chi = "1111111234";
+        order.cateringId = "Catering1";
+        order.ordered = LocalDateTime.of(2021, 4, 9, 10, 15, 30);
+        order.status = "none";
+
+        String json = MessagingCodecs.GSON.toJson(order);
+        ShieldingIndividualClientImp.MessagingOrders read =
+                MessagingCodecs.GSON.fromJson(json, ShieldingIndividualClientImp.MessagingOrders.class);
+
+        assertFalse(json.contains("packed"));
+        assertEquals(7, read.id);
+        assertEquals("cucumbers", read.contents.get(0).name);
+        assertEquals(20, read.contents.get(0).quantity);
+        assertEquals(order.ordered, read.ordered);
+        assertNull(read.packed);
+        assertEquals("none", read.status);
+    }
+
+    /**
+     * test the server's empty date strings are read as null
+     */
+    @Test
+    public void testEmptyDateReadAsNull() {
+        ShieldingIndividualClientImp.MessagingOrders read = MessagingCodecs.GSON.fromJson(
+                "{\"id\":3,\"ordered\":\"2021-04-09T10:15:30\",\"packed\":\"\",\"status\":\"packed\"}",
+                ShieldingIndividualClientImp.MessagingOrders.class);
+
+        assertEquals(LocalDateTime.of(2021, 4, 9, 10, 15, 30), read.ordered);
+        assertNull(read.packed);
+    }
+
+    /**
+     * test food boxes are read and unknown fields skipped
+     */
+    @Test
+    public void testFoodBoxList() throws Exception {
+        List<ShieldingIndividualClientImp.MessagingFoodBox> boxes = MessagingCodecs.FOOD_BOX_LIST.fromJson(
+                "[{\"id\":2,\"name\":\"box b\",\"diet\":\"pollotarian\",\"delivered_by\":\"catering\"," +
+                "\"extra\":{\"a\":[1]},\"contents\":[{\"id\":1,\"name\":\"cucumbers\",\"quantity\":1}]}]");
+
+        assertEquals(1, boxes.size());
+        assertEquals(2, boxes.get(0).id);
+        assertEquals("catering", boxes.get(0).delivered_by);
+        assertEquals(1, boxes.get(0).contents.size());
+    }
+
+    /**
+     * test the dummy client's food boxes read numeric ids as strings
+     */
+    @Test
+    public void testDummyFoodBoxList() throws Exception {
+        List<DummyShieldingIndividualClientImp.MessagingFoodBox> boxes = MessagingCodecs.DUMMY_FOOD_BOX_LIST.fromJson(
+                "[{\"id\":1,\"diet\":\"none\",\"contents\":[{\"id\":1}]},{\"id\":3,\"diet\":\"none\"}]");
+
+        assertEquals(2, boxes.size());
+        assertEquals("3", boxes.get(1).id);
+        assertNull(boxes.get(0).contents);
+    }
+}
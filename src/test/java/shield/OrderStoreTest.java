@@ -0,0 +1,71 @@
+/**
+ * Class for order store unit tests
+ */
+
+package shield;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import shield.ShieldingIndividualClientImp.MessagingOrders;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * tests for OrderStore
+ */
+public class OrderStoreTest {
+
+    private static MessagingOrders order(int id, String status) {
+        MessagingOrders order = new MessagingOrders();
+        order.id = id;
+        order.status = status;
+        return order;
+    }
+
+    /**
+     * test orders are found by number and iterated in the order they were added, past several resizes
+     */
+    @Test
+    public void testLookupAndOrder() {
+        OrderStore store = new OrderStore();
+        assertNull(store.get(1));
+
+        for (int i = 1000; i > 0; i--) {
+            store.put(order(i * 7, "none"));
+        }
+        assertEquals(1000, store.size());
+        assertEquals(700, store.get(700).id);
+        assertNull(store.get(701));
+        assertNull(store.get(0));
+
+        int[] numbers = store.getOrderNumbers();
+        assertEquals(1000, numbers.length);
+        assertEquals(7000, numbers[0]);
+        assertEquals(7, numbers[999]);
+
+        List<Integer> iterated = new ArrayList<>();
+        for (MessagingOrders order : store) {
+            iterated.add(order.id);
+        }
+        assertEquals(7000, (int) iterated.get(0));
+        assertEquals(7, (int) iterated.get(999));
+    }
+
+    /**
+     * test adding an order number already held replaces the order in its place
+     */
+    @Test
+    public void testReplace() {
+        OrderStore store = new OrderStore();
+        store.put(order(5, "none"));
+        store.put(order(-3, "none"));
+        store.put(order(5, "packed"));
+
+        assertEquals(2, store.size());
+        assertEquals("packed", store.get(5).status);
+        assertArrayEquals(new int[] {5, -3}, store.getOrderNumbers());
+    }
+}
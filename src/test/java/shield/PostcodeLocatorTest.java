@@ -0,0 +1,78 @@
+/**
+ * Class for postcode locator unit tests
+ */
+
+package shield;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * tests for PostcodeLocator, and for its use in place of distance requests
+ */
+public class PostcodeLocatorTest {
+
+    /**
+     * test distances worked out locally are the same as the server gives
+     */
+    @Test
+    public void testSameAsServer() throws IOException {
+        RequestHandler distance = new StandInService(Paths.get(".")).getHandlers().get("/distance");
+        Random random = new Random(1);
+        for (int i = 0; i < 1000; i++) {
+            String postCode1 = TestPostcodes.randomPostCode(random, 99, true);
+            String postCode2 = TestPostcodes.randomPostCode(random, 99, true);
+            Map<String, String> parameters = new HashMap<>();
+            parameters.put("postcode1", postCode1);
+            parameters.put("postcode2", postCode2);
+
+            float expected = Float.parseFloat(distance.handle("GET", parameters, ""));
+            assertEquals(expected, PostcodeLocator.distance(postCode1, postCode2), postCode1 + " " + postCode2);
+        }
+        assertEquals(0, PostcodeLocator.distance("EH7_5QQ", "EH7_5qq"));
+    }
+
+    /**
+     * test postcodes not of the usual form are not located
+     */
+    @Test
+    public void testUnknown() {
+        for (String postCode : new String[] {null, "", "EH7", "EH_5QQ", "EH7_5Q", "EH7_5QQQ", "eh7_5QQ",
+                "AB7_5QQ", "EH7-5QQ", "EH7_QQ5", "EHX_5QQ", "EH99999_5QQ"}) {
+            assertEquals(PostcodeLocator.UNKNOWN, PostcodeLocator.locate(postCode), String.valueOf(postCode));
+            assertEquals(-1, PostcodeLocator.distance(postCode, "EH7_5QQ"), String.valueOf(postCode));
+        }
+        assertEquals(11, PostcodeLocator.district(PostcodeLocator.locate("EH11_2DR")));
+    }
+
+    /**
+     * test the client only asks the server for distances it cannot work out itself
+     */
+    @Test
+    public void testClientAsksOnlyForUnknown() throws IOException {
+        StandInService service = new StandInService(Paths.get("."));
+        InProcessTransport transport = service.registerWith(new InProcessTransport());
+        AtomicInteger distanceRequests = new AtomicInteger();
+        RequestHandler distance = service.getHandlers().get("/distance");
+        transport.register("/distance", (method, parameters, body) -> {
+            distanceRequests.incrementAndGet();
+            return distance.handle(method, parameters, body);
+        });
+
+        ShieldingIndividualClientImp client = new ShieldingIndividualClientImp("http://localhost:5000", transport);
+        assertEquals((float) (18334.0 * 11 / 1049), client.getDistance("EH7_5QQ", "EH8_5PQ"));
+        assertEquals(0, (float) client.getDistanceAsync("EH8_5PQ", "EH8_5PQ").join());
+        assertEquals(0, distanceRequests.get());
+
+        assertEquals((float) (18334.0 / 1049), client.getDistance("EH7_5Q1", "EH7_5Q2"));
+        assertEquals(1, distanceRequests.get());
+    }
+}
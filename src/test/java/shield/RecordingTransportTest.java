@@ -0,0 +1,127 @@
+/**
+ * Class for traffic record and replay unit tests
+ */
+
+package shield;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * tests for RecordingTransport and ReplayTransport
+ */
+public class RecordingTransportTest {
+    private final static String endpoint = "http://localhost:5000";
+
+    private Path recording;
+    private InProcessTransport server;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        recording = Files.createTempFile("recording", ".jsonl");
+        AtomicInteger polls = new AtomicInteger();
+        server = new InProcessTransport()
+            .register("/requestStatus", (method, parameters, body) -> String.valueOf(polls.incrementAndGet()))
+            .register("/editOrder", (method, parameters, body) -> body.contains("\"quantity\":1") ? "True" : "False");
+    }
+
+    @AfterEach
+    public void teardown() throws IOException {
+        Files.deleteIfExists(recording);
+    }
+
+    /**
+     * Tests that every exchange is written as one JSON line, failures included
+     */
+    @Test
+    public void testRecording() throws Exception {
+        RecordingTransport transport = new RecordingTransport(server, recording);
+        assertEquals("1", transport.doGETRequest(endpoint + "/requestStatus?order_id=1"));
+        assertEquals("2", transport.doGETRequestAsync(endpoint + "/requestStatus?order_id=1").get());
+        assertEquals("True", transport.doPOSTRequest(endpoint + "/editOrder?order_id=1", "{\"quantity\":1}"));
+        assertThrows(HttpStatusException.class, () -> transport.doGETRequest(endpoint + "/missing"));
+        transport.close();
+
+        List<String> lines = Files.readAllLines(recording, StandardCharsets.UTF_8);
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(0).contains("\"method\":\"GET\""), lines.get(0));
+        assertTrue(lines.get(0).contains("\"response\":\"1\""), lines.get(0));
+        assertTrue(lines.get(0).contains("\"durationMicros\":"), lines.get(0));
+        assertTrue(lines.get(2).contains("\"body\":\"{\\\"quantity\\\":1}\""), lines.get(2));
+        assertTrue(lines.get(3).contains("\"status\":404"), lines.get(3));
+
+        // requests after closing are still answered
+        assertEquals("3", transport.doGETRequest(endpoint + "/requestStatus?order_id=1"));
+        assertEquals(4, Files.readAllLines(recording, StandardCharsets.UTF_8).size());
+    }
+
+    /**
+     * Tests that a writer failing drops records rather than holding up requests or closing
+     */
+    @Test
+    public void testWriterFailure() {
+        Writer failing = new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("disk full");
+            }
+
+            @Override
+            public void flush() {}
+
+            @Override
+            public void close() {}
+        };
+
+        RecordingTransport transport = new RecordingTransport(server, failing);
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (int i = 1; i <= 70000; i++) {
+                assertEquals(String.valueOf(i), transport.doGETRequest(endpoint + "/requestStatus?order_id=1"));
+            }
+            transport.close();
+        });
+        assertEquals(70000, transport.getDroppedRecords());
+    }
+
+    /**
+     * Tests that a recording is replayed in order, on any host, with its failures
+     */
+    @Test
+    public void testReplay() throws IOException, ExecutionException, InterruptedException {
+        try (RecordingTransport transport = new RecordingTransport(server, recording)) {
+            transport.doGETRequest(endpoint + "/requestStatus?order_id=1");
+            transport.doGETRequest(endpoint + "/requestStatus?order_id=1");
+            transport.doPOSTRequest(endpoint + "/editOrder?order_id=1", "{\"quantity\":1}");
+            transport.doPOSTRequest(endpoint + "/editOrder?order_id=1", "{\"quantity\":2}");
+            assertThrows(HttpStatusException.class, () -> transport.doGETRequest(endpoint + "/missing"));
+        }
+
+        ReplayTransport replay = new ReplayTransport(recording);
+        assertEquals(4, replay.getRecordedRequests());
+
+        String elsewhere = "http://sepp.example:8080";
+        assertEquals("1", replay.doGETRequest(elsewhere + "/requestStatus?order_id=1"));
+        assertEquals("2", replay.doGETRequestAsync(elsewhere + "/requestStatus?order_id=1").get());
+        assertEquals("2", replay.doGETRequest(elsewhere + "/requestStatus?order_id=1"));
+        assertEquals("False", replay.doPOSTRequest(elsewhere + "/editOrder?order_id=1", "{\"quantity\":2}"));
+        assertEquals("True", replay.doPOSTRequest(elsewhere + "/editOrder?order_id=1", "{\"quantity\":1}"));
+        assertEquals(404, assertThrows(HttpStatusException.class,
+            () -> replay.doGETRequest(elsewhere + "/missing")).getStatusCode());
+        assertThrows(IOException.class, () -> replay.doGETRequest(elsewhere + "/requestStatus?order_id=2"));
+
+        // a client answered from the recording
+        CateringCompanyClient client = new CateringCompanyClientImp(endpoint, replay);
+        assertFalse(client.updateOrderStatus(1, "packed"));
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * Class for single-flight unit tests
+ */
+
+package shield;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * tests for SingleFlight
+ */
+public class SingleFlightTest {
+    private final static int CALLERS = 8;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    private void awaitCollapsed(SingleFlight flight, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (flight.getCollapsedCalls() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * test concurrent callers for the same key share one call and one result
+     */
+    @Test
+    public void testIdenticalCallsShared() throws Exception {
+        SingleFlight flight = new SingleFlight();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> flight.execute("/getCaterers", () -> {
+                calls.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return new Object();
+            })));
+        }
+
+        awaitCollapsed(flight, CALLERS - 1);
+        release.countDown();
+
+        Object first = results.get(0).get();
+        for (Future<Object> result : results) {
+            assertSame(first, result.get());
+        }
+        assertEquals(1, calls.get());
+        assertEquals(1, flight.getExecutedCalls());
+        assertEquals(CALLERS - 1, flight.getCollapsedCalls());
+
+        // finished calls are not reused
+        assertNotSame(first, flight.execute("/getCaterers", Object::new));
+        assertEquals(2, flight.getExecutedCalls());
+    }
+
+    /**
+     * test a failure is passed to every waiting caller
+     */
+    @Test
+    public void testFailureShared() throws Exception {
+        SingleFlight flight = new SingleFlight();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            results.add(executor.submit(() -> flight.<String>execute("/distance", () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                throw new IOException("connection refused");
+            })));
+        }
+
+        awaitCollapsed(flight, 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, result::get);
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    /**
+     * test different keys do not share a call
+     */
+    @Test
+    public void testDifferentKeys() throws IOException {
+        SingleFlight flight = new SingleFlight();
+        assertEquals("a", flight.execute("/showFoodBox?dietaryPreference=none", () ->
+                flight.execute("/showFoodBox?dietaryPreference=vegan", () -> "a")));
+        assertEquals(2, flight.getExecutedCalls());
+        assertEquals(0, flight.getCollapsedCalls());
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Class for stand-in HTTP server unit tests
+ */
+
+package shield;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * tests for StandInServer, serving the repository's data files
+ */
+public class StandInServerTest {
+    private StandInServer server;
+    private String endpoint;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        server = new StandInServer(new StandInService(Paths.get(".")), 0, 4);
+        endpoint = "http://localhost:" + server.getPort();
+    }
+
+    @AfterEach
+    public void teardown() {
+        server.close();
+    }
+
+    /**
+     * Tests that clients reach the endpoints over HTTP
+     */
+    @Test
+    public void testClientRequests() throws IOException {
+        CateringCompanyClient client = new CateringCompanyClientImp(endpoint);
+        assertTrue(client.registerCateringCompany("stand%20in", "EH11_2DR"));
+        assertTrue(ClientIO.doGETRequest(endpoint + "/getCaterers").contains("stand in,EH11_2DR"));
+        assertTrue(ClientIO.doGETRequest(endpoint + "/showFoodBox?dietaryPreference=none").startsWith("[{\"contents\""));
+        assertEquals("-1", ClientIO.doGETRequest(endpoint + "/requestStatus?order_id=100000"));
+    }
+
+    /**
+     * Tests that unknown paths and wrong methods are refused
+     */
+    @Test
+    public void testErrors() {
+        assertEquals(404, assertThrows(HttpStatusException.class,
+            () -> ClientIO.doGETRequest(endpoint + "/missing")).getStatusCode());
+        assertEquals(405, assertThrows(HttpStatusException.class,
+            () -> ClientIO.doGETRequest(endpoint + "/placeOrder?individual_id=1")).getStatusCode());
+    }
+
+    /**
+     * Tests that requests split across packets and pipelined on one connection are answered in order
+     */
+    @Test
+    public void testSplitAndPipelinedRequests() throws IOException {
+        try (Socket socket = new Socket("localhost", server.getPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write("GET /requestStatus?order_id=100000 HT".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            out.write(("TP/1.1\r\nHost: localhost\r\n\r\n"
+                + "GET /showFoodBox?dietaryPreference=none HTTP/1.1\r\nHost: localhost\r\n\r\n"
+                + "GET /distance?postcode1=EH11_2DR&postcode2=EH11_3DR HTTP/1.1\r\nConnection: close\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            InputStream in = socket.getInputStream();
+            String replies = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            int status = replies.indexOf("\r\n\r\n-1HTTP/1.1 200 OK");
+            int foodBoxes = replies.indexOf("\"diet\":\"none\"");
+            int distance = replies.indexOf("Connection: close\r\n\r\n17.477597712106768");
+            assertTrue(status > 0 && foodBoxes > status && distance > foodBoxes, replies);
+        }
+    }
+}
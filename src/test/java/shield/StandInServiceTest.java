@@ -0,0 +1,154 @@
+/**
+ * Class for stand-in server endpoint unit tests
+ */
+
+package shield;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * tests for StandInService, reached through an InProcessTransport
+ */
+public class StandInServiceTest {
+    private final static String endpoint = "http://localhost:5000";
+    private final static String contents = "{\"contents\":[{\"id\":1,\"name\":\"cucumbers\",\"quantity\":2},"
+        + "{\"id\":2,\"name\":\"tomatoes\",\"quantity\":1}]}";
+
+    private Path dataDirectory;
+    private InProcessTransport transport;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        dataDirectory = Files.createTempDirectory("stand-in");
+        write("shielding_individuals.txt", "0101010101,EH1 1AA,ann,smith,01234567890\n");
+        write("providers.txt", "\n1,tasty,EH11_2DR\n");
+        write("supermarkets.txt", "\n");
+        write("stock.txt", "id,name,price,quantity\n1,cucumbers,0.6,999\n2,tomatoes,1,999\n");
+        write("orders.csv", "order_id,cucumbers,tomatoes,individual_id,catering_id,ordered_datetime,"
+            + "packed_date_time,dispatched_date_time,delivered_date_time,status\n"
+            + "2,1,1,0101010101,1,2021-03-13T10:00:00,,,,1\n");
+        write("supermarket_orders.csv", "\n");
+        write("food_boxes.txt", "[{\"id\":1,\"name\":\"box a\",\"diet\":\"none\",\"delivered_by\":\"catering\","
+            + "\"contents\":[{\"quantity\":1,\"name\":\"cucumbers\",\"id\":1}]},"
+            + "{\"id\":2,\"name\":\"box b\",\"diet\":\"vegan\",\"delivered_by\":\"catering\",\"contents\":[]}]");
+
+        transport = new StandInService(dataDirectory).registerWith(new InProcessTransport());
+    }
+
+    @AfterEach
+    public void teardown() throws IOException {
+        try (Stream<Path> files = Files.walk(dataDirectory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    private void write(String name, String content) throws IOException {
+        Files.write(dataDirectory.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tests that individuals are registered once, with made-up details
+     */
+    @Test
+    public void testRegisterShieldingIndividual() throws IOException {
+        String reply = transport.doGETRequest(endpoint + "/registerShieldingIndividual?CHI=0202020202");
+        assertTrue(reply.matches("\\[\"EH\\d+ \\d[A-Z]{2}\",\"[a-z]+\",\"[a-z]+\",\"\\d+\"\\]"), reply);
+        assertEquals("already registered",
+            transport.doGETRequest(endpoint + "/registerShieldingIndividual?CHI=0202020202"));
+        assertEquals("already registered",
+            transport.doGETRequest(endpoint + "/registerShieldingIndividual?CHI=0101010101"));
+    }
+
+    /**
+     * Tests that food boxes are filtered by diet and listed with sorted keys
+     */
+    @Test
+    public void testShowFoodBox() throws IOException {
+        assertEquals("[{\"contents\":[{\"id\":1,\"name\":\"cucumbers\",\"quantity\":1}],\"delivered_by\":\"catering\","
+            + "\"diet\":\"none\",\"id\":1,\"name\":\"box a\"}]",
+            transport.doGETRequest(endpoint + "/showFoodBox?orderOption=catering&dietaryPreference=none"));
+        assertTrue(transport.doGETRequest(endpoint + "/showFoodBox").contains("box b"));
+        assertEquals("[]", transport.doGETRequest(endpoint + "/showFoodBox?dietaryPreference=keto"));
+    }
+
+    /**
+     * Tests that new caterers are numbered after the lines already in the file
+     */
+    @Test
+    public void testRegisterCateringCompany() throws IOException {
+        CateringCompanyClient client = new CateringCompanyClientImp(endpoint, transport);
+        assertTrue(client.registerCateringCompany("fresh", "EH8_9LH"));
+        assertEquals("already registered",
+            transport.doGETRequest(endpoint + "/registerCateringCompany?business_name=tasty&postcode=EH11_2DR"));
+        assertEquals("[\"\",\"1,tasty,EH11_2DR\",\"2,fresh,EH8_9LH\"]",
+            transport.doGETRequest(endpoint + "/getCaterers"));
+    }
+
+    /**
+     * Tests placing, editing, progressing and cancelling catering orders
+     */
+    @Test
+    public void testOrderLifecycle() throws IOException {
+        String place = endpoint + "/placeOrder?individual_id=0101010101&catering_business_name=tasty"
+            + "&catering_postcode=EH11_2DR";
+        // order ids count the lines of orders.csv, header included
+        assertEquals("3", transport.doPOSTRequest(place, contents));
+        assertEquals("0", transport.doGETRequest(endpoint + "/requestStatus?order_id=3"));
+        assertEquals("1", transport.doGETRequest(endpoint + "/requestStatus?order_id=2"));
+        assertEquals("-1", transport.doGETRequest(endpoint + "/requestStatus?order_id=9"));
+
+        // edits may only reduce quantities, and only before packing
+        assertEquals("False", transport.doPOSTRequest(endpoint + "/editOrder?order_id=3",
+            "{\"contents\":[{\"id\":1,\"name\":\"cucumbers\",\"quantity\":3}]}"));
+        assertEquals("True", transport.doPOSTRequest(endpoint + "/editOrder?order_id=3",
+            "{\"contents\":[{\"id\":1,\"name\":\"cucumbers\",\"quantity\":1}]}"));
+        assertEquals("False", transport.doPOSTRequest(endpoint + "/editOrder?order_id=2",
+            "{\"contents\":[]}"));
+
+        assertEquals("True", transport.doGETRequest(endpoint + "/updateOrderStatus?order_id=3&newStatus=dispatched"));
+        assertEquals("False", transport.doGETRequest(endpoint + "/updateOrderStatus?order_id=3&newStatus=packed"));
+        assertEquals("False", transport.doGETRequest(endpoint + "/cancelOrder?order_id=3"));
+        assertEquals("True", transport.doGETRequest(endpoint + "/cancelOrder?order_id=2"));
+        assertEquals("4", transport.doGETRequest(endpoint + "/requestStatus?order_id=2"));
+
+        assertTrue(transport.doPOSTRequest(endpoint + "/placeOrder?individual_id=9", contents).startsWith("must provide"));
+        assertThrows(HttpStatusException.class, () -> transport.doGETRequest(place));
+    }
+
+    /**
+     * Tests recording and progressing supermarket orders
+     */
+    @Test
+    public void testSupermarketOrders() throws IOException {
+        SupermarketClient client = new SupermarketClientImp(endpoint, transport);
+        assertTrue(client.registerSupermarket("shop", "EH1_1AA"));
+
+        String record = endpoint + "/recordSupermarketOrder?individual_id=0101010101&order_number=42"
+            + "&supermarket_business_name=shop&supermarket_postcode=EH1_1AA";
+        assertEquals("True", transport.doGETRequest(record));
+        assertEquals("False", transport.doGETRequest(record));
+        assertEquals("True", transport.doGETRequest(endpoint + "/updateSupermarketOrderStatus?order_id=42&newStatus=packed"));
+        assertEquals("False", transport.doGETRequest(endpoint + "/updateSupermarketOrderStatus?order_id=43&newStatus=packed"));
+    }
+
+    /**
+     * Tests the server's made-up distance between postcodes
+     */
+    @Test
+    public void testDistance() throws IOException {
+        assertEquals("17.477597712106768",
+            transport.doGETRequest(endpoint + "/distance?postcode1=EH11_2DR&postcode2=EH11_3DR"));
+        assertEquals("0.0", transport.doGETRequest(endpoint + "/distance?postcode1=EH8_9LH&postcode2=EH8_9LH"));
+        assertEquals(500, assertThrows(HttpStatusException.class,
+            () -> transport.doGETRequest(endpoint + "/distance?postcode1=EH8&postcode2=EH8_9LH")).getStatusCode());
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * Class for making postcodes for the tests
+ */
+
+package shield;
+
+import java.util.Random;
+
+/**
+ * Random postcodes of the usual form, shared by the tests that need many of them
+ */
+final class TestPostcodes {
+
+    private TestPostcodes() {
+    }
+
+    /**
+     * Makes a postcode of the usual form, such as EH7_5QQ
+     *
+     * @param random where to take the postcode from
+     * @param maxDistrict the largest district number, from 1
+     * @param mixedCase whether the last unit letter may be lower case
+     * @return the postcode
+     */
+    static String randomPostCode(Random random, int maxDistrict, boolean mixedCase) {
+        return "EH" + (1 + random.nextInt(maxDistrict)) + "_" + random.nextInt(10)
+            + (char) ('A' + random.nextInt(26))
+            + (char) ((mixedCase && !random.nextBoolean() ? 'a' : 'A') + random.nextInt(26));
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * Class for comparing the throughput of the HTTP transports ClientIO can use
+ */
+
+package shield;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends the same mix of status polls and distance queries through each transport and prints the
+ * requests per second achieved by each, side by side.
+ *
+ * With no arguments a stand-in server is started in this JVM. Otherwise the arguments are
+ * [endpoint] [threads] [requests], e.g. http://localhost:5000 32 20000 to run against a real server.
+ * Run with 'gradle compareTransports'.
+ */
+public class TransportComparison {
+
+  private interface Transport {
+    String get(String url) throws IOException, InterruptedException;
+  }
+
+  public static void main(String[] args) throws Exception {
+    int threads = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+    int requests = args.length > 2 ? Integer.parseInt(args[2]) : 20000;
+
+    HttpServer server = null;
+    String endpoint;
+    if (args.length > 0 && !args[0].isEmpty()) {
+      endpoint = args[0];
+    } else {
+      server = startStandIn();
+      endpoint = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    HttpConnectionPool pool = new HttpConnectionPool(threads, 30000);
+    HttpClient http1 = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    HttpClient http2 = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+    AtomicInteger http2Responses = new AtomicInteger();
+
+    List<String> names = List.of("HttpURLConnection", "pooled sockets", "HttpClient HTTP/1.1", "HttpClient HTTP/2");
+    List<Transport> transports = List.of(
+        TransportComparison::urlConnectionGet,
+        url -> {
+          try (HttpConnectionPool.Response response = pool.execute("GET", new URL(url), null, null)) {
+            return new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+          }
+        },
+        url -> http1.send(HttpRequest.newBuilder(URI.create(url)).build(),
+            HttpResponse.BodyHandlers.ofString()).body(),
+        url -> {
+          HttpResponse<String> response = http2.send(HttpRequest.newBuilder(URI.create(url)).build(),
+              HttpResponse.BodyHandlers.ofString());
+          if (response.version() == HttpClient.Version.HTTP_2) {
+            http2Responses.incrementAndGet();
+          }
+          return response.body();
+        });
+
+    System.out.println("endpoint " + endpoint + ", " + threads + " threads, " + requests + " requests per transport");
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      for (int i = 0; i < transports.size(); i++) {
+        // warm up connections and the JIT before timing
+        run(executor, transports.get(i), endpoint, threads, Math.max(requests / 10, threads));
+        long start = System.nanoTime();
+        run(executor, transports.get(i), endpoint, threads, requests);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(String.format(Locale.ROOT, "%-20s %10.0f requests/s", names.get(i), requests / seconds));
+      }
+    } finally {
+      executor.shutdownNow();
+      pool.close();
+      if (server != null) {
+        server.stop(0);
+      }
+    }
+
+    if (http2Responses.get() == 0) {
+      System.out.println("(the server did not upgrade to HTTP/2, so the HTTP/2 client fell back to HTTP/1.1)");
+    }
+  }
+
+  /**
+   * Splits the requests between the threads and waits for them all to finish
+   */
+  private static void run(ExecutorService executor, Transport transport, String endpoint, int threads,
+                          int requests) throws Exception {
+    AtomicInteger next = new AtomicInteger();
+    List<Future<?>> workers = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      workers.add(executor.submit(() -> {
+        int i;
+        while ((i = next.getAndIncrement()) < requests) {
+          String url = i % 2 == 0
+              ? endpoint + "/requestStatus?order_id=" + i
+              : endpoint + "/distance?postcode1=EH11_2DR&postcode2=EH8_" + (i % 9 + 1) + "LH";
+          transport.get(url);
+        }
+        return null;
+      }));
+    }
+    for (Future<?> worker : workers) {
+      worker.get();
+    }
+  }
+
+  private static String urlConnectionGet(String url) throws IOException {
+    HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
+    try (InputStream in = conn.getInputStream()) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  /**
+   * Starts a server answering /requestStatus and /distance with fixed replies
+   */
+  private static HttpServer startStandIn() throws IOException {
+    // without this the server's header and body writes wait on delayed ACKs, capping every transport alike
+    System.setProperty("sun.net.httpserver.nodelay", "true");
+    HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 256);
+    server.createContext("/requestStatus", exchange -> reply(exchange, "0"));
+    server.createContext("/distance", exchange -> reply(exchange, "5.243089"));
+    server.setExecutor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2, runnable -> {
+      Thread thread = new Thread(runnable, "stand-in");
+      thread.setDaemon(true);
+      return thread;
+    }));
+    server.start();
+    return server;
+  }
+
+  private static void reply(HttpExchange exchange, String body) throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.sendResponseHeaders(200, bytes.length);
+    try (OutputStream os = exchange.getResponseBody()) {
+      os.write(bytes);
+    }
+  }
+}